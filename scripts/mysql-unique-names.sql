@@ -0,0 +1,14 @@
+-- Adds the named unique keys that creates and renames rely on to reject duplicate names.
+-- Run once, with the application stopped. It fails if duplicates already exist; list them with
+--   SELECT franchise_id, name, COUNT(*) FROM branches GROUP BY franchise_id, name HAVING COUNT(*) > 1;
+--   SELECT branch_id, name, COUNT(*) FROM products GROUP BY branch_id, name HAVING COUNT(*) > 1;
+-- The unnamed unique key Hibernate created on franchises.name is left in place and may be dropped afterwards
+-- (SHOW INDEX FROM franchises).
+
+USE test_franchise;
+
+ALTER TABLE franchises ADD CONSTRAINT uk_franchises_name UNIQUE (name);
+
+ALTER TABLE branches ADD CONSTRAINT uk_branches_franchise_name UNIQUE (franchise_id, name);
+
+ALTER TABLE products ADD CONSTRAINT uk_products_branch_name UNIQUE (branch_id, name);
@@ -0,0 +1,75 @@
+package com.test.franchise.benchmark;
+
+import com.test.franchise.FranchiseApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application without a web server on a fresh in-memory H2 database in MySQL mode, migrated by
+ * Flyway like the real schema. With {@code -Dbenchmark.jdbc-url} (and {@code benchmark.username},
+ * {@code benchmark.password}), passed to the forks through {@code -jvmArgsAppend}, it runs against that
+ * database instead, e.g. the MySQL of {@code docker compose}; benchmarks then share it and leave their rows.
+ * {@link #startR2dbc} runs in {@code r2dbc} mode, on the same H2 database or on {@code -Dbenchmark.r2dbc-url}.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * @param properties further {@code --name=value} arguments
+     */
+    static ConfigurableApplicationContext start(String database, String... properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--aws.parameterstore.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.test.franchise=WARN"));
+        String jdbcUrl = System.getProperty("benchmark.jdbc-url");
+        if (jdbcUrl == null) {
+            args.addAll(List.of(
+                    "--spring.datasource.url=" + h2Url(database),
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"));
+        } else {
+            args.addAll(List.of(
+                    "--spring.datasource.url=" + jdbcUrl,
+                    "--spring.datasource.username=" + System.getProperty("benchmark.username", ""),
+                    "--spring.datasource.password=" + System.getProperty("benchmark.password", "")));
+        }
+        args.addAll(List.of(properties));
+        return new SpringApplicationBuilder(FranchiseApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+    }
+
+    /**
+     * {@link #start} in {@code r2dbc} mode; Flyway still migrates through JDBC, on a connection of its own.
+     */
+    static ConfigurableApplicationContext startR2dbc(String database, String... properties) {
+        String jdbcUrl = System.getProperty("benchmark.jdbc-url");
+        String username = System.getProperty("benchmark.username", jdbcUrl == null ? "sa" : "");
+        String password = System.getProperty("benchmark.password", "");
+        List<String> args = new ArrayList<>(List.of(
+                "--franchise.persistence.mode=r2dbc",
+                "--franchise.persistence.r2dbc.url=" + (jdbcUrl == null
+                        ? "r2dbc:h2:mem:///" + database + "?MODE=MySQL&DATABASE_TO_LOWER=TRUE&DB_CLOSE_DELAY=-1"
+                        : System.getProperty("benchmark.r2dbc-url", "")),
+                "--franchise.persistence.r2dbc.username=" + username,
+                "--franchise.persistence.r2dbc.password=" + password,
+                "--spring.flyway.url=" + (jdbcUrl == null ? h2Url(database) : jdbcUrl),
+                "--spring.flyway.user=" + username,
+                "--spring.flyway.password=" + password));
+        args.addAll(List.of(properties));
+        return start(database, args.toArray(String[]::new));
+    }
+
+    private static String h2Url(String database) {
+        return "jdbc:h2:mem:" + database + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    }
+}
@@ -0,0 +1,269 @@
+package com.test.franchise.benchmark;
+
+import com.test.franchise.domain.Branch;
+import com.test.franchise.domain.Product;
+import com.test.franchise.dto.request.CatalogImportLineDto;
+import com.test.franchise.dto.response.BranchResponseDto;
+import com.test.franchise.dto.response.InventorySummaryResponseDto;
+import com.test.franchise.dto.response.KeysetPage;
+import com.test.franchise.dto.response.ProductResponseDto;
+import com.test.franchise.dto.response.TopNStockProductResponseDto;
+import com.test.franchise.dto.response.TopStockProductResponseDto;
+import com.test.franchise.mapper.BranchMapper;
+import com.test.franchise.mapper.ProductMapper;
+import com.test.franchise.repository.BranchRepository;
+import com.test.franchise.repository.BranchRow;
+import com.test.franchise.repository.BranchTopStockRepository;
+import com.test.franchise.repository.FranchiseRepository;
+import com.test.franchise.repository.ProductRepository;
+import com.test.franchise.repository.ProductRow;
+import com.test.franchise.repository.TopStockProductRow;
+import com.test.franchise.repository.TopStockProductView;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.CatalogImportService;
+import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.ProductService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Franchise reads against an in-memory H2 catalog of one franchise with {@code branches} x
+ * {@code productsPerBranch} products, seeded through the catalog import. Pairs of benchmarks compare the
+ * path the services take with the one it replaced: the maintained top stock against ranking the products
+ * and the ranking against the original correlated query (both in a read-only transaction, into the same
+ * projection), the branch detail projection against loading entities, and the
+ * product, branch and top-stock listings read as record projections against hydrating the entities and
+ * mapping them with MapStruct, as they were read before. Both sides of a listing pair run in the same
+ * read-only transaction and fetch a page of {@value #PAGE_SIZE}.
+ * <p>
+ * Sizes can be raised from the command line, e.g. {@code -p branches=1000 -p productsPerBranch=1000} for 1M
+ * products; seeding then dominates the run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogReadBenchmarks {
+
+    private static final String FRANCHISE = "Benchmark franchise";
+
+    /**
+     * The listing queries before the record projections, fetching the parent entity the mappers read.
+     */
+    private static final String PRODUCT_PAGE_JPQL =
+            "SELECT p FROM Product p LEFT JOIN FETCH p.branch WHERE p.branch.id = :branchId AND p.id > :after ORDER BY p.id";
+    private static final String BRANCH_PAGE_JPQL =
+            "SELECT b FROM Branch b LEFT JOIN FETCH b.franchise WHERE b.franchise.id = :franchiseId AND b.id > :after ORDER BY b.id";
+    private static final String TOP_STOCK_ENTITIES_JPQL = """
+            SELECT p FROM Product p
+            JOIN FETCH p.branch b
+            WHERE b.franchise.id = :franchiseId
+            AND p.id IN (SELECT t.productId FROM BranchTopStock t)
+            ORDER BY b.id
+            """;
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"50"})
+    public int branches;
+
+    @Param({"200"})
+    public int productsPerBranch;
+
+    private ConfigurableApplicationContext context;
+    private FranchiseService franchiseService;
+    private BranchService branchService;
+    private ProductService productService;
+    private ProductRepository productRepository;
+    private BranchRepository branchRepository;
+    private BranchTopStockRepository branchTopStockRepository;
+    private CorrelatedTopStockRepository correlatedTopStockRepository;
+    private BranchMapper branchMapper;
+    private ProductMapper productMapper;
+    private TransactionTemplate readOnly;
+    private EntityManager entityManager;
+    private Long franchiseId;
+    private Long branchId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("catalog_reads");
+        franchiseService = context.getBean(FranchiseService.class);
+        branchService = context.getBean(BranchService.class);
+        productService = context.getBean(ProductService.class);
+        productRepository = context.getBean(ProductRepository.class);
+        branchRepository = context.getBean(BranchRepository.class);
+        branchTopStockRepository = context.getBean(BranchTopStockRepository.class);
+        correlatedTopStockRepository = context.getBean(CorrelatedTopStockRepository.class);
+        branchMapper = context.getBean(BranchMapper.class);
+        productMapper = context.getBean(ProductMapper.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+
+        seed();
+        franchiseId = context.getBean(FranchiseRepository.class).findByName(FRANCHISE).orElseThrow().getId();
+        branchId = branchRepository.findByFranchiseId(franchiseId).get(0).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TopStockProductResponseDto topStockMaintained() {
+        return franchiseService.getTopStockProductsByFranchise(franchiseId).block();
+    }
+
+    @Benchmark
+    public List<TopStockProductView> topStockRanked() {
+        return readOnly.execute(status -> productRepository.findTopStockProductsByFranchiseId(franchiseId));
+    }
+
+    @Benchmark
+    public List<TopStockProductView> topStockCorrelated() {
+        return readOnly.execute(status -> correlatedTopStockRepository.findTopStockProductsByFranchiseId(franchiseId));
+    }
+
+    @Benchmark
+    public TopNStockProductResponseDto topN(TopNLimit limit) {
+        return franchiseService.getTopNStockProductsByFranchise(franchiseId, limit.n).block();
+    }
+
+    @Benchmark
+    public InventorySummaryResponseDto inventorySummary() {
+        return franchiseService.getInventorySummary(franchiseId, false).block();
+    }
+
+    @Benchmark
+    public BranchResponseDto branchDetailProjection() {
+        return branchService.getBranchById(branchId).block();
+    }
+
+    @Benchmark
+    public BranchResponseDto branchDetailEntities() {
+        return readOnly.execute(status -> branchMapper.toDto(branchRepository.findByIdWithFranchise(branchId).orElseThrow()));
+    }
+
+    @Benchmark
+    public KeysetPage<ProductResponseDto> productPage() {
+        return productService.getProductsByBranchId(branchId, 0, PAGE_SIZE).block();
+    }
+
+    @Benchmark
+    public List<ProductResponseDto> productPageRows() {
+        return readOnly.execute(status -> productRepository.findRowPageByBranchId(branchId, 0, Limit.of(PAGE_SIZE)).stream()
+                .map(ProductRow::toDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ProductResponseDto> productPageEntities() {
+        return readOnly.execute(status -> entityManager.createQuery(PRODUCT_PAGE_JPQL, Product.class)
+                .setParameter("branchId", branchId)
+                .setParameter("after", 0L)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList().stream()
+                .map(productMapper::toDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<BranchResponseDto> branchPageRows() {
+        return readOnly.execute(status -> branchRepository.findRowPageByFranchiseId(franchiseId, 0, Limit.of(PAGE_SIZE)).stream()
+                .map(BranchRow::toDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<BranchResponseDto> branchPageEntities() {
+        return readOnly.execute(status -> entityManager.createQuery(BRANCH_PAGE_JPQL, Branch.class)
+                .setParameter("franchiseId", franchiseId)
+                .setParameter("after", 0L)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList().stream()
+                .map(branchMapper::toDtoWithoutProducts)
+                .toList());
+    }
+
+    @Benchmark
+    public List<TopStockProductResponseDto.BranchTopProduct> topStockRows() {
+        return readOnly.execute(status -> branchTopStockRepository.findTopStockProductsByFranchiseId(franchiseId).stream()
+                .map(TopStockProductRow::toDto)
+                .toList());
+    }
+
+    /**
+     * There is no mapper for the top-stock response, so the entities are copied into it field by field.
+     */
+    @Benchmark
+    public List<TopStockProductResponseDto.BranchTopProduct> topStockEntities() {
+        return readOnly.execute(status -> entityManager.createQuery(TOP_STOCK_ENTITIES_JPQL, Product.class)
+                .setParameter("franchiseId", franchiseId)
+                .getResultList().stream()
+                .map(product -> TopStockProductResponseDto.BranchTopProduct.builder()
+                        .branchId(product.getBranch().getId())
+                        .branchName(product.getBranch().getName())
+                        .productId(product.getId())
+                        .productName(product.getName())
+                        .stock(product.getStock())
+                        .build())
+                .toList());
+    }
+
+    @Benchmark
+    public void productStream(Blackhole blackhole) {
+        productService.streamProductsByBranchId(branchId).doOnNext(blackhole::consume).blockLast();
+    }
+
+    @State(Scope.Benchmark)
+    public static class TopNLimit {
+
+        @Param({"1", "10", "100"})
+        public int n;
+    }
+
+    private void seed() {
+        Random random = new Random(42);
+        Flux<CatalogImportLineDto> lines = Flux.range(0, branches)
+                .concatMap(branch -> Flux.range(0, productsPerBranch)
+                        .map(product -> line("Branch " + branch, "Product " + product, random.nextInt(1_000))));
+        context.getBean(CatalogImportService.class).importCatalog(lines).blockLast(Duration.ofMinutes(30));
+    }
+
+    private static CatalogImportLineDto line(String branch, String product, int stock) {
+        CatalogImportLineDto line = new CatalogImportLineDto();
+        line.setFranchise(FRANCHISE);
+        line.setBranch(branch);
+        line.setProduct(product);
+        line.setStock(stock);
+        return line;
+    }
+}
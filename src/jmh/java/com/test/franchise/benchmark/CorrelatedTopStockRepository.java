@@ -0,0 +1,32 @@
+package com.test.franchise.benchmark;
+
+import com.test.franchise.domain.Product;
+import com.test.franchise.repository.ProductRepository;
+import com.test.franchise.repository.TopStockProductView;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * The top-stock query before the ranked one, a correlated {@code MAX} per product (returning every tied
+ * product), written as native SQL with the aliases of {@link ProductRepository#findTopStockProductsByFranchiseId}
+ * so both are read into the same projection and only the SQL differs.
+ */
+interface CorrelatedTopStockRepository extends Repository<Product, Long> {
+
+    @Query(value = """
+        SELECT b.id AS branchId, b.name AS branchName, p.id AS productId, p.name AS productName, p.stock AS stock
+        FROM products p
+        JOIN branches b ON b.id = p.branch_id
+        WHERE b.franchise_id = :franchiseId
+        AND p.stock = (
+            SELECT MAX(p2.stock)
+            FROM products p2
+            WHERE p2.branch_id = p.branch_id
+        )
+        ORDER BY b.id
+        """, nativeQuery = true)
+    List<TopStockProductView> findTopStockProductsByFranchiseId(@Param("franchiseId") Long franchiseId);
+}
@@ -0,0 +1,58 @@
+package com.test.franchise.benchmark;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The product mapping as it was before {@code @PooledId}: an {@code IDENTITY} id, which makes Hibernate insert
+ * each row on its own to read the generated key back. Mapped to a copy of the products table that only the
+ * insert benchmark creates, with the same unique key and indexes, so only the id strategy differs.
+ */
+@Entity
+@Table(name = "identity_products")
+@Data
+@NoArgsConstructor
+public class IdentityProduct {
+
+    static final List<String> DDL = List.of("""
+            CREATE TABLE identity_products (
+                id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                name VARCHAR(255) NOT NULL,
+                stock INT NOT NULL,
+                branch_id BIGINT NOT NULL,
+                created_at DATETIME(6) NOT NULL,
+                updated_at DATETIME(6),
+                CONSTRAINT uk_identity_products_branch_name UNIQUE (branch_id, name)
+            )
+            """,
+            "CREATE INDEX idx_identity_products_branch_stock ON identity_products (branch_id, stock)",
+            "CREATE INDEX idx_identity_products_branch_id ON identity_products (branch_id, id)");
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private Integer stock;
+
+    @Column(name = "branch_id", nullable = false)
+    private Long branchId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
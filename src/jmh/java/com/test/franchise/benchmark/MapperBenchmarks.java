@@ -0,0 +1,186 @@
+package com.test.franchise.benchmark;
+
+import com.test.franchise.domain.Branch;
+import com.test.franchise.domain.Franchise;
+import com.test.franchise.domain.Product;
+import com.test.franchise.dto.response.ApiResponse;
+import com.test.franchise.dto.response.BranchResponseDto;
+import com.test.franchise.dto.response.FranchiseResponseDto;
+import com.test.franchise.dto.response.ProductResponseDto;
+import com.test.franchise.mapper.BranchMapper;
+import com.test.franchise.mapper.BranchMapperImpl;
+import com.test.franchise.mapper.FranchiseMapper;
+import com.test.franchise.mapper.FranchiseMapperImpl;
+import com.test.franchise.mapper.ProductMapper;
+import com.test.franchise.mapper.ProductMapperImpl;
+import com.test.franchise.repository.FranchiseBranchRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity and projection mapping on the response path. The MapStruct implementations are wired by a bare
+ * Spring context, as in the application, since they reach each other through injected fields.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmarks {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private AnnotationConfigApplicationContext context;
+    private ProductMapper productMapper;
+    private BranchMapper branchMapper;
+    private FranchiseMapper franchiseMapper;
+    private Product product;
+    private ProductResponseDto productDto;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(ProductMapperImpl.class, BranchMapperImpl.class, FranchiseMapperImpl.class);
+        productMapper = context.getBean(ProductMapper.class);
+        branchMapper = context.getBean(BranchMapper.class);
+        franchiseMapper = context.getBean(FranchiseMapper.class);
+        product = branch(1).getProducts().get(0);
+        productDto = productMapper.toDto(product);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ProductResponseDto productToDto() {
+        return productMapper.toDto(product);
+    }
+
+    @Benchmark
+    public BranchResponseDto branchToDto(BranchOfSize branch) {
+        return branchMapper.toDto(branch.branch);
+    }
+
+    @Benchmark
+    public List<FranchiseResponseDto> franchiseRowsToDtos(FranchiseRowsOfSize rows) {
+        return franchiseMapper.toDtosWithBranches(rows.rows);
+    }
+
+    @Benchmark
+    public ApiResponse<ProductResponseDto> apiResponseSuccess() {
+        return ApiResponse.success(productDto);
+    }
+
+    @State(Scope.Benchmark)
+    public static class BranchOfSize {
+
+        @Param({"10", "1000", "10000"})
+        public int products;
+
+        Branch branch;
+
+        @Setup
+        public void setUp() {
+            branch = branch(products);
+        }
+    }
+
+    /**
+     * Rows of {@code FranchiseRepository.findRowsWithBranchesByIdIn} for a page of franchises.
+     */
+    @State(Scope.Benchmark)
+    public static class FranchiseRowsOfSize {
+
+        @Param({"50"})
+        public int franchises;
+
+        @Param({"10", "100"})
+        public int branchesPerFranchise;
+
+        List<FranchiseBranchRow> rows;
+
+        @Setup
+        public void setUp() {
+            rows = new ArrayList<>(franchises * branchesPerFranchise);
+            long branchId = 0;
+            for (long franchiseId = 1; franchiseId <= franchises; franchiseId++) {
+                for (int branch = 0; branch < branchesPerFranchise; branch++) {
+                    branchId++;
+                    rows.add(new Row(franchiseId, "Franchise " + franchiseId, NOW, NOW, branchId, "Branch " + branchId, NOW, NOW));
+                }
+            }
+        }
+    }
+
+    record Row(Long franchiseId, String franchiseName, LocalDateTime franchiseCreatedAt, LocalDateTime franchiseUpdatedAt,
+               Long branchId, String branchName, LocalDateTime branchCreatedAt, LocalDateTime branchUpdatedAt)
+            implements FranchiseBranchRow {
+
+        @Override
+        public Long getFranchiseId() {
+            return franchiseId;
+        }
+
+        @Override
+        public String getFranchiseName() {
+            return franchiseName;
+        }
+
+        @Override
+        public LocalDateTime getFranchiseCreatedAt() {
+            return franchiseCreatedAt;
+        }
+
+        @Override
+        public LocalDateTime getFranchiseUpdatedAt() {
+            return franchiseUpdatedAt;
+        }
+
+        @Override
+        public Long getBranchId() {
+            return branchId;
+        }
+
+        @Override
+        public String getBranchName() {
+            return branchName;
+        }
+
+        @Override
+        public LocalDateTime getBranchCreatedAt() {
+            return branchCreatedAt;
+        }
+
+        @Override
+        public LocalDateTime getBranchUpdatedAt() {
+            return branchUpdatedAt;
+        }
+    }
+
+    private static Branch branch(int products) {
+        Franchise franchise = Franchise.builder().id(1L).name("Franchise").createdAt(NOW).updatedAt(NOW).build();
+        Branch branch = Branch.builder().id(1L).name("Branch").franchise(franchise).createdAt(NOW).updatedAt(NOW).build();
+        for (long id = 1; id <= products; id++) {
+            branch.addProduct(Product.builder().id(id).name("Product " + id).stock((int) (id % 100)).createdAt(NOW).updatedAt(NOW).build());
+        }
+        return branch;
+    }
+}
@@ -0,0 +1,138 @@
+package com.test.franchise.benchmark;
+
+import com.test.franchise.domain.Branch;
+import com.test.franchise.domain.Product;
+import com.test.franchise.dto.request.BranchRequestDto;
+import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.FranchiseService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserting {@code products} products of one branch in one transaction, through the {@code @PooledId} mapping,
+ * whose ids come in blocks and whose inserts go out in JDBC batches of {@code hibernate.jdbc.batch_size}, and
+ * through the {@code IDENTITY} mapping it replaced, one statement and key read per row. The persistence
+ * context is flushed and cleared every batch in both, as the catalog import does. Each id block is reserved in
+ * a transaction of its own, so {@code allocationSize} (the {@code franchise.persistence.id-allocation-size}
+ * of the run) trades those round trips against the ids a restart leaves unused.
+ * <p>
+ * On in-memory H2 a round trip costs almost nothing and both paths land within noise of each other; the
+ * comparison is meant to be run against MySQL (see {@link BenchmarkApplication}), where
+ * {@code rewriteBatchedStatements} also folds each batch into one statement.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductInsertBenchmarks {
+
+    private static final int BATCH_SIZE = 50;
+
+    @Param({"10000"})
+    public int products;
+
+    @Param({"50", "1000"})
+    public int allocationSize;
+
+    private ConfigurableApplicationContext context;
+    private FranchiseService franchiseService;
+    private BranchService branchService;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private Long franchiseId;
+    private Long branchId;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkApplication.start("product_inserts_" + allocationSize,
+                "--franchise.persistence.id-allocation-size=" + allocationSize);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS identity_products");
+        IdentityProduct.DDL.forEach(jdbcTemplate::execute);
+        franchiseService = context.getBean(FranchiseService.class);
+        branchService = context.getBean(BranchService.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        FranchiseRequestDto franchise = new FranchiseRequestDto();
+        franchise.setName("Insert benchmark " + System.nanoTime());
+        franchiseId = franchiseService.createFranchise(franchise).block().getId();
+    }
+
+    /**
+     * Every insert goes to an empty branch, so product names never collide across invocations.
+     */
+    @Setup(Level.Invocation)
+    public void newBranch() {
+        BranchRequestDto branch = new BranchRequestDto();
+        branch.setName("Branch " + System.nanoTime());
+        branch.setFranchiseId(franchiseId);
+        branchId = branchService.createBranch(branch).block().getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int pooledIdBatched() {
+        return transactionTemplate.execute(status -> {
+            Branch branch = entityManager.getReference(Branch.class, branchId);
+            for (int i = 0; i < products; i++) {
+                entityManager.persist(Product.builder().name("Product " + i).stock(i % 1_000).branch(branch).build());
+                flushEveryBatch(i);
+            }
+            return products;
+        });
+    }
+
+    @Benchmark
+    public int identity() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < products; i++) {
+                IdentityProduct product = new IdentityProduct();
+                product.setName("Product " + i);
+                product.setStock(i % 1_000);
+                product.setBranchId(branchId);
+                product.setCreatedAt(now);
+                product.setUpdatedAt(now);
+                entityManager.persist(product);
+                flushEveryBatch(i);
+            }
+            return products;
+        });
+    }
+
+    private void flushEveryBatch(int index) {
+        if ((index + 1) % BATCH_SIZE == 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+}
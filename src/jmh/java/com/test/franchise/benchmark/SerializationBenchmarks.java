@@ -0,0 +1,79 @@
+package com.test.franchise.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.test.franchise.dto.response.ApiResponse;
+import com.test.franchise.dto.response.TopStockProductResponseDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of the top stock dashboard. The mapper is configured like the application's
+ * ({@code spring.jackson.*} in {@code application.properties}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmarks {
+
+    @Param({"10", "1000"})
+    public int branches;
+
+    private ObjectMapper objectMapper;
+    private TopStockProductResponseDto topStock;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        List<TopStockProductResponseDto.BranchTopProduct> tops = new ArrayList<>(branches);
+        for (long id = 1; id <= branches; id++) {
+            tops.add(TopStockProductResponseDto.BranchTopProduct.builder()
+                    .branchId(id)
+                    .branchName("Branch " + id)
+                    .productId(id * 1000)
+                    .productName("Product " + id)
+                    .stock((int) (id % 500))
+                    .build());
+        }
+        topStock = TopStockProductResponseDto.builder()
+                .franchiseId(1L)
+                .franchiseName("Franchise")
+                .branchTopProducts(tops)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] topStock() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(topStock);
+    }
+
+    /**
+     * The body as the controller returns it, envelope included.
+     */
+    @Benchmark
+    public byte[] topStockResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(topStock));
+    }
+}
@@ -0,0 +1,134 @@
+package com.test.franchise.benchmark;
+
+import com.test.franchise.dto.request.BranchRequestDto;
+import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.dto.request.ProductRequestDto;
+import com.test.franchise.dto.request.StockUpdateItemDto;
+import com.test.franchise.dto.request.UpdateStockRequestDto;
+import com.test.franchise.dto.response.BranchResponseDto;
+import com.test.franchise.dto.response.ProductResponseDto;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stock updates of {@value #ITEMS} products, in items per second: through the bulk update behind
+ * {@code PUT /api/v1/products/stock}, which applies each chunk of {@code franchise.bulk.chunk-size} items as
+ * one batched statement in one transaction, and through the per-item update behind
+ * {@code PATCH /api/v1/products/{id}/stock} it replaces, one transaction per item. Products are spread over
+ * {@value #BRANCHES} branches so the top-stock maintenance locks several branches per chunk, and every
+ * invocation writes new stock values.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(StockUpdateBenchmarks.ITEMS)
+public class StockUpdateBenchmarks {
+
+    static final int ITEMS = 1_000;
+    private static final int BRANCHES = 10;
+
+    @Param({"jpa", "r2dbc"})
+    public String mode;
+
+    private ConfigurableApplicationContext context;
+    private ProductService productService;
+    private List<Long> productIds;
+    private int round;
+
+    @Setup
+    public void setUp() {
+        context = "r2dbc".equals(mode)
+                ? BenchmarkApplication.startR2dbc("stock_updates_r2dbc")
+                : BenchmarkApplication.start("stock_updates_jpa");
+        productService = context.getBean(ProductService.class);
+        productIds = seed(context.getBean(FranchiseService.class), context.getBean(BranchService.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long bulk() {
+        int base = ++round;
+        return productService.updateProductStocks(Flux.range(0, ITEMS).map(i -> item(productIds.get(i), stock(base, i))))
+                .count()
+                .block();
+    }
+
+    @Benchmark
+    public long perItem() {
+        int base = ++round;
+        return Flux.range(0, ITEMS)
+                .concatMap(i -> productService.updateProductStock(productIds.get(i), request(stock(base, i))))
+                .count()
+                .block();
+    }
+
+    private List<Long> seed(FranchiseService franchiseService, BranchService branchService) {
+        FranchiseRequestDto franchise = new FranchiseRequestDto();
+        franchise.setName("Stock benchmark " + System.nanoTime());
+        Long franchiseId = franchiseService.createFranchise(franchise).block().getId();
+        List<Long> branchIds = Flux.range(0, BRANCHES)
+                .concatMap(i -> {
+                    BranchRequestDto branch = new BranchRequestDto();
+                    branch.setName("Branch " + i);
+                    branch.setFranchiseId(franchiseId);
+                    return branchService.createBranch(branch);
+                })
+                .map(BranchResponseDto::getId)
+                .collectList()
+                .block();
+        return Flux.range(0, ITEMS)
+                .concatMap(i -> {
+                    ProductRequestDto product = new ProductRequestDto();
+                    product.setName("Product " + i);
+                    product.setStock(0);
+                    product.setBranchId(branchIds.get(i % BRANCHES));
+                    return productService.createProduct(product);
+                })
+                .map(ProductResponseDto::getId)
+                .collectList()
+                .block();
+    }
+
+    private static int stock(int base, int index) {
+        return (base * 7 + index) % 1_000;
+    }
+
+    private static StockUpdateItemDto item(Long productId, int stock) {
+        StockUpdateItemDto item = new StockUpdateItemDto();
+        item.setProductId(productId);
+        item.setStock(stock);
+        return item;
+    }
+
+    private static UpdateStockRequestDto request(int stock) {
+        UpdateStockRequestDto request = new UpdateStockRequestDto();
+        request.setStock(stock);
+        return request;
+    }
+}
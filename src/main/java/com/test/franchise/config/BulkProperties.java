@@ -0,0 +1,14 @@
+package com.test.franchise.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "franchise.bulk")
+public class BulkProperties {
+
+    /**
+     * Items applied per transaction and JDBC batch by the bulk endpoints.
+     */
+    private int chunkSize = 500;
+}
@@ -0,0 +1,37 @@
+package com.test.franchise.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "franchise.cache.invalidation")
+public class CacheInvalidationProperties {
+
+    /**
+     * How invalidations reach the other instances: {@code loopback} only reaches application contexts of the
+     * same JVM, {@code polling} goes through the {@code cache_invalidations} table.
+     */
+    private Transport transport = Transport.LOOPBACK;
+
+    /**
+     * Delay between two reads of the table; together with the commit of the write it bounds the staleness.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * Rows younger than this are read again on the next poll, so an insert that commits late is not missed.
+     */
+    private Duration grace = Duration.ofSeconds(5);
+
+    /**
+     * Rows older than this are deleted by the pollers.
+     */
+    private Duration retention = Duration.ofHours(1);
+
+    public enum Transport {
+        LOOPBACK,
+        POLLING
+    }
+}
@@ -0,0 +1,41 @@
+package com.test.franchise.config;
+
+import com.test.franchise.domain.PooledIdGenerator;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Connections the {@link com.test.franchise.domain.PooledId} generator reserves identifier blocks on, apart
+ * from the application pool. A reservation there needs a second connection while the inserting transaction
+ * holds one, and when every other connection is held by transactions queued behind that transaction's row
+ * locks it waits until their lock timeout.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "mode", havingValue = "jpa", matchIfMissing = true)
+public class IdAllocationConfig {
+
+    /**
+     * Not a default candidate, so Boot still creates the application data source and injects it everywhere.
+     */
+    @Bean(destroyMethod = "close", defaultCandidate = false)
+    public HikariDataSource idAllocationDataSource(DataSourceProperties dataSourceProperties, PersistenceProperties properties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("id-allocation");
+        dataSource.setMaximumPoolSize(properties.getIdAllocationPoolSize());
+        dataSource.setMinimumIdle(1);
+        return dataSource;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer idAllocationDataSourceCustomizer(
+            @Qualifier("idAllocationDataSource") DataSource idAllocationDataSource) {
+        return properties -> properties.put(PooledIdGenerator.ALLOCATION_DATA_SOURCE_SETTING, idAllocationDataSource);
+    }
+}
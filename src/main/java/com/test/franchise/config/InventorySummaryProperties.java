@@ -0,0 +1,21 @@
+package com.test.franchise.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "franchise.inventory-summary")
+public class InventorySummaryProperties {
+
+    /**
+     * Franchises whose summary is kept for {@code cached=true} requests.
+     */
+    private long maximumSize = 1_000;
+
+    /**
+     * How old a summary served to a {@code cached=true} request may be.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,21 @@
+package com.test.franchise.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "franchise.cache.metadata")
+public class MetadataCacheProperties {
+
+    /**
+     * Entries kept per cache (franchises and branches are bounded separately).
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Upper bound on how long an entry may outlive a write made through another instance.
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+}
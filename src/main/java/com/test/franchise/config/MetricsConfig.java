@@ -0,0 +1,47 @@
+package com.test.franchise.config;
+
+import com.test.franchise.repository.JdbcCacheInvalidationLog;
+import com.test.franchise.service.FranchiseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+import java.util.Arrays;
+
+/**
+ * Per-method timers for the services and for the repositories Spring Data does not time itself. JPA
+ * repositories are already recorded by Spring Boot in {@code spring.data.repository.invocations}; the
+ * {@code DatabaseClient} and {@code JdbcTemplate} repositories are added to the same metric so both
+ * persistence modes report their queries alike.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    private static final String SERVICE_PACKAGE = FranchiseService.class.getPackageName();
+    private static final String REPOSITORY_PACKAGE = JdbcCacheInvalidationLog.class.getPackageName();
+
+    /**
+     * {@code service.invocations}, tagged with the service interface, so both implementations of a service
+     * share their series.
+     */
+    @Bean
+    public static TimedInvocationsPostProcessor serviceInvocationsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new TimedInvocationsPostProcessor("service.invocations", "service", type -> Arrays.stream(ClassUtils.getAllInterfacesForClass(type))
+                .filter(candidate -> candidate.getPackageName().equals(SERVICE_PACKAGE))
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse(null), meterRegistry);
+    }
+
+    /**
+     * Only publisher-returning methods are timed, which leaves out the blocking fragments of the Spring Data
+     * repositories ({@code *RepositoryImpl}), already counted through their repository.
+     */
+    @Bean
+    public static TimedInvocationsPostProcessor repositoryInvocationsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new TimedInvocationsPostProcessor("spring.data.repository.invocations", "repository",
+                type -> type.getPackageName().startsWith(REPOSITORY_PACKAGE) ? type.getSimpleName() : null, meterRegistry);
+    }
+}
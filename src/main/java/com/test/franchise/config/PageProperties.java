@@ -0,0 +1,19 @@
+package com.test.franchise.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "franchise.page")
+public class PageProperties {
+
+    /**
+     * Items per page of the listing endpoints when no {@code limit} is given.
+     */
+    private int defaultLimit = 50;
+
+    /**
+     * Largest {@code limit} accepted by the listing endpoints.
+     */
+    private int maxLimit = 500;
+}
@@ -0,0 +1,50 @@
+package com.test.franchise.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "franchise.persistence")
+public class PersistenceProperties {
+
+    /**
+     * Repository layer the services run on. JPA keeps the blocking repositories
+     * offloaded to boundedElastic, R2DBC runs the services end-to-end on the driver's event loop.
+     */
+    private Mode mode = Mode.JPA;
+
+    /**
+     * Identifiers reserved per round trip to the {@code *_seq} tables. Also handed to Hibernate as
+     * {@code franchise.id.allocation_size}, so both persistence modes draw blocks of the same size.
+     */
+    private int idAllocationSize = 50;
+
+    /**
+     * Connections kept apart for reserving identifier blocks, so a reservation never waits for the pool
+     * its caller is holding a connection of.
+     */
+    private int idAllocationPoolSize = 2;
+
+    /**
+     * Rows fetched per round trip by the streaming listings. MySQL only honours it with
+     * {@code useCursorFetch=true} on the JDBC URL; otherwise the whole result set is buffered by the driver.
+     */
+    private int streamFetchSize = 500;
+
+    private R2dbc r2dbc = new R2dbc();
+
+    public enum Mode {
+        JPA,
+        R2DBC
+    }
+
+    @Data
+    public static class R2dbc {
+
+        private String url;
+        private String username;
+        private String password;
+        private int initialPoolSize = 5;
+        private int maxPoolSize = 20;
+    }
+}
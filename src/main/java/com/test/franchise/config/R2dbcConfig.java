@@ -0,0 +1,70 @@
+package com.test.franchise.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.util.StringUtils;
+
+/**
+ * Reactive persistence infrastructure, only created when {@code franchise.persistence.mode=r2dbc}.
+ * Boot's DataSource auto-configuration backs off once a {@link ConnectionFactory} bean exists, so in this
+ * mode neither the Hikari pool nor the JPA repositories are created and the schema must already exist.
+ * Boot's own R2DBC auto-configuration is excluded in {@code application.properties} because the driver
+ * on the classpath would otherwise create a connection factory, and disable JPA, in the default mode too.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "mode", havingValue = "r2dbc")
+public class R2dbcConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool r2dbcConnectionPool(PersistenceProperties properties) {
+        PersistenceProperties.R2dbc r2dbc = properties.getR2dbc();
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory(r2dbc))
+                .initialSize(r2dbc.getInitialPoolSize())
+                .maxSize(r2dbc.getMaxPoolSize())
+                .build());
+    }
+
+    /**
+     * Connections {@link com.test.franchise.repository.reactive.ReactiveIdAllocator} reserves identifier
+     * blocks on, so a reservation never waits for the pool its caller is holding a connection of. Not a
+     * default candidate, so everything else keeps getting {@link #r2dbcConnectionPool}.
+     */
+    @Bean(destroyMethod = "dispose", defaultCandidate = false)
+    public ConnectionPool idAllocationConnectionPool(PersistenceProperties properties) {
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory(properties.getR2dbc()))
+                .name("id-allocation")
+                .initialSize(1)
+                .maxSize(properties.getIdAllocationPoolSize())
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionPool r2dbcConnectionPool) {
+        return DatabaseClient.create(r2dbcConnectionPool);
+    }
+
+    @Bean
+    public TransactionalOperator r2dbcTransactionalOperator(ConnectionPool r2dbcConnectionPool) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(r2dbcConnectionPool));
+    }
+
+    private static ConnectionFactory connectionFactory(PersistenceProperties.R2dbc r2dbc) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(r2dbc.getUrl()).mutate();
+        if (StringUtils.hasText(r2dbc.getUsername())) {
+            options.option(ConnectionFactoryOptions.USER, r2dbc.getUsername());
+        }
+        if (StringUtils.hasText(r2dbc.getPassword())) {
+            options.option(ConnectionFactoryOptions.PASSWORD, r2dbc.getPassword());
+        }
+        return ConnectionFactories.get(options.build());
+    }
+}
@@ -0,0 +1,40 @@
+package com.test.franchise.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.io.IOException;
+
+/**
+ * Hands Hibernate a JCache manager of its own, only created by the {@code l2cache} profile. The caching
+ * provider shares one manager per class loader, which would let two application contexts of one JVM (the
+ * multi-instance tests) read each other's cached rows; a throwaway class loader keeps them apart.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+public class SecondLevelCacheConfig {
+
+    /**
+     * The manager only holds its class loader weakly, so it is kept reachable for the life of the context.
+     */
+    private final ClassLoader classLoader = new ClassLoader(getClass().getClassLoader()) {
+    };
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager() throws IOException {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName(), classLoader)
+                .getCacheManager(new ClassPathResource("hibernate-caffeine.conf").getURI(), classLoader);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManagerCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+}
@@ -0,0 +1,96 @@
+package com.test.franchise.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.reactivestreams.Publisher;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Times the public {@link Mono} and {@link Flux} methods of the beans {@code typeName} names (returns
+ * {@code null} for the rest) from subscription to termination, so the time a call spends waiting for a
+ * worker or a connection is included. Timers are tagged like Spring Data's repository metrics: the type tag,
+ * {@code method}, {@code state} ({@code SUCCESS}, {@code ERROR} or {@code CANCELED}) and {@code exception}.
+ */
+public class TimedInvocationsPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    public TimedInvocationsPostProcessor(String metric, String typeTag, Function<Class<?>, String> typeName,
+                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers()) && Publisher.class.isAssignableFrom(method.getReturnType());
+            }
+        };
+        pointcut.setClassFilter(type -> typeName.apply(ClassUtils.getUserClass(type)) != null);
+        this.advisor = new DefaultPointcutAdvisor(pointcut, new TimingInterceptor(metric, typeTag, typeName, meterRegistry));
+        // Keeps the beans assignable to their implementation classes, which the persistence-mode tests rely on.
+        setProxyTargetClass(true);
+    }
+
+    private static final class TimingInterceptor implements MethodInterceptor {
+
+        private final String metric;
+        private final String typeTag;
+        private final Function<Class<?>, String> typeName;
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final Map<Class<?>, String> typeNames = new ConcurrentHashMap<>();
+
+        private TimingInterceptor(String metric, String typeTag, Function<Class<?>, String> typeName,
+                                  ObjectProvider<MeterRegistry> meterRegistry) {
+            this.metric = metric;
+            this.typeTag = typeTag;
+            this.typeName = typeName;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Object result = invocation.proceed();
+            Class<?> type = ClassUtils.getUserClass(AopUtils.getTargetClass(invocation.getThis()));
+            Tags tags = Tags.of(typeTag, typeNames.computeIfAbsent(type, typeName), "method", invocation.getMethod().getName());
+            if (result instanceof Mono<?> mono) {
+                return Mono.defer(() -> {
+                    long started = System.nanoTime();
+                    return mono.doOnSuccess(value -> record(tags, started, "SUCCESS", null))
+                            .doOnError(error -> record(tags, started, "ERROR", error))
+                            .doOnCancel(() -> record(tags, started, "CANCELED", null));
+                });
+            }
+            if (result instanceof Flux<?> flux) {
+                return Flux.defer(() -> {
+                    long started = System.nanoTime();
+                    return flux.doOnComplete(() -> record(tags, started, "SUCCESS", null))
+                            .doOnError(error -> record(tags, started, "ERROR", error))
+                            .doOnCancel(() -> record(tags, started, "CANCELED", null));
+                });
+            }
+            return result;
+        }
+
+        private void record(Tags tags, long started, String state, Throwable error) {
+            Timer.builder(metric)
+                    .tags(tags)
+                    .tag("state", state)
+                    .tag("exception", error == null ? "None" : error.getClass().getSimpleName())
+                    .register(meterRegistry.getObject())
+                    .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.test.franchise.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "franchise.top-stock")
+public class TopStockProperties {
+
+    /**
+     * Products per branch returned by the top-N endpoint when no {@code n} is given.
+     */
+    private int defaultLimit = 10;
+
+    /**
+     * Largest {@code n} accepted by the top-N endpoint.
+     */
+    private int maxLimit = 100;
+}
@@ -1,5 +1,6 @@
 package com.test.franchise.controller;
 
+import com.test.franchise.config.PageProperties;
 import com.test.franchise.dto.request.BranchRequestDto;
 import com.test.franchise.dto.request.UpdateNameRequestDto;
 import com.test.franchise.dto.response.ApiResponse;
@@ -9,8 +10,12 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -22,6 +27,7 @@ import java.util.List;
 public class BranchController {
 
     private final BranchService branchService;
+    private final PageProperties pageProperties;
 
     @PostMapping
     public Mono<ResponseEntity<ApiResponse<BranchResponseDto>>> createBranch(@Valid @RequestBody BranchRequestDto request) {
@@ -34,10 +40,9 @@ public class BranchController {
     }
 
     @GetMapping("/{id}")
-    public Mono<ResponseEntity<ApiResponse<BranchResponseDto>>> getBranchById(@PathVariable Long id) {
+    public Mono<ResponseEntity<ApiResponse<BranchResponseDto>>> getBranchById(@PathVariable Long id, ServerWebExchange exchange) {
         log.info("GET /api/v1/branches/{} - Fetching branch", id);
-        return branchService.getBranchById(id)
-                .map(branch -> ResponseEntity.ok(ApiResponse.success(branch)))
+        return ConditionalGet.respond(exchange, branchService.getBranchVersion(id), () -> branchService.getBranchById(id))
                 .switchIfEmpty(Mono.fromCallable(() -> {
                     log.info("Branch not found with ID: {}, returning 404", id);
                     return ResponseEntity.notFound().<ApiResponse<BranchResponseDto>>build();
@@ -52,17 +57,31 @@ public class BranchController {
 
     @GetMapping
     public Mono<ResponseEntity<ApiResponse<List<BranchResponseDto>>>> getBranchesByFranchise(
-            @RequestParam(name = "franchiseId") Long franchiseId) {
-        log.info("GET /api/v1/branches?franchiseId={} - Fetching branches", franchiseId);
-        return branchService.getBranchesByFranchiseId(franchiseId)
-                .map(branches -> {
-                    log.info("Found {} branches for franchise {}", branches.size(), franchiseId);
-                    return ResponseEntity.ok(ApiResponse.success(branches));
+            @RequestParam(name = "franchiseId") Long franchiseId,
+            @RequestParam(name = "after", defaultValue = "0") long after,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        int pageSize = limit != null ? limit : pageProperties.getDefaultLimit();
+        log.info("GET /api/v1/branches?franchiseId={}&after={}&limit={} - Fetching branches", franchiseId, after, pageSize);
+        if (pageSize < 1 || pageSize > pageProperties.getMaxLimit()) {
+            return Mono.error(new ServerWebInputException("limit must be between 1 and " + pageProperties.getMaxLimit()));
+        }
+        return branchService.getBranchesByFranchiseId(franchiseId, after, pageSize)
+                .map(page -> {
+                    log.info("Found {} branches for franchise {}", page.getItems().size(), franchiseId);
+                    return ResponseEntity.ok(ApiResponse.page(page));
                 })
                 .doOnSuccess(response -> log.info("Branches fetched successfully"))
                 .doOnError(error -> log.error("Error fetching branches", error));
     }
 
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BranchResponseDto> streamBranchesByFranchise(@RequestParam(name = "franchiseId") Long franchiseId) {
+        log.info("GET /api/v1/branches/stream?franchiseId={} - Streaming branches", franchiseId);
+        return branchService.streamBranchesByFranchiseId(franchiseId)
+                .doOnComplete(() -> log.info("Branches streamed successfully"))
+                .doOnError(error -> log.error("Error streaming branches", error));
+    }
+
     @PutMapping("/{id}/name")
     public Mono<ResponseEntity<ApiResponse<BranchResponseDto>>> updateBranchName(
             @PathVariable Long id, 
@@ -0,0 +1,27 @@
+package com.test.franchise.controller;
+
+import com.test.franchise.dto.request.CatalogImportLineDto;
+import com.test.franchise.dto.response.ImportProgressDto;
+import com.test.franchise.service.CatalogImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/v1/imports")
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogImportController {
+
+    private final CatalogImportService catalogImportService;
+
+    @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ImportProgressDto> importCatalog(@RequestBody Flux<CatalogImportLineDto> lines) {
+        log.info("POST /api/v1/imports - Starting catalog import");
+        return catalogImportService.importCatalog(lines)
+                .doOnComplete(() -> log.info("Catalog import finished successfully"))
+                .doOnError(error -> log.error("Error importing catalog", error));
+    }
+}
@@ -0,0 +1,40 @@
+package com.test.franchise.controller;
+
+import com.test.franchise.dto.response.ApiResponse;
+import com.test.franchise.dto.response.ResourceVersion;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Answers {@code If-None-Match}/{@code If-Modified-Since} from the resource version alone and only loads the body
+ * when the client copy is stale. The version is read before the body, so a body is never older than its ETag.
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Completes empty when the resource does not exist, either at the version read or at the body read.
+     */
+    static <T> Mono<ResponseEntity<ApiResponse<T>>> respond(ServerWebExchange exchange, Mono<ResourceVersion> version,
+                                                            Supplier<Mono<T>> body) {
+        return version.flatMap(current -> {
+            if (exchange.checkNotModified(current.eTag(), current.lastModifiedInstant())) {
+                return Mono.just(validators(ResponseEntity.status(HttpStatus.NOT_MODIFIED), current).build());
+            }
+            return body.get().map(data -> validators(ResponseEntity.ok(), current).body(ApiResponse.success(data)));
+        });
+    }
+
+    private static ResponseEntity.BodyBuilder validators(ResponseEntity.BodyBuilder builder, ResourceVersion version) {
+        return builder.eTag(version.eTag())
+                .lastModified(version.lastModifiedInstant())
+                .cacheControl(CacheControl.noCache());
+    }
+}
@@ -1,9 +1,13 @@
 package com.test.franchise.controller;
 
+import com.test.franchise.config.PageProperties;
+import com.test.franchise.config.TopStockProperties;
 import com.test.franchise.dto.request.FranchiseRequestDto;
 import com.test.franchise.dto.request.UpdateNameRequestDto;
 import com.test.franchise.dto.response.ApiResponse;
 import com.test.franchise.dto.response.FranchiseResponseDto;
+import com.test.franchise.dto.response.InventorySummaryResponseDto;
+import com.test.franchise.dto.response.TopNStockProductResponseDto;
 import com.test.franchise.dto.response.TopStockProductResponseDto;
 import com.test.franchise.service.FranchiseService;
 import jakarta.validation.Valid;
@@ -12,6 +16,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -23,6 +29,8 @@ import java.util.List;
 public class FranchiseController {
 
     private final FranchiseService franchiseService;
+    private final TopStockProperties topStockProperties;
+    private final PageProperties pageProperties;
 
     @PostMapping
     public Mono<ResponseEntity<ApiResponse<FranchiseResponseDto>>> createFranchise(@Valid @RequestBody FranchiseRequestDto request) {
@@ -35,10 +43,9 @@ public class FranchiseController {
     }
 
     @GetMapping("/{id}")
-    public Mono<ResponseEntity<ApiResponse<FranchiseResponseDto>>> getFranchiseById(@PathVariable Long id) {
+    public Mono<ResponseEntity<ApiResponse<FranchiseResponseDto>>> getFranchiseById(@PathVariable Long id, ServerWebExchange exchange) {
         log.info("GET /api/v1/franchises/{} - Fetching franchise", id);
-        return franchiseService.getFranchiseById(id)
-                .map(franchise -> ResponseEntity.ok(ApiResponse.success(franchise)))
+        return ConditionalGet.respond(exchange, franchiseService.getFranchiseVersion(id), () -> franchiseService.getFranchiseById(id))
                 .switchIfEmpty(Mono.fromCallable(() -> {
                     log.info("Franchise not found with ID: {}, returning 404", id);
                     return ResponseEntity.notFound().<ApiResponse<FranchiseResponseDto>>build();
@@ -52,12 +59,18 @@ public class FranchiseController {
     }
 
     @GetMapping
-    public Mono<ResponseEntity<ApiResponse<List<FranchiseResponseDto>>>> getAllFranchises() {
-        log.info("GET /api/v1/franchises - Fetching all franchises");
-        return franchiseService.getAllFranchises()
-                .map(franchises -> {
-                    log.info("Found {} franchises", franchises.size());
-                    return ResponseEntity.ok(ApiResponse.success(franchises));
+    public Mono<ResponseEntity<ApiResponse<List<FranchiseResponseDto>>>> getAllFranchises(
+            @RequestParam(name = "after", defaultValue = "0") long after,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        int pageSize = limit != null ? limit : pageProperties.getDefaultLimit();
+        log.info("GET /api/v1/franchises?after={}&limit={} - Fetching franchises", after, pageSize);
+        if (pageSize < 1 || pageSize > pageProperties.getMaxLimit()) {
+            return Mono.error(new ServerWebInputException("limit must be between 1 and " + pageProperties.getMaxLimit()));
+        }
+        return franchiseService.getAllFranchises(after, pageSize)
+                .map(page -> {
+                    log.info("Found {} franchises", page.getItems().size());
+                    return ResponseEntity.ok(ApiResponse.page(page));
                 })
                 .doOnSuccess(response -> log.info("All franchises fetched successfully"))
                 .doOnError(error -> log.error("Error fetching franchises", error));
@@ -95,4 +108,41 @@ public class FranchiseController {
                 .doOnSuccess(response -> log.info("Top stock products fetched successfully"))
                 .doOnError(error -> log.error("Error fetching top stock products", error));
     }
-} 
\ No newline at end of file
+
+    @GetMapping("/{id}/top-stock-products/top-n")
+    public Mono<ResponseEntity<ApiResponse<TopNStockProductResponseDto>>> getTopNStockProducts(
+            @PathVariable Long id,
+            @RequestParam(name = "n", required = false) Integer n) {
+        int limit = n != null ? n : topStockProperties.getDefaultLimit();
+        log.info("GET /api/v1/franchises/{}/top-stock-products/top-n - Fetching top {} stock products", id, limit);
+        if (limit < 1 || limit > topStockProperties.getMaxLimit()) {
+            return Mono.error(new ServerWebInputException("n must be between 1 and " + topStockProperties.getMaxLimit()));
+        }
+        return franchiseService.getTopNStockProductsByFranchise(id, limit)
+                .map(result -> {
+                    log.info("Found {} branch top products for franchise {}", result.getBranchTopProducts().size(), id);
+                    return ResponseEntity.ok(ApiResponse.success(result));
+                })
+                .doOnSuccess(response -> log.info("Top-N stock products fetched successfully"))
+                .doOnError(error -> log.error("Error fetching top-N stock products", error));
+    }
+
+    @GetMapping("/{id}/inventory-summary")
+    public Mono<ResponseEntity<ApiResponse<InventorySummaryResponseDto>>> getInventorySummary(
+            @PathVariable Long id,
+            @RequestParam(name = "cached", defaultValue = "false") boolean cached) {
+        log.info("GET /api/v1/franchises/{}/inventory-summary - Fetching inventory summary (cached={})", id, cached);
+        return franchiseService.getInventorySummary(id, cached)
+                .map(summary -> ResponseEntity.ok(ApiResponse.success(summary)))
+                .switchIfEmpty(Mono.fromCallable(() -> {
+                    log.info("Franchise not found with ID: {}, returning 404", id);
+                    return ResponseEntity.notFound().<ApiResponse<InventorySummaryResponseDto>>build();
+                }))
+                .doOnSuccess(response -> {
+                    if (response.getStatusCode() == HttpStatus.OK) {
+                        log.info("Inventory summary fetched successfully");
+                    }
+                })
+                .doOnError(error -> log.error("Error fetching inventory summary", error));
+    }
+}
@@ -1,20 +1,31 @@
 package com.test.franchise.controller;
 
+import com.test.franchise.config.PageProperties;
+import com.test.franchise.dto.request.AdjustStockRequestDto;
+import com.test.franchise.dto.request.BulkStockUpdateRequestDto;
 import com.test.franchise.dto.request.ProductRequestDto;
+import com.test.franchise.dto.request.StockUpdateItemDto;
 import com.test.franchise.dto.request.UpdateNameRequestDto;
 import com.test.franchise.dto.request.UpdateStockRequestDto;
 import com.test.franchise.dto.response.ApiResponse;
+import com.test.franchise.dto.response.BulkStockUpdateResponseDto;
 import com.test.franchise.dto.response.ProductResponseDto;
+import com.test.franchise.dto.response.StockUpdateResultDto;
 import com.test.franchise.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 @RestController
 @RequestMapping("/api/v1/products")
@@ -23,6 +34,7 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final PageProperties pageProperties;
 
     @PostMapping
     public Mono<ResponseEntity<ApiResponse<ProductResponseDto>>> createProduct(@Valid @RequestBody ProductRequestDto request) {
@@ -35,10 +47,9 @@ public class ProductController {
     }
 
     @GetMapping("/{id}")
-    public Mono<ResponseEntity<ApiResponse<ProductResponseDto>>> getProductById(@PathVariable Long id) {
+    public Mono<ResponseEntity<ApiResponse<ProductResponseDto>>> getProductById(@PathVariable Long id, ServerWebExchange exchange) {
         log.info("GET /api/v1/products/{} - Fetching product", id);
-        return productService.getProductById(id)
-                .map(product -> ResponseEntity.ok(ApiResponse.success(product)))
+        return ConditionalGet.respond(exchange, productService.getProductVersion(id), () -> productService.getProductById(id))
                 .switchIfEmpty(Mono.fromCallable(() -> {
                     log.info("Product not found with ID: {}, returning 404", id);
                     return ResponseEntity.notFound().<ApiResponse<ProductResponseDto>>build();
@@ -53,17 +64,31 @@ public class ProductController {
 
     @GetMapping
     public Mono<ResponseEntity<ApiResponse<List<ProductResponseDto>>>> getProductsByBranch(
-            @RequestParam(name = "branchId") Long branchId) {
-        log.info("GET /api/v1/products?branchId={} - Fetching products", branchId);
-        return productService.getProductsByBranchId(branchId)
-                .map(products -> {
-                    log.info("Found {} products for branch {}", products.size(), branchId);
-                    return ResponseEntity.ok(ApiResponse.success(products));
+            @RequestParam(name = "branchId") Long branchId,
+            @RequestParam(name = "after", defaultValue = "0") long after,
+            @RequestParam(name = "limit", required = false) Integer limit) {
+        int pageSize = limit != null ? limit : pageProperties.getDefaultLimit();
+        log.info("GET /api/v1/products?branchId={}&after={}&limit={} - Fetching products", branchId, after, pageSize);
+        if (pageSize < 1 || pageSize > pageProperties.getMaxLimit()) {
+            return Mono.error(new ServerWebInputException("limit must be between 1 and " + pageProperties.getMaxLimit()));
+        }
+        return productService.getProductsByBranchId(branchId, after, pageSize)
+                .map(page -> {
+                    log.info("Found {} products for branch {}", page.getItems().size(), branchId);
+                    return ResponseEntity.ok(ApiResponse.page(page));
                 })
                 .doOnSuccess(response -> log.info("Products fetched successfully"))
                 .doOnError(error -> log.error("Error fetching products", error));
     }
 
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProductResponseDto> streamProductsByBranch(@RequestParam(name = "branchId") Long branchId) {
+        log.info("GET /api/v1/products/stream?branchId={} - Streaming products", branchId);
+        return productService.streamProductsByBranchId(branchId)
+                .doOnComplete(() -> log.info("Products streamed successfully"))
+                .doOnError(error -> log.error("Error streaming products", error));
+    }
+
     @PutMapping("/{id}/name")
     public Mono<ResponseEntity<ApiResponse<ProductResponseDto>>> updateProductName(
             @PathVariable Long id, 
@@ -86,6 +111,48 @@ public class ProductController {
                 .doOnError(error -> log.error("Error updating product stock", error));
     }
 
+    @PatchMapping("/{id}/stock")
+    public Mono<ResponseEntity<ApiResponse<ProductResponseDto>>> adjustProductStock(
+            @PathVariable Long id, 
+            @Valid @RequestBody AdjustStockRequestDto request) {
+        log.info("PATCH /api/v1/products/{}/stock - Adjusting product stock by: {}", id, request.getDelta());
+        return productService.adjustProductStock(id, request)
+                .map(product -> ResponseEntity.ok(ApiResponse.success(product, "Product stock adjusted successfully")))
+                .doOnSuccess(response -> log.info("Product stock adjusted successfully"))
+                .doOnError(error -> log.error("Error adjusting product stock", error));
+    }
+
+    @PutMapping(path = "/stock", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<ApiResponse<BulkStockUpdateResponseDto>>> updateProductStocks(
+            @Valid @RequestBody BulkStockUpdateRequestDto request) {
+        log.info("PUT /api/v1/products/stock - Updating stock of {} products", request.getItems().size());
+        return productService.updateProductStocks(Flux.fromIterable(request.getItems()))
+                .collectList()
+                .elapsed()
+                .map(timed -> BulkStockUpdateResponseDto.of(timed.getT2(), timed.getT1()))
+                .map(result -> ResponseEntity.ok(ApiResponse.success(result, "Product stocks updated")))
+                .doOnSuccess(response -> log.info("Bulk stock update completed: {} updated, {} failed, {} items/s",
+                        response.getBody().getData().getUpdated(),
+                        response.getBody().getData().getFailed(),
+                        response.getBody().getData().getItemsPerSecond()))
+                .doOnError(error -> log.error("Error updating product stocks", error));
+    }
+
+    @PutMapping(path = "/stock", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<StockUpdateResultDto> streamProductStocks(@Valid @RequestBody Flux<StockUpdateItemDto> items) {
+        log.info("PUT /api/v1/products/stock - Streaming stock updates");
+        AtomicLong processed = new AtomicLong();
+        long startedAt = System.currentTimeMillis();
+        return productService.updateProductStocks(items)
+                .doOnNext(result -> processed.incrementAndGet())
+                .doOnComplete(() -> {
+                    long elapsedMillis = Math.max(System.currentTimeMillis() - startedAt, 1);
+                    log.info("Stock update stream completed: {} items in {} ms ({} items/s)",
+                            processed.get(), elapsedMillis, processed.get() * 1000 / elapsedMillis);
+                })
+                .doOnError(error -> log.error("Error streaming product stock updates", error));
+    }
+
     @DeleteMapping("/{id}")
     public Mono<ResponseEntity<ApiResponse<Void>>> deleteProduct(@PathVariable Long id) {
         log.info("DELETE /api/v1/products/{} - Deleting product", id);
@@ -5,32 +5,42 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "branches")
+@Table(name = "branches",
+        uniqueConstraints = @UniqueConstraint(name = Branch.UNIQUE_NAME_PER_FRANCHISE, columnNames = {"franchise_id", "name"}),
+        indexes = @Index(name = "idx_branches_franchise_id", columnList = "franchise_id, id"))
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "branches")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Branch {
     
+    public static final String UNIQUE_NAME_PER_FRANCHISE = "uk_branches_franchise_name";
+    
+    public static final String FRANCHISE_FOREIGN_KEY = "fk_branches_franchise";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId(table = "branches_seq")
     private Long id;
     
     @Column(nullable = false)
     private String name;
     
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "franchise_id", nullable = false)
+    @JoinColumn(name = "franchise_id", nullable = false, foreignKey = @ForeignKey(name = FRANCHISE_FOREIGN_KEY))
     private Franchise franchise;
     
     @OneToMany(mappedBy = "branch", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @org.hibernate.annotations.BatchSize(size = 20)
+    @org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "branch-products")
     @Builder.Default
     private List<Product> products = new ArrayList<>();
     
@@ -0,0 +1,58 @@
+package com.test.franchise.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Highest-stock product of a branch, ties going to the lowest product id. Kept up to date by the product
+ * writes so the franchise dashboard reads one row per branch; branches without products have no row.
+ */
+@Entity
+@Table(name = "branch_top_stock")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BranchTopStock {
+
+    @Id
+    @Column(name = "branch_id")
+    private Long branchId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(nullable = false)
+    private Integer stock;
+
+    /**
+     * Takes the new stock of a product of this branch into account.
+     *
+     * @return false when the current top product lost stock, since only a rescan of the branch can tell
+     *         which product took its place
+     */
+    public boolean offer(Long candidateId, int candidateStock) {
+        if (candidateId.equals(productId)) {
+            if (candidateStock < stock) {
+                return false;
+            }
+            stock = candidateStock;
+            return true;
+        }
+        if (productId == null || candidateStock > stock || (candidateStock == stock && candidateId < productId)) {
+            productId = candidateId;
+            stock = candidateStock;
+        }
+        return true;
+    }
+
+    public boolean isHeldBy(Long candidateId) {
+        return candidateId.equals(productId);
+    }
+}
@@ -5,28 +5,34 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "franchises")
+@Table(name = "franchises", uniqueConstraints = @UniqueConstraint(name = Franchise.UNIQUE_NAME, columnNames = "name"))
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "franchises")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Franchise {
     
+    public static final String UNIQUE_NAME = "uk_franchises_name";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId(table = "franchises_seq")
     private Long id;
     
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String name;
     
     @OneToMany(mappedBy = "franchise", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @org.hibernate.annotations.BatchSize(size = 20)
+    @org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "franchise-branches")
     @Builder.Default
     private List<Branch> branches = new ArrayList<>();
     
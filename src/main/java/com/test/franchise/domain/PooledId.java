@@ -0,0 +1,23 @@
+package com.test.franchise.domain;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Identifier drawn in blocks from a single-row {@code next_val} table, so inserts can be batched.
+ * The block size comes from {@code franchise.persistence.id-allocation-size}.
+ */
+@IdGeneratorType(PooledIdGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledId {
+
+    /**
+     * Name of the table holding the next free identifier.
+     */
+    String table();
+}
@@ -0,0 +1,190 @@
+package com.test.franchise.domain;
+
+import org.hibernate.MappingException;
+import org.hibernate.boot.model.relational.Database;
+import org.hibernate.boot.model.relational.QualifiedName;
+import org.hibernate.boot.model.relational.SqlStringGenerationContext;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Member;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link SequenceStyleGenerator} forced onto a table with the pooled-lo optimizer, which behaves the same
+ * on MySQL (no sequences) and H2. The table always holds the first identifier of the next free block,
+ * which is the protocol the R2DBC repositories follow as well.
+ * <p>
+ * Hibernate reserves blocks in a transaction of its own on a second connection of the application pool. When
+ * {@value #ALLOCATION_DATA_SOURCE_SETTING} hands it a {@link DataSource}, blocks are reserved on that one
+ * instead, so a caller holding the last pooled connection cannot wait on itself.
+ */
+public class PooledIdGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE_SETTING = "franchise.id.allocation_size";
+
+    public static final String ALLOCATION_DATA_SOURCE_SETTING = "franchise.id.allocation_data_source";
+
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private final String table;
+
+    private DataSource allocationDataSource;
+
+    public PooledIdGenerator(PooledId config, Member member, CustomIdGeneratorCreationContext context) {
+        this.table = config.table();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        ConfigurationService configuration = serviceRegistry.requireService(ConfigurationService.class);
+        int allocationSize = configuration.getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+        allocationDataSource = (DataSource) configuration.getSettings().get(ALLOCATION_DATA_SOURCE_SETTING);
+        parameters.put(SEQUENCE_PARAM, table);
+        parameters.put(FORCE_TBL_PARAM, "true");
+        parameters.put(INITIAL_PARAM, "1");
+        parameters.put(INCREMENT_PARAM, String.valueOf(allocationSize));
+        parameters.put(OPT_PARAM, "pooled-lo");
+        super.configure(type, parameters, serviceRegistry);
+    }
+
+    @Override
+    protected DatabaseStructure buildDatabaseStructure(Type type, Properties params, JdbcEnvironment jdbcEnvironment,
+                                                       boolean forceTableUse, QualifiedName sequenceName,
+                                                       int initialValue, int incrementSize) {
+        DatabaseStructure structure = super.buildDatabaseStructure(type, params, jdbcEnvironment, forceTableUse,
+                sequenceName, initialValue, incrementSize);
+        return allocationDataSource == null ? structure
+                : new AllocationDataSourceStructure(structure, allocationDataSource, type.getReturnedClass());
+    }
+
+    /**
+     * The table structure Hibernate builds, reserving blocks on the allocation data source: reads
+     * {@code next_val} under a row lock and moves it past the block, in a transaction of its own.
+     */
+    private static final class AllocationDataSourceStructure implements DatabaseStructure {
+
+        private final DatabaseStructure table;
+        private final DataSource dataSource;
+        private final Class<?> numberType;
+        private final AtomicInteger timesAccessed = new AtomicInteger();
+        private String selectSql;
+        private String updateSql;
+
+        private AllocationDataSourceStructure(DatabaseStructure table, DataSource dataSource, Class<?> numberType) {
+            this.table = table;
+            this.dataSource = dataSource;
+            this.numberType = numberType;
+        }
+
+        @Override
+        public AccessCallback buildCallback(SharedSessionContractImplementor session) {
+            return new AccessCallback() {
+                @Override
+                public IntegralDataTypeHolder getNextValue() {
+                    timesAccessed.incrementAndGet();
+                    try {
+                        return IdentifierGeneratorHelper.getIntegralDataTypeHolder(numberType).initialize(reserveBlock());
+                    } catch (SQLException e) {
+                        throw session.getJdbcServices().getSqlExceptionHelper()
+                                .convert(e, "Could not reserve an identifier block", selectSql);
+                    }
+                }
+
+                @Override
+                public String getTenantIdentifier() {
+                    return session.getTenantIdentifier();
+                }
+            };
+        }
+
+        private long reserveBlock() throws SQLException {
+            try (Connection connection = dataSource.getConnection()) {
+                connection.setAutoCommit(false);
+                try {
+                    long low;
+                    int updated;
+                    do {
+                        try (PreparedStatement select = connection.prepareStatement(selectSql);
+                             ResultSet row = select.executeQuery()) {
+                            if (!row.next()) {
+                                throw new SQLException("No row in " + table.getPhysicalName().render());
+                            }
+                            low = row.getLong(1);
+                        }
+                        try (PreparedStatement update = connection.prepareStatement(updateSql)) {
+                            update.setLong(1, low + getIncrementSize());
+                            update.setLong(2, low);
+                            updated = update.executeUpdate();
+                        }
+                    } while (updated == 0);
+                    connection.commit();
+                    return low;
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback();
+                    throw e;
+                }
+            }
+        }
+
+        @Override
+        public void initialize(SqlStringGenerationContext context) {
+            table.initialize(context);
+            String name = context.format(table.getPhysicalName());
+            selectSql = "SELECT next_val FROM " + name + " FOR UPDATE";
+            updateSql = "UPDATE " + name + " SET next_val = ? WHERE next_val = ?";
+        }
+
+        @Override
+        public QualifiedName getPhysicalName() {
+            return table.getPhysicalName();
+        }
+
+        @Override
+        public int getTimesAccessed() {
+            return timesAccessed.get();
+        }
+
+        @Override
+        public int getInitialValue() {
+            return table.getInitialValue();
+        }
+
+        @Override
+        public int getIncrementSize() {
+            return table.getIncrementSize();
+        }
+
+        @Override
+        public void configure(Optimizer optimizer) {
+            table.configure(optimizer);
+        }
+
+        @Override
+        public void registerExportables(Database database) {
+            table.registerExportables(database);
+        }
+
+        @Override
+        public boolean isPhysicalSequence() {
+            return false;
+        }
+    }
+}
@@ -5,19 +5,29 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products",
+        uniqueConstraints = @UniqueConstraint(name = Product.UNIQUE_NAME_PER_BRANCH, columnNames = {"branch_id", "name"}),
+        indexes = {
+        @Index(name = "idx_products_branch_stock", columnList = "branch_id, stock"),
+        @Index(name = "idx_products_branch_id", columnList = "branch_id, id")
+})
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Product {
     
+    public static final String UNIQUE_NAME_PER_BRANCH = "uk_products_branch_name";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledId(table = "products_seq")
     private Long id;
     
     @Column(nullable = false)
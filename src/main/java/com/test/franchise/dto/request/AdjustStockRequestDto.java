@@ -0,0 +1,11 @@
+package com.test.franchise.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class AdjustStockRequestDto {
+    
+    @NotNull(message = "Delta is required")
+    private Integer delta;
+}
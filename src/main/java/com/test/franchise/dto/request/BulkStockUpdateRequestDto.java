@@ -0,0 +1,14 @@
+package com.test.franchise.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkStockUpdateRequestDto {
+    
+    @NotEmpty(message = "At least one item is required")
+    private List<@Valid StockUpdateItemDto> items;
+}
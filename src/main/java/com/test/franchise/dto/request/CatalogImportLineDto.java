@@ -0,0 +1,16 @@
+package com.test.franchise.dto.request;
+
+import lombok.Data;
+
+/**
+ * One line of a catalog import. The franchise and branch are created on first sight;
+ * a line without a product only ensures that its franchise and branch exist.
+ */
+@Data
+public class CatalogImportLineDto {
+    
+    private String franchise;
+    private String branch;
+    private String product;
+    private Integer stock;
+}
@@ -0,0 +1,18 @@
+package com.test.franchise.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+@Data
+public class StockUpdateItemDto {
+    
+    @NotNull(message = "Product ID is required")
+    @Positive(message = "Product ID must be positive")
+    private Long productId;
+    
+    @NotNull(message = "Stock is required")
+    @PositiveOrZero(message = "Stock must be zero or positive")
+    private Integer stock;
+}
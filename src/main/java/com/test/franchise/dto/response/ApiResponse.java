@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
@@ -17,6 +18,7 @@ public class ApiResponse<T> {
     private String message;
     private T data;
     private LocalDateTime timestamp;
+    private Long nextCursor;
     
     public static <T> ApiResponse<T> success(T data) {
         return ApiResponse.<T>builder()
@@ -35,6 +37,15 @@ public class ApiResponse<T> {
                 .build();
     }
     
+    public static <T> ApiResponse<List<T>> page(KeysetPage<T> page) {
+        return ApiResponse.<List<T>>builder()
+                .success(true)
+                .data(page.getItems())
+                .nextCursor(page.getNextCursor())
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+    
     public static <T> ApiResponse<T> error(String message) {
         return ApiResponse.<T>builder()
                 .success(false)
@@ -0,0 +1,30 @@
+package com.test.franchise.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BulkStockUpdateResponseDto {
+    
+    private int requested;
+    private int updated;
+    private int failed;
+    private long elapsedMillis;
+    private long itemsPerSecond;
+    private List<StockUpdateResultDto> results;
+    
+    public static BulkStockUpdateResponseDto of(List<StockUpdateResultDto> results, long elapsedMillis) {
+        int updated = (int) results.stream().filter(StockUpdateResultDto::isUpdated).count();
+        return BulkStockUpdateResponseDto.builder()
+                .requested(results.size())
+                .updated(updated)
+                .failed(results.size() - updated)
+                .elapsedMillis(elapsedMillis)
+                .itemsPerSecond(results.size() * 1000L / Math.max(elapsedMillis, 1))
+                .results(results)
+                .build();
+    }
+}
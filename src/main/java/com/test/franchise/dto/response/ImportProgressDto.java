@@ -0,0 +1,16 @@
+package com.test.franchise.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ImportProgressDto {
+    
+    private long processed;
+    private long franchisesCreated;
+    private long branchesCreated;
+    private long productsCreated;
+    private long duplicatesSkipped;
+    private long rejected;
+}
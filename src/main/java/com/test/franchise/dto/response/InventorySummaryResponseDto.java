@@ -0,0 +1,34 @@
+package com.test.franchise.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Stock figures of every branch of a franchise, ordered by branch id. Branches without products report zero
+ * counts and {@code null} minimum, maximum and average.
+ */
+@Data
+@Builder
+public class InventorySummaryResponseDto {
+    
+    private Long franchiseId;
+    private String franchiseName;
+    private List<BranchInventory> branches;
+    private LocalDateTime generatedAt;
+    
+    @Data
+    @Builder
+    public static class BranchInventory {
+        private Long branchId;
+        private String branchName;
+        private long productCount;
+        private long totalStock;
+        private Integer minStock;
+        private Integer maxStock;
+        private Double averageStock;
+        private long outOfStockCount;
+    }
+}
@@ -0,0 +1,30 @@
+package com.test.franchise.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a listing ordered by id. {@code nextCursor} is the {@code after} value of the following page,
+ * or {@code null} when this is the last one.
+ */
+@Data
+@AllArgsConstructor
+public class KeysetPage<T> {
+    
+    private List<T> items;
+    private Long nextCursor;
+    
+    /**
+     * Builds the page from up to {@code limit + 1} rows; the extra row only signals that another page follows.
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, int limit, Function<T, Long> idOf) {
+        if (rows.size() <= limit) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = List.copyOf(rows.subList(0, limit));
+        return new KeysetPage<>(items, idOf.apply(items.get(limit - 1)));
+    }
+}
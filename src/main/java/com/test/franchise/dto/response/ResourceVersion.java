@@ -0,0 +1,36 @@
+package com.test.franchise.dto.response;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Version of a single-resource representation, read without loading it: the latest {@code updated_at} among the
+ * rows it embeds, plus how many child rows it lists so that deleting one changes the version too.
+ */
+public record ResourceVersion(LocalDateTime lastModified, long children) {
+
+    public static ResourceVersion of(long children, LocalDateTime... timestamps) {
+        LocalDateTime lastModified = Arrays.stream(timestamps)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(LocalDateTime.MIN);
+        return new ResourceVersion(lastModified, children);
+    }
+
+    /**
+     * Weak, as the {@link ApiResponse} envelope carries its own timestamp and is never byte-for-byte identical.
+     */
+    public String eTag() {
+        long micros = ChronoUnit.MICROS.between(Instant.EPOCH, lastModifiedInstant());
+        return "W/\"" + Long.toHexString(micros) + "-" + children + "\"";
+    }
+
+    public Instant lastModifiedInstant() {
+        return lastModified.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
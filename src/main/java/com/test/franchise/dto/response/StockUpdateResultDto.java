@@ -0,0 +1,31 @@
+package com.test.franchise.dto.response;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class StockUpdateResultDto {
+    
+    private Long productId;
+    private Integer stock;
+    private boolean updated;
+    private String message;
+    
+    public static StockUpdateResultDto updated(Long productId, Integer stock) {
+        return StockUpdateResultDto.builder()
+                .productId(productId)
+                .stock(stock)
+                .updated(true)
+                .build();
+    }
+    
+    public static StockUpdateResultDto notFound(Long productId, Integer stock) {
+        return StockUpdateResultDto.builder()
+                .productId(productId)
+                .stock(stock)
+                .updated(false)
+                .message("Product not found with ID: " + productId)
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package com.test.franchise.dto.response;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+import java.util.List;
+
+/**
+ * Up to {@code limit} products per branch, ordered by branch and then rank, plus the franchise-wide top.
+ */
+@Data
+@SuperBuilder
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class TopNStockProductResponseDto extends TopStockProductResponseDto {
+    
+    private int limit;
+    private List<BranchTopProduct> franchiseTopProducts;
+}
@@ -2,11 +2,12 @@ package com.test.franchise.dto.response;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.experimental.SuperBuilder;
 
 import java.util.List;
 
 @Data
-@Builder
+@SuperBuilder
 public class TopStockProductResponseDto {
     
     private Long franchiseId;
@@ -0,0 +1,12 @@
+package com.test.franchise.exception;
+
+public class InsufficientStockException extends RuntimeException {
+    
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+    
+    public InsufficientStockException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -3,11 +3,16 @@ package com.test.franchise.mapper;
 import com.test.franchise.domain.Branch;
 import com.test.franchise.dto.request.BranchRequestDto;
 import com.test.franchise.dto.response.BranchResponseDto;
+import com.test.franchise.dto.response.ProductResponseDto;
+import com.test.franchise.repository.BranchProductRow;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.Named;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Mapper(componentModel = "spring", uses = {ProductMapper.class})
 public interface BranchMapper {
     
@@ -40,6 +45,39 @@ public interface BranchMapper {
     @Mapping(target = "products", ignore = true)
     BranchResponseDto toDtoWithoutLazyFields(Branch entity);
     
+    /**
+     * Same shape as {@link #toDto}, built from the rows of a single branch; {@code null} when there are none.
+     */
+    default BranchResponseDto toDtoWithProducts(List<BranchProductRow> rows) {
+        if (rows.isEmpty()) {
+            return null;
+        }
+        BranchProductRow first = rows.get(0);
+        List<ProductResponseDto> products = new ArrayList<>(rows.size());
+        for (BranchProductRow row : rows) {
+            if (row.getProductId() != null) {
+                products.add(ProductResponseDto.builder()
+                        .id(row.getProductId())
+                        .name(row.getProductName())
+                        .stock(row.getProductStock())
+                        .branchId(first.getBranchId())
+                        .branchName(first.getBranchName())
+                        .createdAt(row.getProductCreatedAt())
+                        .updatedAt(row.getProductUpdatedAt())
+                        .build());
+            }
+        }
+        return BranchResponseDto.builder()
+                .id(first.getBranchId())
+                .name(first.getBranchName())
+                .franchiseId(first.getFranchiseId())
+                .franchiseName(first.getFranchiseName())
+                .products(products)
+                .createdAt(first.getBranchCreatedAt())
+                .updatedAt(first.getBranchUpdatedAt())
+                .build();
+    }
+    
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "franchise", ignore = true)
     @Mapping(target = "products", ignore = true)
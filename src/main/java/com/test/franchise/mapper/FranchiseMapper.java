@@ -2,11 +2,18 @@ package com.test.franchise.mapper;
 
 import com.test.franchise.domain.Franchise;
 import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.dto.response.BranchResponseDto;
 import com.test.franchise.dto.response.FranchiseResponseDto;
+import com.test.franchise.repository.FranchiseBranchRow;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @Mapper(componentModel = "spring", uses = {BranchMapper.class})
 public interface FranchiseMapper {
     
@@ -25,6 +32,33 @@ public interface FranchiseMapper {
     @Mapping(target = "branches", ignore = true)
     FranchiseResponseDto toDtoWithoutBranches(Franchise entity);
     
+    /**
+     * Same shape as {@link #toDtoWithBranchesButWithoutProducts}, one DTO per franchise in row order.
+     */
+    default List<FranchiseResponseDto> toDtosWithBranches(List<FranchiseBranchRow> rows) {
+        Map<Long, FranchiseResponseDto> franchises = new LinkedHashMap<>();
+        for (FranchiseBranchRow row : rows) {
+            FranchiseResponseDto franchise = franchises.computeIfAbsent(row.getFranchiseId(), id -> FranchiseResponseDto.builder()
+                    .id(id)
+                    .name(row.getFranchiseName())
+                    .branches(new ArrayList<>())
+                    .createdAt(row.getFranchiseCreatedAt())
+                    .updatedAt(row.getFranchiseUpdatedAt())
+                    .build());
+            if (row.getBranchId() != null) {
+                franchise.getBranches().add(BranchResponseDto.builder()
+                        .id(row.getBranchId())
+                        .name(row.getBranchName())
+                        .franchiseId(franchise.getId())
+                        .franchiseName(franchise.getName())
+                        .createdAt(row.getBranchCreatedAt())
+                        .updatedAt(row.getBranchUpdatedAt())
+                        .build());
+            }
+        }
+        return new ArrayList<>(franchises.values());
+    }
+    
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
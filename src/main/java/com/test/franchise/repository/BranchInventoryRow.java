@@ -0,0 +1,23 @@
+package com.test.franchise.repository;
+
+import com.test.franchise.dto.response.InventorySummaryResponseDto;
+
+/**
+ * Stock aggregates of one branch, selected by constructor expression.
+ */
+public record BranchInventoryRow(Long branchId, String branchName, Long productCount, Long totalStock,
+                                 Integer minStock, Integer maxStock, Double averageStock, Long outOfStockCount) {
+
+    public InventorySummaryResponseDto.BranchInventory toDto() {
+        return InventorySummaryResponseDto.BranchInventory.builder()
+                .branchId(branchId)
+                .branchName(branchName)
+                .productCount(productCount)
+                .totalStock(totalStock)
+                .minStock(minStock)
+                .maxStock(maxStock)
+                .averageStock(averageStock)
+                .outOfStockCount(outOfStockCount)
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.test.franchise.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * A branch with its franchise and one of its products, read straight from the query aliases. The product
+ * columns are {@code null} on the single row of a branch without products.
+ */
+public interface BranchProductRow {
+
+    Long getBranchId();
+
+    String getBranchName();
+
+    LocalDateTime getBranchCreatedAt();
+
+    LocalDateTime getBranchUpdatedAt();
+
+    Long getFranchiseId();
+
+    String getFranchiseName();
+
+    Long getProductId();
+
+    String getProductName();
+
+    Integer getProductStock();
+
+    LocalDateTime getProductCreatedAt();
+
+    LocalDateTime getProductUpdatedAt();
+}
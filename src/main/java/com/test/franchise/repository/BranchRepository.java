@@ -1,28 +1,85 @@
 package com.test.franchise.repository;
 
 import com.test.franchise.domain.Branch;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BranchRepository extends JpaRepository<Branch, Long> {
+public interface BranchRepository extends JpaRepository<Branch, Long>, BranchRepositoryCustom {
     
     List<Branch> findByFranchiseId(Long franchiseId);
     
-    boolean existsByNameAndFranchiseId(String name, Long franchiseId);
+    @Query("SELECT b FROM Branch b WHERE b.franchise.id = :franchiseId AND b.name = :name")
+    Optional<Branch> findByNameAndFranchiseId(@Param("name") String name, @Param("franchiseId") Long franchiseId);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Branch b WHERE b.id = :id")
+    Optional<Branch> findByIdForUpdate(@Param("id") Long id);
+    
+    @Query(value = "SELECT id FROM branches WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockAllById(@Param("ids") Collection<Long> ids);
+    
+    @Query(value = "SELECT id FROM branches WHERE franchise_id = :franchiseId ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockIdsByFranchiseId(@Param("franchiseId") Long franchiseId);
     
     @Query("SELECT b FROM Branch b LEFT JOIN FETCH b.franchise WHERE b.id = :id")
     Optional<Branch> findByIdWithFranchise(@Param("id") Long id);
     
-    @Query("SELECT b FROM Branch b LEFT JOIN FETCH b.franchise LEFT JOIN FETCH b.products WHERE b.id = :id")
-    Optional<Branch> findByIdWithFranchiseAndProducts(@Param("id") Long id);
+    /**
+     * One row per product of the branch, ordered by product id, with the branch and franchise columns repeated.
+     */
+    @Query("""
+            SELECT b.id AS branchId, b.name AS branchName, b.createdAt AS branchCreatedAt, b.updatedAt AS branchUpdatedAt,
+                   f.id AS franchiseId, f.name AS franchiseName,
+                   p.id AS productId, p.name AS productName, p.stock AS productStock,
+                   p.createdAt AS productCreatedAt, p.updatedAt AS productUpdatedAt
+            FROM Branch b JOIN b.franchise f LEFT JOIN b.products p
+            WHERE b.id = :id
+            ORDER BY p.id
+            """)
+    List<BranchProductRow> findRowsWithProductsById(@Param("id") Long id);
+    
+    @Query("""
+            SELECT b.updatedAt AS updatedAt, f.updatedAt AS parentUpdatedAt,
+                   MAX(p.updatedAt) AS childrenUpdatedAt, COUNT(p.id) AS children
+            FROM Branch b JOIN b.franchise f LEFT JOIN b.products p
+            WHERE b.id = :id
+            GROUP BY b.id, b.updatedAt, f.updatedAt
+            """)
+    Optional<ResourceVersionView> findVersionById(@Param("id") Long id);
 
-    @Query("SELECT b FROM Branch b LEFT JOIN FETCH b.franchise WHERE b.franchise.id = :franchiseId")
-    List<Branch> findByFranchiseIdWithFranchise(@Param("franchiseId") Long franchiseId);
+    /**
+     * Stock aggregates per branch of the franchise in a single GROUP BY; branches without products are included.
+     */
+    @Query("""
+            SELECT new com.test.franchise.repository.BranchInventoryRow(b.id, b.name, COUNT(p.id), COALESCE(SUM(p.stock), 0L),
+                   MIN(p.stock), MAX(p.stock), AVG(p.stock), SUM(CASE WHEN p.stock = 0 THEN 1L ELSE 0L END))
+            FROM Branch b LEFT JOIN b.products p
+            WHERE b.franchise.id = :franchiseId
+            GROUP BY b.id, b.name
+            ORDER BY b.id
+            """)
+    List<BranchInventoryRow> findInventoryByFranchiseId(@Param("franchiseId") Long franchiseId);
+    
+    @Query("""
+            SELECT new com.test.franchise.repository.BranchRow(b.id, b.name, f.id, f.name, b.createdAt, b.updatedAt)
+            FROM Branch b JOIN b.franchise f
+            WHERE f.id = :franchiseId AND b.id > :after
+            ORDER BY b.id
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<BranchRow> findRowPageByFranchiseId(@Param("franchiseId") Long franchiseId, @Param("after") long after, Limit limit);
     
 } 
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.test.franchise.repository;
+
+import com.test.franchise.domain.Branch;
+
+import java.util.stream.Stream;
+
+public interface BranchRepositoryCustom {
+
+    /**
+     * Branches of the franchise ordered by id, with their franchise, read on a session of their own.
+     * The stream must be closed to release its connection.
+     */
+    Stream<Branch> streamByFranchiseIdWithFranchise(Long franchiseId);
+}
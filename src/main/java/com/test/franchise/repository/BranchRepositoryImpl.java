@@ -0,0 +1,24 @@
+package com.test.franchise.repository;
+
+import com.test.franchise.config.PersistenceProperties;
+import com.test.franchise.domain.Branch;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class BranchRepositoryImpl implements BranchRepositoryCustom {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final PersistenceProperties persistenceProperties;
+
+    @Override
+    public Stream<Branch> streamByFranchiseIdWithFranchise(Long franchiseId) {
+        return StatelessStreams.open(entityManagerFactory.unwrap(SessionFactory.class), persistenceProperties.getStreamFetchSize(),
+                session -> session.createSelectionQuery(
+                                "SELECT b FROM Branch b JOIN FETCH b.franchise WHERE b.franchise.id = :franchiseId ORDER BY b.id", Branch.class)
+                        .setParameter("franchiseId", franchiseId));
+    }
+}
@@ -0,0 +1,26 @@
+package com.test.franchise.repository;
+
+import com.test.franchise.dto.response.BranchResponseDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A branch with its franchise name, selected by constructor expression so no entity is hydrated or tracked.
+ */
+public record BranchRow(Long id, String name, Long franchiseId, String franchiseName,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    /**
+     * Same shape as {@code BranchMapper.toDtoWithoutProducts}.
+     */
+    public BranchResponseDto toDto() {
+        return BranchResponseDto.builder()
+                .id(id)
+                .name(name)
+                .franchiseId(franchiseId)
+                .franchiseName(franchiseName)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
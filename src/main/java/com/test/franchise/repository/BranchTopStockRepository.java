@@ -0,0 +1,28 @@
+package com.test.franchise.repository;
+
+import com.test.franchise.domain.BranchTopStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BranchTopStockRepository extends JpaRepository<BranchTopStock, Long> {
+    
+    @Query("""
+        SELECT new com.test.franchise.repository.TopStockProductRow(b.id, b.name, p.id, p.name, t.stock)
+        FROM BranchTopStock t
+        JOIN Branch b ON b.id = t.branchId
+        JOIN Product p ON p.id = t.productId
+        WHERE b.franchise.id = :franchiseId
+        ORDER BY b.id
+        """)
+    List<TopStockProductRow> findTopStockProductsByFranchiseId(@Param("franchiseId") Long franchiseId);
+    
+    @Modifying
+    @Query("DELETE FROM BranchTopStock t WHERE t.branchId IN (SELECT b.id FROM Branch b WHERE b.franchise.id = :franchiseId)")
+    int deleteByFranchiseId(@Param("franchiseId") Long franchiseId);
+}
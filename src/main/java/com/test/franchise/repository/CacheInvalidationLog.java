@@ -0,0 +1,27 @@
+package com.test.franchise.repository;
+
+import com.test.franchise.domain.CacheInvalidationEvent;
+import com.test.franchise.service.support.CacheInvalidation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * The {@code cache_invalidations} table read and written by the polling transport. Timestamps come from the
+ * database clock, so instances with skewed clocks still agree on what is new.
+ */
+public interface CacheInvalidationLog {
+
+    Mono<Void> append(String origin, List<CacheInvalidation> invalidations);
+
+    /**
+     * Rows created at or after {@code since} by any other origin, oldest first.
+     */
+    Flux<CacheInvalidationEvent> findSince(LocalDateTime since, String excludedOrigin);
+
+    Mono<LocalDateTime> currentTime();
+
+    Mono<Long> deleteBefore(LocalDateTime cutoff);
+}
@@ -0,0 +1,26 @@
+package com.test.franchise.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * A franchise with one of its branches, read straight from the query aliases. The branch columns are
+ * {@code null} on the single row of a franchise without branches.
+ */
+public interface FranchiseBranchRow {
+
+    Long getFranchiseId();
+
+    String getFranchiseName();
+
+    LocalDateTime getFranchiseCreatedAt();
+
+    LocalDateTime getFranchiseUpdatedAt();
+
+    Long getBranchId();
+
+    String getBranchName();
+
+    LocalDateTime getBranchCreatedAt();
+
+    LocalDateTime getBranchUpdatedAt();
+}
@@ -1,11 +1,13 @@
 package com.test.franchise.repository;
 
 import com.test.franchise.domain.Franchise;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,11 +16,30 @@ public interface FranchiseRepository extends JpaRepository<Franchise, Long> {
     
     Optional<Franchise> findByName(String name);
     
-    boolean existsByName(String name);
+    @Query("SELECT f.name FROM Franchise f WHERE f.id = :id")
+    Optional<String> findNameById(@Param("id") Long id);
     
-    @Query("SELECT f FROM Franchise f LEFT JOIN FETCH f.branches WHERE f.id = :id")
-    Optional<Franchise> findByIdWithBranches(@Param("id") Long id);
+    @Query("""
+            SELECT f.updatedAt AS updatedAt, MAX(b.updatedAt) AS childrenUpdatedAt, COUNT(b.id) AS children
+            FROM Franchise f LEFT JOIN f.branches b
+            WHERE f.id = :id
+            GROUP BY f.id, f.updatedAt
+            """)
+    Optional<ResourceVersionView> findVersionById(@Param("id") Long id);
     
-    @Query("SELECT DISTINCT f FROM Franchise f LEFT JOIN FETCH f.branches")
-    List<Franchise> findAllWithBranches();
+    @Query("SELECT f.id FROM Franchise f WHERE f.id > :after ORDER BY f.id")
+    List<Long> findIdsAfter(@Param("after") long after, Limit limit);
+    
+    /**
+     * One row per branch of an already limited set of franchises, ordered by franchise and branch, so the page
+     * size is applied in SQL and no entity or lazy collection is involved.
+     */
+    @Query("""
+            SELECT f.id AS franchiseId, f.name AS franchiseName, f.createdAt AS franchiseCreatedAt, f.updatedAt AS franchiseUpdatedAt,
+                   b.id AS branchId, b.name AS branchName, b.createdAt AS branchCreatedAt, b.updatedAt AS branchUpdatedAt
+            FROM Franchise f LEFT JOIN f.branches b
+            WHERE f.id IN :ids
+            ORDER BY f.id, b.id
+            """)
+    List<FranchiseBranchRow> findRowsWithBranchesByIdIn(@Param("ids") Collection<Long> ids);
 } 
\ No newline at end of file
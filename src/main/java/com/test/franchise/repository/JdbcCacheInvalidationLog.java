@@ -0,0 +1,70 @@
+package com.test.franchise.repository;
+
+import com.test.franchise.domain.CacheInvalidationEvent;
+import com.test.franchise.service.support.CacheInvalidation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "mode", havingValue = "jpa", matchIfMissing = true)
+public class JdbcCacheInvalidationLog implements CacheInvalidationLog {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO cache_invalidations (kind, entity_id, parent_id, origin, created_at) VALUES (?, ?, ?, ?, LOCALTIMESTAMP(3))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Mono<Void> append(String origin, List<CacheInvalidation> invalidations) {
+        return Mono.fromRunnable(() -> jdbcTemplate.batchUpdate(INSERT_SQL, invalidations.stream()
+                        .map(invalidation -> new Object[]{invalidation.kind().name(), invalidation.id(), invalidation.parentId(), origin})
+                        .toList()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .then();
+    }
+
+    @Override
+    public Flux<CacheInvalidationEvent> findSince(LocalDateTime since, String excludedOrigin) {
+        return Flux.defer(() -> Flux.fromIterable(jdbcTemplate.query("""
+                        SELECT id, kind, entity_id, parent_id, origin, created_at FROM cache_invalidations
+                        WHERE created_at >= ? AND origin <> ?
+                        ORDER BY created_at, id
+                        """, JdbcCacheInvalidationLog::toEvent, Timestamp.valueOf(since), excludedOrigin)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<LocalDateTime> currentTime() {
+        return Mono.fromCallable(() -> jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP(3)", LocalDateTime.class))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public Mono<Long> deleteBefore(LocalDateTime cutoff) {
+        return Mono.fromCallable(() -> (long) jdbcTemplate.update("DELETE FROM cache_invalidations WHERE created_at < ?", Timestamp.valueOf(cutoff)))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static CacheInvalidationEvent toEvent(ResultSet rs, int rowNum) throws SQLException {
+        return CacheInvalidationEvent.builder()
+                .id(rs.getLong("id"))
+                .kind(CacheInvalidation.Kind.valueOf(rs.getString("kind")))
+                .entityId(rs.getObject("entity_id", Long.class))
+                .parentId(rs.getObject("parent_id", Long.class))
+                .origin(rs.getString("origin"))
+                .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+                .build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.test.franchise.repository;
+
+/**
+ * Product id with the branch it belongs to.
+ */
+public interface ProductBranchRef {
+
+    Long getProductId();
+
+    Long getBranchId();
+}
@@ -1,39 +1,123 @@
 package com.test.franchise.repository;
 
 import com.test.franchise.domain.Product;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
     
     List<Product> findByBranchId(Long branchId);
     
-    boolean existsByNameAndBranchId(String name, Long branchId);
-    
     @Query("SELECT p FROM Product p WHERE p.branch.franchise.id = :franchiseId")
     List<Product> findByFranchiseId(@Param("franchiseId") Long franchiseId);
     
+    /**
+     * One row per branch of the franchise with its highest-stock product; ties go to the lowest product id.
+     * Ranks each branch once through {@code (branch_id, stock)} instead of a correlated MAX per row.
+     * The dashboard reads the maintained {@code branch_top_stock} instead, which must always agree with this.
+     */
+    @Query(value = """
+        SELECT ranked.branch_id AS branchId, ranked.branch_name AS branchName,
+               ranked.id AS productId, ranked.name AS productName, ranked.stock AS stock
+        FROM (
+            SELECT p.id, p.name, p.stock, b.id AS branch_id, b.name AS branch_name,
+                   ROW_NUMBER() OVER (PARTITION BY p.branch_id ORDER BY p.stock DESC, p.id) AS branch_rank
+            FROM products p
+            JOIN branches b ON b.id = p.branch_id
+            WHERE b.franchise_id = :franchiseId
+        ) ranked
+        WHERE ranked.branch_rank = 1
+        ORDER BY ranked.branch_id
+        """, nativeQuery = true)
+    List<TopStockProductView> findTopStockProductsByFranchiseId(@Param("franchiseId") Long franchiseId);
+    
+    /**
+     * Same ranking as {@link #findTopStockProductsByFranchiseId}, keeping the first {@code limit} products of
+     * each branch, ordered by branch and then rank.
+     */
+    @Query(value = """
+        SELECT ranked.branch_id AS branchId, ranked.branch_name AS branchName,
+               ranked.id AS productId, ranked.name AS productName, ranked.stock AS stock
+        FROM (
+            SELECT p.id, p.name, p.stock, b.id AS branch_id, b.name AS branch_name,
+                   ROW_NUMBER() OVER (PARTITION BY p.branch_id ORDER BY p.stock DESC, p.id) AS branch_rank
+            FROM products p
+            JOIN branches b ON b.id = p.branch_id
+            WHERE b.franchise_id = :franchiseId
+        ) ranked
+        WHERE ranked.branch_rank <= :limit
+        ORDER BY ranked.branch_id, ranked.branch_rank
+        """, nativeQuery = true)
+    List<TopStockProductView> findTopNStockProductsPerBranch(@Param("franchiseId") Long franchiseId, @Param("limit") int limit);
+    
+    @Query(value = """
+        SELECT b.id AS branchId, b.name AS branchName, p.id AS productId, p.name AS productName, p.stock AS stock
+        FROM products p
+        JOIN branches b ON b.id = p.branch_id
+        WHERE b.franchise_id = :franchiseId
+        ORDER BY p.stock DESC, p.id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<TopStockProductView> findTopNStockProductsByFranchiseId(@Param("franchiseId") Long franchiseId, @Param("limit") int limit);
+    
+    @Query("SELECT p.name FROM Product p WHERE p.branch.id = :branchId")
+    List<String> findNamesByBranchId(@Param("branchId") Long branchId);
+    
+    @Query("SELECT p.branch.id FROM Product p WHERE p.id = :id")
+    Optional<Long> findBranchIdById(@Param("id") Long id);
+    
     @Query("""
-        SELECT p FROM Product p 
-        JOIN FETCH p.branch b 
-        WHERE b.franchise.id = :franchiseId 
-        AND p.stock = (
-            SELECT MAX(p2.stock) 
-            FROM Product p2 
-            WHERE p2.branch.id = p.branch.id
-        )
-        """)
-    List<Product> findTopStockProductsByFranchiseId(@Param("franchiseId") Long franchiseId);
+            SELECT new com.test.franchise.repository.ProductRow(p.id, p.name, p.stock, b.id, b.name, p.createdAt, p.updatedAt)
+            FROM Product p JOIN p.branch b
+            WHERE p.id = :id
+            """)
+    Optional<ProductRow> findRowById(@Param("id") Long id);
+    
+    @Query("SELECT p.stock FROM Product p WHERE p.id = :id")
+    Optional<Integer> findStockById(@Param("id") Long id);
+    
+    @Query("SELECT p.id AS productId, p.branch.id AS branchId FROM Product p WHERE p.id IN :ids")
+    List<ProductBranchRef> findBranchIdsByIds(@Param("ids") Collection<Long> ids);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.branch.id = :branchId ORDER BY p.stock DESC, p.id LIMIT 1")
+    Optional<Product> findTopStockByBranchIdForUpdate(@Param("branchId") Long branchId);
     
     @Query("SELECT p FROM Product p LEFT JOIN FETCH p.branch WHERE p.id = :id")
     Optional<Product> findByIdWithBranch(@Param("id") Long id);
     
-    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.branch WHERE p.branch.id = :branchId")
-    List<Product> findByBranchIdWithBranch(@Param("branchId") Long branchId);
+    @Query("SELECT p.updatedAt AS updatedAt, b.updatedAt AS parentUpdatedAt FROM Product p JOIN p.branch b WHERE p.id = :id")
+    Optional<ResourceVersionView> findVersionById(@Param("id") Long id);
+    
+    @Query("""
+            SELECT new com.test.franchise.repository.ProductRow(p.id, p.name, p.stock, b.id, b.name, p.createdAt, p.updatedAt)
+            FROM Product p JOIN p.branch b
+            WHERE b.id = :branchId AND p.id > :after
+            ORDER BY p.id
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<ProductRow> findRowPageByBranchId(@Param("branchId") Long branchId, @Param("after") long after, Limit limit);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = :stock, p.updatedAt = :updatedAt WHERE p.id = :id")
+    int updateStock(@Param("id") Long id, @Param("stock") Integer stock, @Param("updatedAt") LocalDateTime updatedAt);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stock = p.stock + :delta, p.updatedAt = :updatedAt WHERE p.id = :id AND p.stock + :delta >= 0")
+    int adjustStock(@Param("id") Long id, @Param("delta") Integer delta, @Param("updatedAt") LocalDateTime updatedAt);
 } 
\ No newline at end of file
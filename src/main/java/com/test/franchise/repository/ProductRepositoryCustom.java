@@ -0,0 +1,22 @@
+package com.test.franchise.repository;
+
+import com.test.franchise.domain.Product;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ProductRepositoryCustom {
+
+    /**
+     * Applies the stock values through a single JDBC batch on the connection of the current transaction.
+     *
+     * @return the update count of each item, in the order given
+     */
+    int[] batchUpdateStock(List<StockUpdate> updates);
+
+    /**
+     * Products of the branch ordered by id, with their branch, read on a session of their own.
+     * The stream must be closed to release its connection.
+     */
+    Stream<Product> streamByBranchIdWithBranch(Long branchId);
+}
@@ -0,0 +1,70 @@
+package com.test.franchise.repository;
+
+import com.test.franchise.config.PersistenceProperties;
+import com.test.franchise.domain.Product;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    private static final String UPDATE_STOCK_SQL = "UPDATE products SET stock = ?, updated_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final PersistenceProperties persistenceProperties;
+
+    @Override
+    public int[] batchUpdateStock(List<StockUpdate> updates) {
+        if (updates.isEmpty()) {
+            return new int[0];
+        }
+        Timestamp updatedAt = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> arguments = updates.stream()
+                .map(update -> new Object[]{update.stock(), updatedAt, update.productId()})
+                .toList();
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_STOCK_SQL, arguments);
+        evictFromSecondLevelCache(updates);
+        return counts;
+    }
+
+    @Override
+    public Stream<Product> streamByBranchIdWithBranch(Long branchId) {
+        return StatelessStreams.open(entityManagerFactory.unwrap(SessionFactory.class), persistenceProperties.getStreamFetchSize(),
+                session -> session.createSelectionQuery(
+                                "SELECT p FROM Product p JOIN FETCH p.branch WHERE p.branch.id = :branchId ORDER BY p.id", Product.class)
+                        .setParameter("branchId", branchId));
+    }
+
+    /**
+     * The JDBC batch bypasses Hibernate, so the cached products are evicted by hand, along with the cached
+     * listings that copy their stock; once more after completion so a concurrent load of the old rows cannot
+     * outlive the commit.
+     */
+    private void evictFromSecondLevelCache(List<StockUpdate> updates) {
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        Runnable evict = () -> {
+            updates.forEach(update -> cache.evictEntityData(Product.class, update.productId()));
+            cache.evictDefaultQueryRegion();
+        };
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.test.franchise.repository;
+
+import com.test.franchise.dto.response.ProductResponseDto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A product with its branch name, selected by constructor expression so no entity is hydrated or tracked.
+ */
+public record ProductRow(Long id, String name, Integer stock, Long branchId, String branchName,
+                         LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    public ProductResponseDto toDto() {
+        return ProductResponseDto.builder()
+                .id(id)
+                .name(name)
+                .stock(stock)
+                .branchId(branchId)
+                .branchName(branchName)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.test.franchise.repository;
+
+import com.test.franchise.dto.response.ResourceVersion;
+
+import java.time.LocalDateTime;
+
+/**
+ * Timestamps behind a single-resource representation, read straight from the query aliases. Aliases a query does
+ * not select read as {@code null}.
+ */
+public interface ResourceVersionView {
+
+    LocalDateTime getUpdatedAt();
+
+    LocalDateTime getParentUpdatedAt();
+
+    LocalDateTime getChildrenUpdatedAt();
+
+    Long getChildren();
+
+    default ResourceVersion toVersion() {
+        long children = getChildren() != null ? getChildren() : 0;
+        return ResourceVersion.of(children, getUpdatedAt(), getParentUpdatedAt(), getChildrenUpdatedAt());
+    }
+}
@@ -0,0 +1,40 @@
+package com.test.franchise.repository;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.SelectionQuery;
+
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams query results through a {@link StatelessSession}: rows are not kept in a persistence context and the
+ * driver only holds {@code fetchSize} of them at a time. The session and its transaction stay open until the
+ * returned stream is closed, so callers must close it (as {@code Flux.fromStream} does).
+ */
+final class StatelessStreams {
+
+    private StatelessStreams() {
+    }
+
+    static <T> Stream<T> open(SessionFactory sessionFactory, int fetchSize, Function<StatelessSession, SelectionQuery<T>> query) {
+        StatelessSession session = sessionFactory.openStatelessSession();
+        try {
+            Transaction transaction = session.beginTransaction();
+            return query.apply(session)
+                    .setFetchSize(fetchSize)
+                    .getResultStream()
+                    .onClose(() -> {
+                        try {
+                            transaction.commit();
+                        } finally {
+                            session.close();
+                        }
+                    });
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+}
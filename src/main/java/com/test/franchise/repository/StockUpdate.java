@@ -0,0 +1,4 @@
+package com.test.franchise.repository;
+
+public record StockUpdate(Long productId, Integer stock) {
+}
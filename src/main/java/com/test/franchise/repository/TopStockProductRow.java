@@ -0,0 +1,19 @@
+package com.test.franchise.repository;
+
+import com.test.franchise.dto.response.TopStockProductResponseDto;
+
+/**
+ * Top-stock product of a branch, selected by constructor expression so no entity is hydrated or tracked.
+ */
+public record TopStockProductRow(Long branchId, String branchName, Long productId, String productName, Integer stock) {
+
+    public TopStockProductResponseDto.BranchTopProduct toDto() {
+        return TopStockProductResponseDto.BranchTopProduct.builder()
+                .branchId(branchId)
+                .branchName(branchName)
+                .productId(productId)
+                .productName(productName)
+                .stock(stock)
+                .build();
+    }
+}
@@ -0,0 +1,17 @@
+package com.test.franchise.repository;
+
+/**
+ * Row of the top-stock-per-branch native query, read straight from its column aliases.
+ */
+public interface TopStockProductView {
+
+    Long getBranchId();
+
+    String getBranchName();
+
+    Long getProductId();
+
+    String getProductName();
+
+    Integer getStock();
+}
@@ -0,0 +1,227 @@
+package com.test.franchise.repository.reactive;
+
+import com.test.franchise.domain.Branch;
+import com.test.franchise.domain.Franchise;
+import com.test.franchise.dto.response.ResourceVersion;
+import com.test.franchise.repository.BranchInventoryRow;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.ArrayList;
+
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "mode", havingValue = "r2dbc")
+public class ReactiveBranchRepository {
+
+    private static final String ID_TABLE = "branches_seq";
+
+    private static final String SELECT_BRANCH_WITH_FRANCHISE = """
+            SELECT b.id, b.name, b.created_at, b.updated_at, f.id AS franchise_id, f.name AS franchise_name
+            FROM branches b
+            JOIN franchises f ON f.id = b.franchise_id
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final ReactiveIdAllocator idAllocator;
+    private final ReactiveProductRepository productRepository;
+
+    public Mono<Branch> findByIdWithFranchise(Long id) {
+        return databaseClient.sql(SELECT_BRANCH_WITH_FRANCHISE + " WHERE b.id = :id")
+                .bind("id", id)
+                .map(ReactiveBranchRepository::toBranch)
+                .one();
+    }
+
+    public Mono<Branch> findByNameAndFranchiseId(String name, Long franchiseId) {
+        return databaseClient.sql(SELECT_BRANCH_WITH_FRANCHISE + " WHERE b.name = :name AND b.franchise_id = :franchiseId")
+                .bind("name", name)
+                .bind("franchiseId", franchiseId)
+                .map(ReactiveBranchRepository::toBranch)
+                .one();
+    }
+
+    public Mono<Branch> findByIdWithFranchiseAndProducts(Long id) {
+        return findByIdWithFranchise(id)
+                .flatMap(branch -> productRepository.findByBranchIdWithBranch(id)
+                        .doOnNext(product -> product.setBranch(branch))
+                        .collectList()
+                        .map(products -> {
+                            branch.setProducts(new ArrayList<>(products));
+                            return branch;
+                        }));
+    }
+
+    public Flux<Branch> findByFranchiseIdWithFranchise(Long franchiseId) {
+        return databaseClient.sql(SELECT_BRANCH_WITH_FRANCHISE + " WHERE b.franchise_id = :franchiseId ORDER BY b.id")
+                .bind("franchiseId", franchiseId)
+                .map(ReactiveBranchRepository::toBranch)
+                .all();
+    }
+
+    public Flux<Branch> findPageByFranchiseIdWithFranchise(Long franchiseId, long after, int limit) {
+        return databaseClient.sql(SELECT_BRANCH_WITH_FRANCHISE + " WHERE b.franchise_id = :franchiseId AND b.id > :after ORDER BY b.id LIMIT :limit")
+                .bind("franchiseId", franchiseId)
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(ReactiveBranchRepository::toBranch)
+                .all();
+    }
+
+    public Flux<Branch> findByFranchiseIdsWithFranchise(Collection<Long> franchiseIds) {
+        return databaseClient.sql(SELECT_BRANCH_WITH_FRANCHISE + " WHERE b.franchise_id IN (:franchiseIds) ORDER BY b.id")
+                .bind("franchiseIds", franchiseIds)
+                .map(ReactiveBranchRepository::toBranch)
+                .all();
+    }
+
+    public Mono<ResourceVersion> findVersionById(Long id) {
+        return databaseClient.sql("""
+                        SELECT b.updated_at, f.updated_at AS parent_updated_at,
+                               MAX(p.updated_at) AS children_updated_at, COUNT(p.id) AS children
+                        FROM branches b
+                        JOIN franchises f ON f.id = b.franchise_id
+                        LEFT JOIN products p ON p.branch_id = b.id
+                        WHERE b.id = :id
+                        GROUP BY b.id, b.updated_at, f.updated_at
+                        """)
+                .bind("id", id)
+                .map(row -> ResourceVersion.of(row.get("children", Long.class),
+                        row.get("updated_at", LocalDateTime.class),
+                        row.get("parent_updated_at", LocalDateTime.class),
+                        row.get("children_updated_at", LocalDateTime.class)))
+                .one();
+    }
+
+    /**
+     * Stock aggregates per branch of the franchise in a single GROUP BY; branches without products are included.
+     */
+    public Flux<BranchInventoryRow> findInventoryByFranchiseId(Long franchiseId) {
+        return databaseClient.sql("""
+                        SELECT b.id, b.name, COUNT(p.id) AS product_count, COALESCE(SUM(p.stock), 0) AS total_stock,
+                               MIN(p.stock) AS min_stock, MAX(p.stock) AS max_stock,
+                               AVG(p.stock) AS average_stock,
+                               SUM(CASE WHEN p.stock = 0 THEN 1 ELSE 0 END) AS out_of_stock_count
+                        FROM branches b
+                        LEFT JOIN products p ON p.branch_id = b.id
+                        WHERE b.franchise_id = :franchiseId
+                        GROUP BY b.id, b.name
+                        ORDER BY b.id
+                        """)
+                .bind("franchiseId", franchiseId)
+                .map(row -> new BranchInventoryRow(
+                        row.get("id", Long.class),
+                        row.get("name", String.class),
+                        row.get("product_count", Number.class).longValue(),
+                        row.get("total_stock", Number.class).longValue(),
+                        row.get("min_stock", Integer.class),
+                        row.get("max_stock", Integer.class),
+                        averageStock(row.get("average_stock", Number.class)),
+                        row.get("out_of_stock_count", Number.class).longValue()))
+                .all();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM branches WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("total", Long.class) > 0)
+                .one();
+    }
+
+    public Mono<Branch> insert(Branch branch) {
+        LocalDateTime now = LocalDateTime.now();
+        return idAllocator.nextId(ID_TABLE)
+                .flatMap(id -> databaseClient.sql("""
+                                INSERT INTO branches (id, name, franchise_id, created_at, updated_at)
+                                VALUES (:id, :name, :franchiseId, :createdAt, :updatedAt)
+                                """)
+                        .bind("id", id)
+                        .bind("name", branch.getName())
+                        .bind("franchiseId", branch.getFranchise().getId())
+                        .bind("createdAt", now)
+                        .bind("updatedAt", now)
+                        .fetch()
+                        .rowsUpdated()
+                        .map(updated -> {
+                            branch.setId(id);
+                            branch.setCreatedAt(now);
+                            branch.setUpdatedAt(now);
+                            return branch;
+                        }));
+    }
+
+    public Mono<Long> updateName(Long id, String name, LocalDateTime updatedAt) {
+        return databaseClient.sql("UPDATE branches SET name = :name, updated_at = :updatedAt WHERE id = :id")
+                .bind("name", name)
+                .bind("updatedAt", updatedAt)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> lockById(Long id) {
+        return databaseClient.sql("SELECT id FROM branches WHERE id = :id FOR UPDATE")
+                .bind("id", id)
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    public Flux<Long> lockAllById(Collection<Long> ids) {
+        return databaseClient.sql("SELECT id FROM branches WHERE id IN (:ids) ORDER BY id FOR UPDATE")
+                .bind("ids", ids)
+                .map(row -> row.get("id", Long.class))
+                .all();
+    }
+
+    public Flux<Long> lockIdsByFranchiseId(Long franchiseId) {
+        return databaseClient.sql("SELECT id FROM branches WHERE franchise_id = :franchiseId ORDER BY id FOR UPDATE")
+                .bind("franchiseId", franchiseId)
+                .map(row -> row.get("id", Long.class))
+                .all();
+    }
+
+    /**
+     * Mirrors the JPA cascade: the branch products are removed before the branch row.
+     * Callers are expected to run it inside a transaction.
+     */
+    public Mono<Long> deleteById(Long id) {
+        return lockById(id)
+                .then(databaseClient.sql("DELETE FROM branch_top_stock WHERE branch_id = :id")
+                        .bind("id", id)
+                        .fetch()
+                        .rowsUpdated())
+                .then(databaseClient.sql("DELETE FROM products WHERE branch_id = :id")
+                        .bind("id", id)
+                        .fetch()
+                        .rowsUpdated())
+                .then(databaseClient.sql("DELETE FROM branches WHERE id = :id")
+                        .bind("id", id)
+                        .fetch()
+                        .rowsUpdated());
+    }
+
+    static Branch toBranch(Readable row) {
+        Franchise franchise = Franchise.builder()
+                .id(row.get("franchise_id", Long.class))
+                .name(row.get("franchise_name", String.class))
+                .build();
+        return Branch.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .franchise(franchise)
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+
+    private static Double averageStock(Number average) {
+        return average != null ? average.doubleValue() : null;
+    }
+}
@@ -0,0 +1,73 @@
+package com.test.franchise.repository.reactive;
+
+import com.test.franchise.domain.BranchTopStock;
+import com.test.franchise.domain.Product;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "mode", havingValue = "r2dbc")
+public class ReactiveBranchTopStockRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<BranchTopStock> findByIdForUpdate(Long branchId) {
+        return databaseClient.sql("SELECT branch_id, product_id, stock FROM branch_top_stock WHERE branch_id = :branchId FOR UPDATE")
+                .bind("branchId", branchId)
+                .map(ReactiveBranchTopStockRepository::toBranchTopStock)
+                .one();
+    }
+
+    public Flux<Product> findTopStockProductsByFranchiseId(Long franchiseId) {
+        return databaseClient.sql("""
+                        SELECT p.id, p.name, p.stock, p.created_at, p.updated_at, b.id AS branch_id, b.name AS branch_name
+                        FROM branches b
+                        JOIN branch_top_stock t ON t.branch_id = b.id
+                        JOIN products p ON p.id = t.product_id
+                        WHERE b.franchise_id = :franchiseId
+                        ORDER BY b.id
+                        """)
+                .bind("franchiseId", franchiseId)
+                .map(ReactiveProductRepository::toProduct)
+                .all();
+    }
+
+    public Mono<Long> insert(BranchTopStock top) {
+        return databaseClient.sql("INSERT INTO branch_top_stock (branch_id, product_id, stock) VALUES (:branchId, :productId, :stock)")
+                .bind("branchId", top.getBranchId())
+                .bind("productId", top.getProductId())
+                .bind("stock", top.getStock())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> update(BranchTopStock top) {
+        return databaseClient.sql("UPDATE branch_top_stock SET product_id = :productId, stock = :stock WHERE branch_id = :branchId")
+                .bind("productId", top.getProductId())
+                .bind("stock", top.getStock())
+                .bind("branchId", top.getBranchId())
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> deleteById(Long branchId) {
+        return databaseClient.sql("DELETE FROM branch_top_stock WHERE branch_id = :branchId")
+                .bind("branchId", branchId)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    static BranchTopStock toBranchTopStock(Readable row) {
+        return BranchTopStock.builder()
+                .branchId(row.get("branch_id", Long.class))
+                .productId(row.get("product_id", Long.class))
+                .stock(row.get("stock", Integer.class))
+                .build();
+    }
+}
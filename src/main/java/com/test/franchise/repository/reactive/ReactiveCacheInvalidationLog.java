@@ -0,0 +1,83 @@
+package com.test.franchise.repository.reactive;
+
+import com.test.franchise.domain.CacheInvalidationEvent;
+import com.test.franchise.repository.CacheInvalidationLog;
+import com.test.franchise.service.support.CacheInvalidation;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "mode", havingValue = "r2dbc")
+public class ReactiveCacheInvalidationLog implements CacheInvalidationLog {
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Void> append(String origin, List<CacheInvalidation> invalidations) {
+        return Flux.fromIterable(invalidations)
+                .concatMap(invalidation -> {
+                    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                                    INSERT INTO cache_invalidations (kind, entity_id, parent_id, origin, created_at)
+                                    VALUES (:kind, :entityId, :parentId, :origin, LOCALTIMESTAMP(3))
+                                    """)
+                            .bind("kind", invalidation.kind().name())
+                            .bind("origin", origin);
+                    spec = bindNullable(spec, "entityId", invalidation.id());
+                    spec = bindNullable(spec, "parentId", invalidation.parentId());
+                    return spec.fetch().rowsUpdated();
+                })
+                .then();
+    }
+
+    @Override
+    public Flux<CacheInvalidationEvent> findSince(LocalDateTime since, String excludedOrigin) {
+        return databaseClient.sql("""
+                        SELECT id, kind, entity_id, parent_id, origin, created_at FROM cache_invalidations
+                        WHERE created_at >= :since AND origin <> :origin
+                        ORDER BY created_at, id
+                        """)
+                .bind("since", since)
+                .bind("origin", excludedOrigin)
+                .map(ReactiveCacheInvalidationLog::toEvent)
+                .all();
+    }
+
+    @Override
+    public Mono<LocalDateTime> currentTime() {
+        return databaseClient.sql("SELECT LOCALTIMESTAMP(3) AS now")
+                .map(row -> row.get("now", LocalDateTime.class))
+                .one();
+    }
+
+    @Override
+    public Mono<Long> deleteBefore(LocalDateTime cutoff) {
+        return databaseClient.sql("DELETE FROM cache_invalidations WHERE created_at < :cutoff")
+                .bind("cutoff", cutoff)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name, Long value) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, Long.class);
+    }
+
+    static CacheInvalidationEvent toEvent(Readable row) {
+        return CacheInvalidationEvent.builder()
+                .id(row.get("id", Long.class))
+                .kind(CacheInvalidation.Kind.valueOf(row.get("kind", String.class)))
+                .entityId(row.get("entity_id", Long.class))
+                .parentId(row.get("parent_id", Long.class))
+                .origin(row.get("origin", String.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -0,0 +1,170 @@
+package com.test.franchise.repository.reactive;
+
+import com.test.franchise.domain.Branch;
+import com.test.franchise.domain.Franchise;
+import com.test.franchise.dto.response.ResourceVersion;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "mode", havingValue = "r2dbc")
+public class ReactiveFranchiseRepository {
+
+    private static final String ID_TABLE = "franchises_seq";
+
+    private static final String SELECT_FRANCHISE =
+            "SELECT f.id, f.name, f.created_at, f.updated_at FROM franchises f";
+
+    private final DatabaseClient databaseClient;
+    private final ReactiveIdAllocator idAllocator;
+    private final ReactiveBranchRepository branchRepository;
+
+    public Mono<Franchise> findById(Long id) {
+        return databaseClient.sql(SELECT_FRANCHISE + " WHERE f.id = :id")
+                .bind("id", id)
+                .map(ReactiveFranchiseRepository::toFranchise)
+                .one();
+    }
+
+    public Mono<Franchise> findByName(String name) {
+        return databaseClient.sql(SELECT_FRANCHISE + " WHERE f.name = :name")
+                .bind("name", name)
+                .map(ReactiveFranchiseRepository::toFranchise)
+                .one();
+    }
+
+    public Flux<Franchise> findPage(long after, int limit) {
+        return databaseClient.sql(SELECT_FRANCHISE + " WHERE f.id > :after ORDER BY f.id LIMIT :limit")
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(ReactiveFranchiseRepository::toFranchise)
+                .all();
+    }
+
+    public Mono<Franchise> findByIdWithBranches(Long id) {
+        return findById(id)
+                .flatMap(franchise -> branchRepository.findByFranchiseIdWithFranchise(id)
+                        .collectList()
+                        .map(branches -> attachBranches(franchise, branches)));
+    }
+
+    public Mono<List<Franchise>> findPageWithBranches(long after, int limit) {
+        return findPage(after, limit)
+                .collectList()
+                .flatMap(franchises -> franchises.isEmpty()
+                        ? Mono.just(franchises)
+                        : branchRepository.findByFranchiseIdsWithFranchise(franchises.stream().map(Franchise::getId).toList())
+                                .collectList()
+                                .map(branches -> {
+                                    Map<Long, List<Branch>> branchesByFranchise = branches.stream()
+                                            .collect(Collectors.groupingBy(branch -> branch.getFranchise().getId()));
+                                    return franchises.stream()
+                                            .map(franchise -> attachBranches(franchise,
+                                                    branchesByFranchise.getOrDefault(franchise.getId(), List.of())))
+                                            .toList();
+                                }));
+    }
+
+    public Mono<ResourceVersion> findVersionById(Long id) {
+        return databaseClient.sql("""
+                        SELECT f.updated_at, MAX(b.updated_at) AS children_updated_at, COUNT(b.id) AS children
+                        FROM franchises f
+                        LEFT JOIN branches b ON b.franchise_id = f.id
+                        WHERE f.id = :id
+                        GROUP BY f.id, f.updated_at
+                        """)
+                .bind("id", id)
+                .map(row -> ResourceVersion.of(row.get("children", Long.class),
+                        row.get("updated_at", LocalDateTime.class),
+                        row.get("children_updated_at", LocalDateTime.class)))
+                .one();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM franchises WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("total", Long.class) > 0)
+                .one();
+    }
+
+    public Mono<Franchise> insert(Franchise franchise) {
+        LocalDateTime now = LocalDateTime.now();
+        return idAllocator.nextId(ID_TABLE)
+                .flatMap(id -> databaseClient.sql("""
+                                INSERT INTO franchises (id, name, created_at, updated_at)
+                                VALUES (:id, :name, :createdAt, :updatedAt)
+                                """)
+                        .bind("id", id)
+                        .bind("name", franchise.getName())
+                        .bind("createdAt", now)
+                        .bind("updatedAt", now)
+                        .fetch()
+                        .rowsUpdated()
+                        .map(updated -> {
+                            franchise.setId(id);
+                            franchise.setCreatedAt(now);
+                            franchise.setUpdatedAt(now);
+                            return franchise;
+                        }));
+    }
+
+    public Mono<Long> updateName(Long id, String name, LocalDateTime updatedAt) {
+        return databaseClient.sql("UPDATE franchises SET name = :name, updated_at = :updatedAt WHERE id = :id")
+                .bind("name", name)
+                .bind("updatedAt", updatedAt)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Mirrors the JPA cascade: products and branches of the franchise are removed before the franchise row.
+     * Callers are expected to run it inside a transaction.
+     */
+    public Mono<Long> deleteById(Long id) {
+        return branchRepository.lockIdsByFranchiseId(id)
+                .then(databaseClient.sql("DELETE FROM branch_top_stock WHERE branch_id IN (SELECT b.id FROM branches b WHERE b.franchise_id = :id)")
+                        .bind("id", id)
+                        .fetch()
+                        .rowsUpdated())
+                .then(databaseClient.sql("DELETE FROM products WHERE branch_id IN (SELECT b.id FROM branches b WHERE b.franchise_id = :id)")
+                        .bind("id", id)
+                        .fetch()
+                        .rowsUpdated())
+                .then(databaseClient.sql("DELETE FROM branches WHERE franchise_id = :id")
+                        .bind("id", id)
+                        .fetch()
+                        .rowsUpdated())
+                .then(databaseClient.sql("DELETE FROM franchises WHERE id = :id")
+                        .bind("id", id)
+                        .fetch()
+                        .rowsUpdated());
+    }
+
+    static Franchise toFranchise(Readable row) {
+        return Franchise.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+
+    private static Franchise attachBranches(Franchise franchise, List<Branch> branches) {
+        franchise.setBranches(new ArrayList<>(branches));
+        branches.forEach(branch -> branch.setFranchise(franchise));
+        return franchise;
+    }
+}
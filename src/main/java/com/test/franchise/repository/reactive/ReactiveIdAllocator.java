@@ -0,0 +1,85 @@
+package com.test.franchise.repository.reactive;
+
+import com.test.franchise.config.PersistenceProperties;
+import io.r2dbc.pool.ConnectionPool;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reactive counterpart of {@link com.test.franchise.domain.PooledIdGenerator}: reserves blocks from the same
+ * {@code *_seq} tables with the same pooled-lo protocol, so both persistence modes can write to one schema.
+ * Blocks are reserved in their own transaction on the {@code idAllocationConnectionPool}, keeping the row
+ * lock out of the caller's transaction and the reservation out of the pool the caller holds a connection of.
+ */
+@Component
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "mode", havingValue = "r2dbc")
+public class ReactiveIdAllocator {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator allocationOperator;
+    private final int allocationSize;
+    private final Map<String, IdBlock> blocks = new ConcurrentHashMap<>();
+
+    public ReactiveIdAllocator(@Qualifier("idAllocationConnectionPool") ConnectionPool idAllocationConnectionPool,
+                               PersistenceProperties properties) {
+        this.databaseClient = DatabaseClient.create(idAllocationConnectionPool);
+        this.allocationOperator = TransactionalOperator.create(new R2dbcTransactionManager(idAllocationConnectionPool));
+        this.allocationSize = properties.getIdAllocationSize();
+    }
+
+    public Mono<Long> nextId(String table) {
+        return Mono.defer(() -> {
+            IdBlock block = blocks.computeIfAbsent(table, key -> new IdBlock());
+            Long id = block.next();
+            if (id != null) {
+                return Mono.just(id);
+            }
+            return reserveBlock(table).map(low -> block.reset(low, allocationSize));
+        });
+    }
+
+    private Mono<Long> reserveBlock(String table) {
+        return databaseClient.sql("SELECT next_val FROM " + table + " FOR UPDATE")
+                .map(row -> row.get("next_val", Long.class))
+                .one()
+                .flatMap(low -> databaseClient.sql("UPDATE " + table + " SET next_val = :next WHERE next_val = :low")
+                        .bind("next", low + allocationSize)
+                        .bind("low", low)
+                        .fetch()
+                        .rowsUpdated()
+                        .filter(updated -> updated > 0)
+                        .map(updated -> low))
+                .as(allocationOperator::transactional)
+                .repeatWhenEmpty(MAX_ATTEMPTS, attempts -> attempts);
+    }
+
+    private static class IdBlock {
+
+        private long next;
+        private long limit;
+
+        synchronized Long next() {
+            return next < limit ? next++ : null;
+        }
+
+        /**
+         * Hands out {@code low} and keeps the rest of the block. A block reserved concurrently replaces
+         * whatever is left of this one, which only leaves a gap.
+         */
+        synchronized long reset(long low, int size) {
+            next = low + 1;
+            limit = low + size;
+            return low;
+        }
+    }
+}
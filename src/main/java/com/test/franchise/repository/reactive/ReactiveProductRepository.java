@@ -0,0 +1,251 @@
+package com.test.franchise.repository.reactive;
+
+import com.test.franchise.domain.Branch;
+import com.test.franchise.domain.Product;
+import com.test.franchise.dto.response.ResourceVersion;
+import com.test.franchise.repository.StockUpdate;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Result;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "mode", havingValue = "r2dbc")
+public class ReactiveProductRepository {
+
+    private static final String ID_TABLE = "products_seq";
+
+    private static final String SELECT_PRODUCT_WITH_BRANCH = """
+            SELECT p.id, p.name, p.stock, p.created_at, p.updated_at, b.id AS branch_id, b.name AS branch_name
+            FROM products p
+            JOIN branches b ON b.id = p.branch_id
+            """;
+
+    private final DatabaseClient databaseClient;
+    private final ReactiveIdAllocator idAllocator;
+
+    public Mono<Product> findByIdWithBranch(Long id) {
+        return databaseClient.sql(SELECT_PRODUCT_WITH_BRANCH + " WHERE p.id = :id")
+                .bind("id", id)
+                .map(ReactiveProductRepository::toProduct)
+                .one();
+    }
+
+    public Flux<Product> findPageByBranchIdWithBranch(Long branchId, long after, int limit) {
+        return databaseClient.sql(SELECT_PRODUCT_WITH_BRANCH + " WHERE p.branch_id = :branchId AND p.id > :after ORDER BY p.id LIMIT :limit")
+                .bind("branchId", branchId)
+                .bind("after", after)
+                .bind("limit", limit)
+                .map(ReactiveProductRepository::toProduct)
+                .all();
+    }
+
+    public Flux<Product> findByBranchIdWithBranch(Long branchId) {
+        return databaseClient.sql(SELECT_PRODUCT_WITH_BRANCH + " WHERE p.branch_id = :branchId ORDER BY p.id")
+                .bind("branchId", branchId)
+                .map(ReactiveProductRepository::toProduct)
+                .all();
+    }
+
+    public Flux<Product> findTopNStockProductsPerBranch(Long franchiseId, int limit) {
+        return databaseClient.sql("""
+                        SELECT ranked.id, ranked.name, ranked.stock, ranked.created_at, ranked.updated_at, ranked.branch_id, ranked.branch_name
+                        FROM (
+                            SELECT p.id, p.name, p.stock, p.created_at, p.updated_at, b.id AS branch_id, b.name AS branch_name,
+                                   ROW_NUMBER() OVER (PARTITION BY p.branch_id ORDER BY p.stock DESC, p.id) AS branch_rank
+                            FROM products p
+                            JOIN branches b ON b.id = p.branch_id
+                            WHERE b.franchise_id = :franchiseId
+                        ) ranked
+                        WHERE ranked.branch_rank <= :limit
+                        ORDER BY ranked.branch_id, ranked.branch_rank
+                        """)
+                .bind("franchiseId", franchiseId)
+                .bind("limit", limit)
+                .map(ReactiveProductRepository::toProduct)
+                .all();
+    }
+
+    public Flux<Product> findTopNStockProductsByFranchiseId(Long franchiseId, int limit) {
+        return databaseClient.sql(SELECT_PRODUCT_WITH_BRANCH + " WHERE b.franchise_id = :franchiseId ORDER BY p.stock DESC, p.id LIMIT :limit")
+                .bind("franchiseId", franchiseId)
+                .bind("limit", limit)
+                .map(ReactiveProductRepository::toProduct)
+                .all();
+    }
+
+    public Mono<Long> findBranchIdById(Long id) {
+        return databaseClient.sql("SELECT branch_id FROM products WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("branch_id", Long.class))
+                .one();
+    }
+
+    /**
+     * Each product only carries its id and branch id.
+     */
+    public Flux<Product> findBranchIdsByIds(Collection<Long> ids) {
+        return databaseClient.sql("SELECT id, branch_id FROM products WHERE id IN (:ids)")
+                .bind("ids", ids)
+                .map(row -> Product.builder()
+                        .id(row.get("id", Long.class))
+                        .branch(Branch.builder().id(row.get("branch_id", Long.class)).build())
+                        .build())
+                .all();
+    }
+
+    /**
+     * Highest-stock product of the branch, ties going to the lowest id; only id and stock are read.
+     */
+    public Mono<Product> findTopStockByBranchIdForUpdate(Long branchId) {
+        return databaseClient.sql("SELECT id, stock FROM products WHERE branch_id = :branchId ORDER BY stock DESC, id LIMIT 1 FOR UPDATE")
+                .bind("branchId", branchId)
+                .map(row -> Product.builder()
+                        .id(row.get("id", Long.class))
+                        .stock(row.get("stock", Integer.class))
+                        .build())
+                .one();
+    }
+
+    public Mono<Integer> findStockById(Long id) {
+        return databaseClient.sql("SELECT stock FROM products WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("stock", Integer.class))
+                .one();
+    }
+
+    public Flux<String> findNamesByBranchId(Long branchId) {
+        return databaseClient.sql("SELECT name FROM products WHERE branch_id = :branchId")
+                .bind("branchId", branchId)
+                .map(row -> row.get("name", String.class))
+                .all();
+    }
+
+    public Mono<ResourceVersion> findVersionById(Long id) {
+        return databaseClient.sql("""
+                        SELECT p.updated_at, b.updated_at AS parent_updated_at
+                        FROM products p
+                        JOIN branches b ON b.id = p.branch_id
+                        WHERE p.id = :id
+                        """)
+                .bind("id", id)
+                .map(row -> ResourceVersion.of(0,
+                        row.get("updated_at", LocalDateTime.class),
+                        row.get("parent_updated_at", LocalDateTime.class)))
+                .one();
+    }
+
+    public Mono<Boolean> existsById(Long id) {
+        return databaseClient.sql("SELECT COUNT(*) AS total FROM products WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("total", Long.class) > 0)
+                .one();
+    }
+
+    public Mono<Product> insert(Product product) {
+        LocalDateTime now = LocalDateTime.now();
+        return idAllocator.nextId(ID_TABLE)
+                .flatMap(id -> databaseClient.sql("""
+                                INSERT INTO products (id, name, stock, branch_id, created_at, updated_at)
+                                VALUES (:id, :name, :stock, :branchId, :createdAt, :updatedAt)
+                                """)
+                        .bind("id", id)
+                        .bind("name", product.getName())
+                        .bind("stock", product.getStock())
+                        .bind("branchId", product.getBranch().getId())
+                        .bind("createdAt", now)
+                        .bind("updatedAt", now)
+                        .fetch()
+                        .rowsUpdated()
+                        .map(updated -> {
+                            product.setId(id);
+                            product.setCreatedAt(now);
+                            product.setUpdatedAt(now);
+                            return product;
+                        }));
+    }
+
+    public Mono<Long> updateName(Long id, String name, LocalDateTime updatedAt) {
+        return databaseClient.sql("UPDATE products SET name = :name, updated_at = :updatedAt WHERE id = :id")
+                .bind("name", name)
+                .bind("updatedAt", updatedAt)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> updateStock(Long id, Integer stock, LocalDateTime updatedAt) {
+        return databaseClient.sql("UPDATE products SET stock = :stock, updated_at = :updatedAt WHERE id = :id")
+                .bind("stock", stock)
+                .bind("updatedAt", updatedAt)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> adjustStock(Long id, Integer delta, LocalDateTime updatedAt) {
+        return databaseClient.sql("UPDATE products SET stock = stock + :delta, updated_at = :updatedAt WHERE id = :id AND stock + :delta >= 0")
+                .bind("delta", delta)
+                .bind("updatedAt", updatedAt)
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Sends the updates as one statement with a set of bindings per item, which the driver runs as a batch.
+     *
+     * @return the update count of each item, in the order given
+     */
+    public Flux<Long> batchUpdateStock(List<StockUpdate> updates) {
+        if (updates.isEmpty()) {
+            return Flux.empty();
+        }
+        LocalDateTime updatedAt = LocalDateTime.now();
+        StockUpdate first = updates.get(0);
+        // Markers are bound by index from the second item on: stock, updated_at, id, in SQL order.
+        return databaseClient.sql("UPDATE products SET stock = :stock, updated_at = :updatedAt WHERE id = :id")
+                .bind("stock", first.stock())
+                .bind("updatedAt", updatedAt)
+                .bind("id", first.productId())
+                .filter(statement -> {
+                    updates.subList(1, updates.size()).forEach(update -> statement.add()
+                            .bind(0, update.stock())
+                            .bind(1, updatedAt)
+                            .bind(2, update.productId()));
+                    return statement;
+                })
+                .flatMap(Result::getRowsUpdated);
+    }
+
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM products WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    static Product toProduct(Readable row) {
+        Branch branch = Branch.builder()
+                .id(row.get("branch_id", Long.class))
+                .name(row.get("branch_name", String.class))
+                .build();
+        return Product.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .stock(row.get("stock", Integer.class))
+                .branch(branch)
+                .createdAt(row.get("created_at", LocalDateTime.class))
+                .updatedAt(row.get("updated_at", LocalDateTime.class))
+                .build();
+    }
+}
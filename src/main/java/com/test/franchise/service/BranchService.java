@@ -3,17 +3,28 @@ package com.test.franchise.service;
 import com.test.franchise.dto.request.BranchRequestDto;
 import com.test.franchise.dto.request.UpdateNameRequestDto;
 import com.test.franchise.dto.response.BranchResponseDto;
+import com.test.franchise.dto.response.KeysetPage;
+import com.test.franchise.dto.response.ResourceVersion;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
-
 public interface BranchService {
     
     Mono<BranchResponseDto> createBranch(BranchRequestDto requestDto);
     
     Mono<BranchResponseDto> getBranchById(Long id);
     
-    Mono<List<BranchResponseDto>> getBranchesByFranchiseId(Long franchiseId);
+    /**
+     * Version of what {@link #getBranchById} returns, read without loading it; empty when the branch does not exist.
+     */
+    Mono<ResourceVersion> getBranchVersion(Long id);
+    
+    Mono<KeysetPage<BranchResponseDto>> getBranchesByFranchiseId(Long franchiseId, long after, int limit);
+    
+    /**
+     * Every branch of the franchise, emitted as rows are read rather than collected first.
+     */
+    Flux<BranchResponseDto> streamBranchesByFranchiseId(Long franchiseId);
     
     Mono<BranchResponseDto> updateBranchName(Long id, UpdateNameRequestDto requestDto);
     
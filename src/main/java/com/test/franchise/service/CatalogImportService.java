@@ -0,0 +1,10 @@
+package com.test.franchise.service;
+
+import com.test.franchise.dto.request.CatalogImportLineDto;
+import com.test.franchise.dto.response.ImportProgressDto;
+import reactor.core.publisher.Flux;
+
+public interface CatalogImportService {
+    
+    Flux<ImportProgressDto> importCatalog(Flux<CatalogImportLineDto> lines);
+}
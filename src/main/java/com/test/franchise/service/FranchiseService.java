@@ -3,22 +3,38 @@ package com.test.franchise.service;
 import com.test.franchise.dto.request.FranchiseRequestDto;
 import com.test.franchise.dto.request.UpdateNameRequestDto;
 import com.test.franchise.dto.response.FranchiseResponseDto;
+import com.test.franchise.dto.response.InventorySummaryResponseDto;
+import com.test.franchise.dto.response.KeysetPage;
+import com.test.franchise.dto.response.ResourceVersion;
+import com.test.franchise.dto.response.TopNStockProductResponseDto;
 import com.test.franchise.dto.response.TopStockProductResponseDto;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
-
 public interface FranchiseService {
     
     Mono<FranchiseResponseDto> createFranchise(FranchiseRequestDto requestDto);
     
     Mono<FranchiseResponseDto> getFranchiseById(Long id);
     
-    Mono<List<FranchiseResponseDto>> getAllFranchises();
+    /**
+     * Version of what {@link #getFranchiseById} returns, read without loading it; empty when the franchise does not exist.
+     */
+    Mono<ResourceVersion> getFranchiseVersion(Long id);
+    
+    Mono<KeysetPage<FranchiseResponseDto>> getAllFranchises(long after, int limit);
     
     Mono<FranchiseResponseDto> updateFranchiseName(Long id, UpdateNameRequestDto requestDto);
     
     Mono<Void> deleteFranchise(Long id);
     
     Mono<TopStockProductResponseDto> getTopStockProductsByFranchise(Long franchiseId);
+    
+    Mono<TopNStockProductResponseDto> getTopNStockProductsByFranchise(Long franchiseId, int limit);
+    
+    /**
+     * Empty when the franchise does not exist.
+     *
+     * @param cached accept a summary up to {@code franchise.inventory-summary.ttl} old
+     */
+    Mono<InventorySummaryResponseDto> getInventorySummary(Long franchiseId, boolean cached);
 } 
\ No newline at end of file
@@ -1,24 +1,42 @@
 package com.test.franchise.service;
 
+import com.test.franchise.dto.request.AdjustStockRequestDto;
 import com.test.franchise.dto.request.ProductRequestDto;
+import com.test.franchise.dto.request.StockUpdateItemDto;
 import com.test.franchise.dto.request.UpdateNameRequestDto;
 import com.test.franchise.dto.request.UpdateStockRequestDto;
+import com.test.franchise.dto.response.KeysetPage;
 import com.test.franchise.dto.response.ProductResponseDto;
+import com.test.franchise.dto.response.ResourceVersion;
+import com.test.franchise.dto.response.StockUpdateResultDto;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
-
 public interface ProductService {
     
     Mono<ProductResponseDto> createProduct(ProductRequestDto requestDto);
     
     Mono<ProductResponseDto> getProductById(Long id);
     
-    Mono<List<ProductResponseDto>> getProductsByBranchId(Long branchId);
+    /**
+     * Version of what {@link #getProductById} returns, read without loading it; empty when the product does not exist.
+     */
+    Mono<ResourceVersion> getProductVersion(Long id);
+    
+    Mono<KeysetPage<ProductResponseDto>> getProductsByBranchId(Long branchId, long after, int limit);
+    
+    /**
+     * Every product of the branch, emitted as rows are read rather than collected first.
+     */
+    Flux<ProductResponseDto> streamProductsByBranchId(Long branchId);
     
     Mono<ProductResponseDto> updateProductName(Long id, UpdateNameRequestDto requestDto);
     
     Mono<ProductResponseDto> updateProductStock(Long id, UpdateStockRequestDto requestDto);
     
+    Mono<ProductResponseDto> adjustProductStock(Long id, AdjustStockRequestDto requestDto);
+    
+    Flux<StockUpdateResultDto> updateProductStocks(Flux<StockUpdateItemDto> items);
+    
     Mono<Void> deleteProduct(Long id);
 } 
\ No newline at end of file
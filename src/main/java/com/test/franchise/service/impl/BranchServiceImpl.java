@@ -5,138 +5,185 @@ import com.test.franchise.domain.Franchise;
 import com.test.franchise.dto.request.BranchRequestDto;
 import com.test.franchise.dto.request.UpdateNameRequestDto;
 import com.test.franchise.dto.response.BranchResponseDto;
+import com.test.franchise.dto.response.KeysetPage;
+import com.test.franchise.dto.response.ResourceVersion;
 import com.test.franchise.exception.DuplicateEntityException;
 import com.test.franchise.exception.EntityNotFoundException;
 import com.test.franchise.mapper.BranchMapper;
 import com.test.franchise.repository.BranchRepository;
+import com.test.franchise.repository.BranchRow;
+import com.test.franchise.repository.BranchTopStockRepository;
 import com.test.franchise.repository.FranchiseRepository;
+import com.test.franchise.repository.ResourceVersionView;
 import com.test.franchise.service.BranchService;
+import com.test.franchise.service.support.BlockingTransactionExecutor;
+import com.test.franchise.service.support.BranchMetadata;
+import com.test.franchise.service.support.CacheInvalidation;
+import com.test.franchise.service.support.CacheInvalidationBus;
+import com.test.franchise.service.support.CatalogMetadataCache;
+import com.test.franchise.service.support.FranchiseMetadata;
+import com.test.franchise.service.support.SingleFlight;
+import com.test.franchise.service.support.UniqueConstraints;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
-import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "mode", havingValue = "jpa", matchIfMissing = true)
 public class BranchServiceImpl implements BranchService {
 
     private final BranchRepository branchRepository;
+    private final BranchTopStockRepository branchTopStockRepository;
     private final FranchiseRepository franchiseRepository;
     private final BranchMapper branchMapper;
+    private final BlockingTransactionExecutor transactionExecutor;
+    private final CatalogMetadataCache metadataCache;
+    private final CacheInvalidationBus invalidationBus;
+    private final SingleFlight singleFlight;
 
     @Override
     public Mono<BranchResponseDto> createBranch(BranchRequestDto requestDto) {
-        return Mono.fromCallable(() -> {
+        return transactionExecutor.write(() -> {
             log.info("Creating branch with name: {} for franchise ID: {}", requestDto.getName(), requestDto.getFranchiseId());
             
-            Franchise franchise = franchiseRepository.findById(requestDto.getFranchiseId())
-                    .orElseThrow(() -> new EntityNotFoundException("Franchise not found with ID: " + requestDto.getFranchiseId()));
-            
-            if (branchRepository.existsByNameAndFranchiseId(requestDto.getName(), requestDto.getFranchiseId())) {
-                throw new DuplicateEntityException("Branch with name '" + requestDto.getName() + "' already exists for this franchise");
+            FranchiseMetadata franchise = metadataCache.franchise(requestDto.getFranchiseId(), this::loadFranchise);
+            if (franchise == null) {
+                throw new EntityNotFoundException("Franchise not found with ID: " + requestDto.getFranchiseId());
             }
             
             Branch branch = branchMapper.toEntity(requestDto);
-            branch.setFranchise(franchise);
-            Branch savedBranch = branchRepository.save(branch);
-            
-            Branch reloadedBranch = branchRepository.findByIdWithFranchise(savedBranch.getId())
-                    .orElseThrow(() -> new EntityNotFoundException("Branch not found after save"));
+            branch.setFranchise(franchiseRepository.getReferenceById(franchise.id()));
+            Branch savedBranch;
+            try {
+                savedBranch = branchRepository.saveAndFlush(branch);
+            } catch (DataIntegrityViolationException e) {
+                if (UniqueConstraints.isViolated(e, Branch.FRANCHISE_FOREIGN_KEY)) {
+                    // Cached, but deleted since by a delete whose invalidation has not reached this instance yet
+                    metadataCache.evictFranchise(franchise.id());
+                    throw new EntityNotFoundException("Franchise not found with ID: " + franchise.id(), e);
+                }
+                throw duplicateName(requestDto.getName(), e);
+            }
             
-            BranchResponseDto result = branchMapper.toDtoWithoutProducts(reloadedBranch);
+            BranchResponseDto result = branchMapper.toDtoWithoutLazyFields(savedBranch);
+            result.setFranchiseId(franchise.id());
+            result.setFranchiseName(franchise.name());
             log.info("Branch created successfully with ID: {}", savedBranch.getId());
             return result;
-        }).subscribeOn(Schedulers.boundedElastic());
+        }).doOnNext(result -> metadataCache.putBranch(new BranchMetadata(result.getId(), result.getName(), result.getFranchiseId(), result.getFranchiseName())))
+                .flatMap(result -> invalidationBus.publish(CacheInvalidation.branchAdded(result.getId(), result.getFranchiseId())).thenReturn(result));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Mono<BranchResponseDto> getBranchById(Long id) {
-        return Mono.fromCallable(() -> {
+        return transactionExecutor.read(() -> {
             log.info("Fetching branch with ID: {}", id);
             
-            Optional<Branch> branchOpt = branchRepository.findByIdWithFranchiseAndProducts(id);
+            BranchResponseDto result = branchMapper.toDtoWithProducts(branchRepository.findRowsWithProductsById(id));
             
-            if (branchOpt.isEmpty()) {
+            if (result == null) {
                 log.info("Branch not found with ID: {}", id);
                 return null;
             }
             
-            Branch branch = branchOpt.get();
-            BranchResponseDto result = branchMapper.toDto(branch);
             log.info("Branch fetched successfully with ID: {}", id);
             return result;
-        })
-        .subscribeOn(Schedulers.boundedElastic())
-        .filter(result -> result != null);
+        }).as(read -> singleFlight.share("branch", id, read));
+    }
+
+    @Override
+    public Mono<ResourceVersion> getBranchVersion(Long id) {
+        return transactionExecutor.read(() -> branchRepository.findVersionById(id)
+                .map(ResourceVersionView::toVersion)
+                .orElse(null));
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public Mono<List<BranchResponseDto>> getBranchesByFranchiseId(Long franchiseId) {
-        return Mono.fromCallable(() -> {
-            log.info("Fetching branches for franchise ID: {}", franchiseId);
-            List<Branch> branches = branchRepository.findByFranchiseIdWithFranchise(franchiseId);
+    public Mono<KeysetPage<BranchResponseDto>> getBranchesByFranchiseId(Long franchiseId, long after, int limit) {
+        return transactionExecutor.read(() -> {
+            log.info("Fetching branches for franchise ID: {} after ID: {} with limit: {}", franchiseId, after, limit);
+            List<BranchRow> branches = branchRepository.findRowPageByFranchiseId(franchiseId, after, Limit.of(limit + 1));
             
             if (branches.isEmpty()) {
                 log.info("No branches found for franchise ID: {}", franchiseId);
-                return List.<BranchResponseDto>of();
+                return KeysetPage.<BranchResponseDto>of(List.of(), limit, BranchResponseDto::getId);
             }
             
             List<BranchResponseDto> result = branches.stream()
-                    .map(branchMapper::toDtoWithoutProducts)
+                    .map(BranchRow::toDto)
                     .toList();
                     
             log.info("Successfully fetched {} branches for franchise ID: {}", result.size(), franchiseId);
-            return result;
-        }).subscribeOn(Schedulers.boundedElastic());
+            return KeysetPage.of(result, limit, BranchResponseDto::getId);
+        });
+    }
+
+    @Override
+    public Flux<BranchResponseDto> streamBranchesByFranchiseId(Long franchiseId) {
+        log.info("Streaming branches for franchise ID: {}", franchiseId);
+        return Flux.fromStream(() -> branchRepository.streamByFranchiseIdWithFranchise(franchiseId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(branchMapper::toDtoWithoutProducts)
+                .doOnComplete(() -> log.info("Finished streaming branches for franchise ID: {}", franchiseId));
     }
 
     @Override
-    @Transactional
     public Mono<BranchResponseDto> updateBranchName(Long id, UpdateNameRequestDto requestDto) {
-        return Mono.fromCallable(() -> {
+        return transactionExecutor.write(() -> {
             log.info("Updating branch name for ID: {} to: {}", id, requestDto.getName());
             
             Branch branch = branchRepository.findByIdWithFranchise(id)
                     .orElseThrow(() -> new EntityNotFoundException("Branch not found with ID: " + id));
             
-            if (!branch.getName().equals(requestDto.getName()) && 
-                branchRepository.existsByNameAndFranchiseId(requestDto.getName(), branch.getFranchise().getId())) {
-                throw new DuplicateEntityException("Branch with name '" + requestDto.getName() + "' already exists for this franchise");
-            }
-            
             branch.setName(requestDto.getName());
-            Branch savedBranch = branchRepository.save(branch);
-            
-            Branch reloadedBranch = branchRepository.findByIdWithFranchise(savedBranch.getId())
-                    .orElseThrow(() -> new EntityNotFoundException("Branch not found after save"));
+            Branch savedBranch;
+            try {
+                savedBranch = branchRepository.saveAndFlush(branch);
+            } catch (DataIntegrityViolationException e) {
+                throw duplicateName(requestDto.getName(), e);
+            }
             
-            BranchResponseDto result = branchMapper.toDtoWithoutProducts(reloadedBranch);
+            BranchResponseDto result = branchMapper.toDtoWithoutProducts(savedBranch);
             log.info("Branch name updated successfully");
             return result;
-        }).subscribeOn(Schedulers.boundedElastic());
+        }).flatMap(result -> invalidationBus.publish(CacheInvalidation.branchChanged(id)).thenReturn(result));
     }
 
     @Override
-    @Transactional
     public Mono<Void> deleteBranch(Long id) {
-        return Mono.fromRunnable(() -> {
+        return transactionExecutor.write(() -> {
             log.info("Deleting branch with ID: {}", id);
             
-            if (!branchRepository.existsById(id)) {
-                throw new EntityNotFoundException("Branch not found with ID: " + id);
-            }
+            Branch branch = branchRepository.findByIdForUpdate(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Branch not found with ID: " + id));
+            Long franchiseId = branch.getFranchise().getId();
             
-            branchRepository.deleteById(id);
+            branchTopStockRepository.deleteById(id);
+            branchRepository.delete(branch);
             log.info("Branch deleted successfully");
-        }).subscribeOn(Schedulers.boundedElastic()).then();
+            return franchiseId;
+        }).flatMap(franchiseId -> invalidationBus.publish(CacheInvalidation.branchRemoved(id, franchiseId)));
+    }
+
+    private FranchiseMetadata loadFranchise(Long id) {
+        return franchiseRepository.findById(id)
+                .map(franchise -> new FranchiseMetadata(franchise.getId(), franchise.getName()))
+                .orElse(null);
+    }
+
+    private static RuntimeException duplicateName(String name, DataIntegrityViolationException error) {
+        return UniqueConstraints.isViolated(error, Branch.UNIQUE_NAME_PER_FRANCHISE)
+                ? new DuplicateEntityException("Branch with name '" + name + "' already exists for this franchise", error)
+                : error;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,146 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.config.BulkProperties;
+import com.test.franchise.domain.Branch;
+import com.test.franchise.domain.Franchise;
+import com.test.franchise.domain.Product;
+import com.test.franchise.dto.request.CatalogImportLineDto;
+import com.test.franchise.dto.response.ImportProgressDto;
+import com.test.franchise.repository.BranchRepository;
+import com.test.franchise.repository.FranchiseRepository;
+import com.test.franchise.repository.ProductRepository;
+import com.test.franchise.repository.StockUpdate;
+import com.test.franchise.service.CatalogImportService;
+import com.test.franchise.service.support.BlockingTransactionExecutor;
+import com.test.franchise.service.support.BranchTopStockMaintainer;
+import com.test.franchise.service.support.CacheInvalidation;
+import com.test.franchise.service.support.CacheInvalidationBus;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "mode", havingValue = "jpa", matchIfMissing = true)
+public class CatalogImportServiceImpl implements CatalogImportService {
+
+    private final FranchiseRepository franchiseRepository;
+    private final BranchRepository branchRepository;
+    private final ProductRepository productRepository;
+    private final BlockingTransactionExecutor transactionExecutor;
+    private final BulkProperties bulkProperties;
+    private final BranchTopStockMaintainer topStockMaintainer;
+    private final CacheInvalidationBus invalidationBus;
+
+    @Override
+    public Flux<ImportProgressDto> importCatalog(Flux<CatalogImportLineDto> lines) {
+        return Flux.defer(() -> {
+            CatalogImportState state = new CatalogImportState();
+            return lines.buffer(bulkProperties.getChunkSize())
+                    .concatMap(chunk -> transactionExecutor.write(() -> importChunk(chunk, state))
+                            .flatMap(progress -> invalidationBus.publish(state.drainInvalidations()).thenReturn(progress)))
+                    .doOnComplete(() -> log.info("Catalog import completed: {}", state.snapshot()));
+        });
+    }
+
+    private ImportProgressDto importChunk(List<CatalogImportLineDto> chunk, CatalogImportState state) {
+        List<Product> products = new ArrayList<>();
+        
+        for (CatalogImportLineDto line : chunk) {
+            state.processed++;
+            if (!CatalogImportState.isValid(line)) {
+                state.rejected++;
+                continue;
+            }
+            
+            Long franchiseId = resolveFranchise(line.getFranchise(), state);
+            if (line.getBranch() == null) {
+                continue;
+            }
+            
+            Long branchId = resolveBranch(franchiseId, line.getBranch(), state);
+            if (line.getProduct() == null) {
+                continue;
+            }
+            
+            Set<String> names = state.productNames.computeIfAbsent(branchId,
+                    id -> new HashSet<>(productRepository.findNamesByBranchId(id)));
+            if (!names.add(line.getProduct())) {
+                state.duplicatesSkipped++;
+                continue;
+            }
+            products.add(Product.builder()
+                    .name(line.getProduct())
+                    .stock(line.getStock())
+                    .branch(branchRepository.getReferenceById(branchId))
+                    .build());
+        }
+        
+        if (!products.isEmpty()) {
+            Map<Long, List<Product>> productsByBranch = products.stream()
+                    .collect(Collectors.groupingBy(product -> product.getBranch().getId(), TreeMap::new, Collectors.toList()));
+            branchRepository.lockAllById(productsByBranch.keySet());
+            productRepository.saveAll(products);
+            productsByBranch.forEach((branchId, created) -> topStockMaintainer.stocksChanged(branchId, created.stream()
+                    .map(product -> new StockUpdate(product.getId(), product.getStock()))
+                    .toList()));
+            productsByBranch.keySet().forEach(branchId -> state.invalidations.add(CacheInvalidation.productAdded(null, branchId)));
+        }
+        state.productsCreated += products.size();
+        
+        ImportProgressDto progress = state.snapshot();
+        log.debug("Imported chunk of {} lines - Progress: {}", chunk.size(), progress);
+        return progress;
+    }
+
+    private Long resolveFranchise(String name, CatalogImportState state) {
+        Long franchiseId = state.franchiseIds.get(name);
+        if (franchiseId != null) {
+            return franchiseId;
+        }
+        
+        franchiseId = franchiseRepository.findByName(name)
+                .map(Franchise::getId)
+                .orElseGet(() -> {
+                    state.franchisesCreated++;
+                    return franchiseRepository.save(Franchise.builder().name(name).build()).getId();
+                });
+        state.franchiseIds.put(name, franchiseId);
+        return franchiseId;
+    }
+
+    private Long resolveBranch(Long franchiseId, String name, CatalogImportState state) {
+        CatalogImportState.BranchKey key = new CatalogImportState.BranchKey(franchiseId, name);
+        Long branchId = state.branchIds.get(key);
+        if (branchId != null) {
+            return branchId;
+        }
+        
+        branchId = branchRepository.findByNameAndFranchiseId(name, franchiseId)
+                .map(Branch::getId)
+                .orElseGet(() -> {
+                    state.branchesCreated++;
+                    Branch branch = Branch.builder()
+                            .name(name)
+                            .franchise(franchiseRepository.getReferenceById(franchiseId))
+                            .build();
+                    Long createdId = branchRepository.save(branch).getId();
+                    state.productNames.put(createdId, new HashSet<>());
+                    state.invalidations.add(CacheInvalidation.branchAdded(createdId, franchiseId));
+                    return createdId;
+                });
+        state.branchIds.put(key, branchId);
+        return branchId;
+    }
+}
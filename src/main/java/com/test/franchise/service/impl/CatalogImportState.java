@@ -0,0 +1,72 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.dto.request.CatalogImportLineDto;
+import com.test.franchise.dto.response.ImportProgressDto;
+import com.test.franchise.service.support.CacheInvalidation;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-import lookup tables and counters. Franchise and branch ids are resolved once per name and the
+ * product names of each branch are loaded once, so duplicates are detected in memory instead of with
+ * one existence query per row. Only touched by one chunk at a time, so it needs no synchronization.
+ */
+class CatalogImportState {
+
+    final Map<String, Long> franchiseIds = new HashMap<>();
+    final Map<BranchKey, Long> branchIds = new HashMap<>();
+    final Map<Long, Set<String>> productNames = new HashMap<>();
+    final List<CacheInvalidation> invalidations = new ArrayList<>();
+
+    long processed;
+    long franchisesCreated;
+    long branchesCreated;
+    long productsCreated;
+    long duplicatesSkipped;
+    long rejected;
+
+    static boolean isValid(CatalogImportLineDto line) {
+        if (!StringUtils.hasText(line.getFranchise())) {
+            return false;
+        }
+        if (line.getBranch() != null && !StringUtils.hasText(line.getBranch())) {
+            return false;
+        }
+        if (line.getProduct() == null) {
+            return true;
+        }
+        return StringUtils.hasText(line.getProduct())
+                && line.getBranch() != null
+                && line.getStock() != null
+                && line.getStock() >= 0;
+    }
+
+    /**
+     * The invalidations of the chunk that just committed.
+     */
+    List<CacheInvalidation> drainInvalidations() {
+        List<CacheInvalidation> drained = List.copyOf(invalidations);
+        invalidations.clear();
+        return drained;
+    }
+
+    ImportProgressDto snapshot() {
+        return ImportProgressDto.builder()
+                .processed(processed)
+                .franchisesCreated(franchisesCreated)
+                .branchesCreated(branchesCreated)
+                .productsCreated(productsCreated)
+                .duplicatesSkipped(duplicatesSkipped)
+                .rejected(rejected)
+                .build();
+    }
+
+    record BranchKey(Long franchiseId, String name) {
+    }
+}
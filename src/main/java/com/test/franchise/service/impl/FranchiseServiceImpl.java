@@ -1,145 +1,178 @@
 package com.test.franchise.service.impl;
 
 import com.test.franchise.domain.Franchise;
-import com.test.franchise.domain.Product;
 import com.test.franchise.dto.request.FranchiseRequestDto;
 import com.test.franchise.dto.request.UpdateNameRequestDto;
 import com.test.franchise.dto.response.FranchiseResponseDto;
+import com.test.franchise.dto.response.InventorySummaryResponseDto;
+import com.test.franchise.dto.response.KeysetPage;
+import com.test.franchise.dto.response.ResourceVersion;
+import com.test.franchise.dto.response.TopNStockProductResponseDto;
 import com.test.franchise.dto.response.TopStockProductResponseDto;
 import com.test.franchise.exception.DuplicateEntityException;
 import com.test.franchise.exception.EntityNotFoundException;
 import com.test.franchise.mapper.FranchiseMapper;
+import com.test.franchise.repository.BranchInventoryRow;
+import com.test.franchise.repository.BranchRepository;
+import com.test.franchise.repository.BranchTopStockRepository;
 import com.test.franchise.repository.FranchiseRepository;
 import com.test.franchise.repository.ProductRepository;
+import com.test.franchise.repository.ResourceVersionView;
+import com.test.franchise.repository.TopStockProductRow;
+import com.test.franchise.repository.TopStockProductView;
 import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.support.BlockingTransactionExecutor;
+import com.test.franchise.service.support.CacheInvalidation;
+import com.test.franchise.service.support.CacheInvalidationBus;
+import com.test.franchise.service.support.CatalogMetadataCache;
+import com.test.franchise.service.support.FranchiseMetadata;
+import com.test.franchise.service.support.InventorySummaryCache;
+import com.test.franchise.service.support.SingleFlight;
+import com.test.franchise.service.support.UniqueConstraints;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "mode", havingValue = "jpa", matchIfMissing = true)
 public class FranchiseServiceImpl implements FranchiseService {
 
     private final FranchiseRepository franchiseRepository;
+    private final BranchRepository branchRepository;
+    private final BranchTopStockRepository branchTopStockRepository;
     private final ProductRepository productRepository;
     private final FranchiseMapper franchiseMapper;
+    private final BlockingTransactionExecutor transactionExecutor;
+    private final CatalogMetadataCache metadataCache;
+    private final CacheInvalidationBus invalidationBus;
+    private final SingleFlight singleFlight;
+    private final InventorySummaryCache inventorySummaryCache;
 
     @Override
     public Mono<FranchiseResponseDto> createFranchise(FranchiseRequestDto requestDto) {
-        return Mono.fromCallable(() -> {
+        return transactionExecutor.write(() -> {
             log.info("Creating franchise with name: {}", requestDto.getName());
             
-            if (franchiseRepository.existsByName(requestDto.getName())) {
-                throw new DuplicateEntityException("Franchise with name '" + requestDto.getName() + "' already exists");
-            }
-            
             Franchise franchise = franchiseMapper.toEntity(requestDto);
-            Franchise savedFranchise = franchiseRepository.save(franchise);
+            Franchise savedFranchise;
+            try {
+                savedFranchise = franchiseRepository.saveAndFlush(franchise);
+            } catch (DataIntegrityViolationException e) {
+                throw duplicateName(requestDto.getName(), e);
+            }
             
             log.info("Franchise created successfully with ID: {}", savedFranchise.getId());
             return franchiseMapper.toDtoWithoutBranches(savedFranchise);
-        }).subscribeOn(Schedulers.boundedElastic());
+        }).doOnNext(result -> metadataCache.putFranchise(new FranchiseMetadata(result.getId(), result.getName())));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Mono<FranchiseResponseDto> getFranchiseById(Long id) {
-        return Mono.fromCallable(() -> {
+        return transactionExecutor.read(() -> {
             log.info("Fetching franchise with ID: {}", id);
             
-            Optional<Franchise> franchiseOpt = franchiseRepository.findByIdWithBranches(id);
+            List<FranchiseResponseDto> franchises = franchiseMapper.toDtosWithBranches(
+                    franchiseRepository.findRowsWithBranchesByIdIn(List.of(id)));
             
-            if (franchiseOpt.isEmpty()) {
+            if (franchises.isEmpty()) {
                 log.info("Franchise not found with ID: {}", id);
                 return null;
             }
             
-            Franchise franchise = franchiseOpt.get();
-            FranchiseResponseDto result = franchiseMapper.toDtoWithBranchesButWithoutProducts(franchise);
+            FranchiseResponseDto result = franchises.get(0);
             log.info("Franchise fetched successfully with ID: {}", id);
             return result;
-        })
-        .subscribeOn(Schedulers.boundedElastic())
-        .filter(result -> result != null);
+        }).as(read -> singleFlight.share("franchise", id, read));
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public Mono<List<FranchiseResponseDto>> getAllFranchises() {
-        return Mono.fromCallable(() -> {
-            log.info("Fetching all franchises");
+    public Mono<ResourceVersion> getFranchiseVersion(Long id) {
+        return transactionExecutor.read(() -> franchiseRepository.findVersionById(id)
+                .map(ResourceVersionView::toVersion)
+                .orElse(null));
+    }
+
+    @Override
+    public Mono<KeysetPage<FranchiseResponseDto>> getAllFranchises(long after, int limit) {
+        return transactionExecutor.read(() -> {
+            log.info("Fetching franchises after ID: {} with limit: {}", after, limit);
+            List<Long> ids = franchiseRepository.findIdsAfter(after, Limit.of(limit + 1));
+            if (ids.isEmpty()) {
+                return KeysetPage.<FranchiseResponseDto>of(List.of(), limit, FranchiseResponseDto::getId);
+            }
             try {
-                List<Franchise> franchises = franchiseRepository.findAllWithBranches();
-                List<FranchiseResponseDto> result = franchises.stream()
-                        .map(franchiseMapper::toDtoWithBranchesButWithoutProducts)
-                        .toList();
+                List<FranchiseResponseDto> result = franchiseMapper.toDtosWithBranches(
+                        franchiseRepository.findRowsWithBranchesByIdIn(ids));
                 log.info("Successfully fetched {} franchises with branches", result.size());
-                return result;
+                return KeysetPage.of(result, limit, FranchiseResponseDto::getId);
             } catch (Exception e) {
                 log.error("Error fetching franchises with branches, falling back to basic fetch", e);
-                List<Franchise> franchises = franchiseRepository.findAll();
-                List<FranchiseResponseDto> result = franchises.stream()
+                List<FranchiseResponseDto> result = franchiseRepository.findAllById(ids).stream()
+                        .sorted(Comparator.comparing(Franchise::getId))
                         .map(franchiseMapper::toDtoWithoutBranches)
                         .toList();
                 log.info("Successfully fetched {} franchises without branches", result.size());
-                return result;
+                return KeysetPage.of(result, limit, FranchiseResponseDto::getId);
             }
-        }).subscribeOn(Schedulers.boundedElastic());
+        });
     }
 
     @Override
     public Mono<FranchiseResponseDto> updateFranchiseName(Long id, UpdateNameRequestDto requestDto) {
-        return Mono.fromCallable(() -> {
+        return transactionExecutor.write(() -> {
             log.info("Updating franchise name for ID: {} to: {}", id, requestDto.getName());
             
             Franchise franchise = franchiseRepository.findById(id)
                     .orElseThrow(() -> new EntityNotFoundException("Franchise not found with ID: " + id));
             
-            if (!franchise.getName().equals(requestDto.getName()) && 
-                franchiseRepository.existsByName(requestDto.getName())) {
-                throw new DuplicateEntityException("Franchise with name '" + requestDto.getName() + "' already exists");
-            }
-            
             franchise.setName(requestDto.getName());
-            Franchise savedFranchise = franchiseRepository.save(franchise);
+            Franchise savedFranchise;
+            try {
+                savedFranchise = franchiseRepository.saveAndFlush(franchise);
+            } catch (DataIntegrityViolationException e) {
+                throw duplicateName(requestDto.getName(), e);
+            }
             
             log.info("Franchise name updated successfully");
             return franchiseMapper.toDtoWithoutBranches(savedFranchise);
-        }).subscribeOn(Schedulers.boundedElastic());
+        }).flatMap(result -> invalidationBus.publish(CacheInvalidation.franchiseChanged(id)).thenReturn(result));
     }
 
     @Override
     public Mono<Void> deleteFranchise(Long id) {
-        return Mono.fromRunnable(() -> {
+        return transactionExecutor.run(() -> {
             log.info("Deleting franchise with ID: {}", id);
             
             if (!franchiseRepository.existsById(id)) {
                 throw new EntityNotFoundException("Franchise not found with ID: " + id);
             }
             
+            branchRepository.lockIdsByFranchiseId(id);
+            branchTopStockRepository.deleteByFranchiseId(id);
             franchiseRepository.deleteById(id);
             log.info("Franchise deleted successfully");
-        }).subscribeOn(Schedulers.boundedElastic()).then();
+        }).then(invalidationBus.publish(CacheInvalidation.franchiseRemoved(id)));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Mono<TopStockProductResponseDto> getTopStockProductsByFranchise(Long franchiseId) {
-        return Mono.fromCallable(() -> {
+        return transactionExecutor.read(() -> {
             log.info("Fetching top stock products for franchise ID: {}", franchiseId);
             
-            Optional<Franchise> franchiseOpt = franchiseRepository.findById(franchiseId);
+            Optional<String> franchiseName = franchiseRepository.findNameById(franchiseId);
             
-            if (franchiseOpt.isEmpty()) {
+            if (franchiseName.isEmpty()) {
                 log.info("Franchise not found with ID: {}, returning empty result", franchiseId);
                 return TopStockProductResponseDto.builder()
                         .franchiseId(franchiseId)
@@ -148,34 +181,105 @@ public class FranchiseServiceImpl implements FranchiseService {
                         .build();
             }
             
-            Franchise franchise = franchiseOpt.get();
-            List<Product> topProducts = productRepository.findTopStockProductsByFranchiseId(franchiseId);
+            List<TopStockProductRow> topProducts = branchTopStockRepository.findTopStockProductsByFranchiseId(franchiseId);
             
             if (topProducts.isEmpty()) {
                 log.info("No products found for franchise ID: {}", franchiseId);
                 return TopStockProductResponseDto.builder()
-                        .franchiseId(franchise.getId())
-                        .franchiseName(franchise.getName())
+                        .franchiseId(franchiseId)
+                        .franchiseName(franchiseName.get())
                         .branchTopProducts(List.of())
                         .build();
             }
             
             List<TopStockProductResponseDto.BranchTopProduct> branchTopProducts = topProducts.stream()
-                    .map(product -> TopStockProductResponseDto.BranchTopProduct.builder()
-                            .branchId(product.getBranch().getId())
-                            .branchName(product.getBranch().getName())
-                            .productId(product.getId())
-                            .productName(product.getName())
-                            .stock(product.getStock())
-                            .build())
+                    .map(TopStockProductRow::toDto)
                     .toList();
             
-            log.info("Found {} top stock products for franchise: {}", branchTopProducts.size(), franchise.getName());
+            log.info("Found {} top stock products for franchise: {}", branchTopProducts.size(), franchiseName.get());
             return TopStockProductResponseDto.builder()
-                    .franchiseId(franchise.getId())
-                    .franchiseName(franchise.getName())
+                    .franchiseId(franchiseId)
+                    .franchiseName(franchiseName.get())
+                    .branchTopProducts(branchTopProducts)
+                    .build();
+        }).as(read -> singleFlight.share("franchise.top-stock", franchiseId, read));
+    }
+
+    @Override
+    public Mono<TopNStockProductResponseDto> getTopNStockProductsByFranchise(Long franchiseId, int limit) {
+        return transactionExecutor.read(() -> {
+            log.info("Fetching top {} stock products for franchise ID: {}", limit, franchiseId);
+            
+            Optional<String> franchiseName = franchiseRepository.findNameById(franchiseId);
+            
+            if (franchiseName.isEmpty()) {
+                log.info("Franchise not found with ID: {}, returning empty result", franchiseId);
+                return TopNStockProductResponseDto.builder()
+                        .franchiseId(franchiseId)
+                        .franchiseName("Unknown")
+                        .limit(limit)
+                        .branchTopProducts(List.of())
+                        .franchiseTopProducts(List.of())
+                        .build();
+            }
+            
+            List<TopStockProductResponseDto.BranchTopProduct> branchTopProducts = productRepository.findTopNStockProductsPerBranch(franchiseId, limit).stream()
+                    .map(FranchiseServiceImpl::toBranchTopProduct)
+                    .toList();
+            List<TopStockProductResponseDto.BranchTopProduct> franchiseTopProducts = productRepository.findTopNStockProductsByFranchiseId(franchiseId, limit).stream()
+                    .map(FranchiseServiceImpl::toBranchTopProduct)
+                    .toList();
+            
+            log.info("Found {} branch and {} franchise top stock products for franchise: {}",
+                    branchTopProducts.size(), franchiseTopProducts.size(), franchiseName.get());
+            return TopNStockProductResponseDto.builder()
+                    .franchiseId(franchiseId)
+                    .franchiseName(franchiseName.get())
+                    .limit(limit)
                     .branchTopProducts(branchTopProducts)
+                    .franchiseTopProducts(franchiseTopProducts)
+                    .build();
+        }).as(read -> singleFlight.share("franchise.top-n-stock", List.of(franchiseId, limit), read));
+    }
+
+    @Override
+    public Mono<InventorySummaryResponseDto> getInventorySummary(Long franchiseId, boolean cached) {
+        Mono<InventorySummaryResponseDto> summary = transactionExecutor.read(() -> {
+            log.info("Computing inventory summary for franchise ID: {}", franchiseId);
+            
+            Optional<String> franchiseName = franchiseRepository.findNameById(franchiseId);
+            
+            if (franchiseName.isEmpty()) {
+                log.info("Franchise not found with ID: {}", franchiseId);
+                return null;
+            }
+            
+            List<InventorySummaryResponseDto.BranchInventory> branches = branchRepository.findInventoryByFranchiseId(franchiseId).stream()
+                    .map(BranchInventoryRow::toDto)
+                    .toList();
+            return InventorySummaryResponseDto.builder()
+                    .franchiseId(franchiseId)
+                    .franchiseName(franchiseName.get())
+                    .branches(branches)
+                    .generatedAt(LocalDateTime.now())
                     .build();
-        }).subscribeOn(Schedulers.boundedElastic());
+        }).as(read -> singleFlight.share("franchise.inventory-summary", franchiseId, read));
+        return cached ? inventorySummaryCache.get(franchiseId, summary) : summary;
+    }
+    
+    private static TopStockProductResponseDto.BranchTopProduct toBranchTopProduct(TopStockProductView product) {
+        return TopStockProductResponseDto.BranchTopProduct.builder()
+                .branchId(product.getBranchId())
+                .branchName(product.getBranchName())
+                .productId(product.getProductId())
+                .productName(product.getProductName())
+                .stock(product.getStock())
+                .build();
+    }
+
+    private static RuntimeException duplicateName(String name, DataIntegrityViolationException error) {
+        return UniqueConstraints.isViolated(error, Franchise.UNIQUE_NAME)
+                ? new DuplicateEntityException("Franchise with name '" + name + "' already exists", error)
+                : error;
     }
-} 
\ No newline at end of file
+}
@@ -1,66 +1,98 @@
 package com.test.franchise.service.impl;
 
+import com.test.franchise.config.BulkProperties;
 import com.test.franchise.domain.Branch;
 import com.test.franchise.domain.Product;
+import com.test.franchise.dto.request.AdjustStockRequestDto;
 import com.test.franchise.dto.request.ProductRequestDto;
+import com.test.franchise.dto.request.StockUpdateItemDto;
 import com.test.franchise.dto.request.UpdateNameRequestDto;
 import com.test.franchise.dto.request.UpdateStockRequestDto;
+import com.test.franchise.dto.response.KeysetPage;
 import com.test.franchise.dto.response.ProductResponseDto;
+import com.test.franchise.dto.response.ResourceVersion;
+import com.test.franchise.dto.response.StockUpdateResultDto;
 import com.test.franchise.exception.DuplicateEntityException;
 import com.test.franchise.exception.EntityNotFoundException;
+import com.test.franchise.exception.InsufficientStockException;
 import com.test.franchise.mapper.ProductMapper;
 import com.test.franchise.repository.BranchRepository;
 import com.test.franchise.repository.ProductRepository;
+import com.test.franchise.repository.ProductRow;
+import com.test.franchise.repository.ResourceVersionView;
+import com.test.franchise.repository.StockUpdate;
 import com.test.franchise.service.ProductService;
+import com.test.franchise.service.support.BlockingTransactionExecutor;
+import com.test.franchise.service.support.BranchMetadata;
+import com.test.franchise.service.support.BranchTopStockMaintainer;
+import com.test.franchise.service.support.CacheInvalidation;
+import com.test.franchise.service.support.CacheInvalidationBus;
+import com.test.franchise.service.support.CatalogMetadataCache;
+import com.test.franchise.service.support.UniqueConstraints;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "mode", havingValue = "jpa", matchIfMissing = true)
 public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
     private final BranchRepository branchRepository;
     private final ProductMapper productMapper;
+    private final BlockingTransactionExecutor transactionExecutor;
+    private final BulkProperties bulkProperties;
+    private final BranchTopStockMaintainer topStockMaintainer;
+    private final CatalogMetadataCache metadataCache;
+    private final CacheInvalidationBus invalidationBus;
 
     @Override
     public Mono<ProductResponseDto> createProduct(ProductRequestDto requestDto) {
-        return Mono.fromCallable(() -> {
+        return transactionExecutor.write(() -> {
             log.info("Creating product with name: {} for branch ID: {}", requestDto.getName(), requestDto.getBranchId());
             
-            Branch branch = branchRepository.findById(requestDto.getBranchId())
-                    .orElseThrow(() -> new EntityNotFoundException("Branch not found with ID: " + requestDto.getBranchId()));
-            
-            if (productRepository.existsByNameAndBranchId(requestDto.getName(), requestDto.getBranchId())) {
-                throw new DuplicateEntityException("Product with name '" + requestDto.getName() + "' already exists for this branch");
+            if (branchRepository.lockAllById(List.of(requestDto.getBranchId())).isEmpty()) {
+                throw new EntityNotFoundException("Branch not found with ID: " + requestDto.getBranchId());
             }
+            BranchMetadata branch = metadataCache.branch(requestDto.getBranchId(), this::loadBranch);
             
             Product product = productMapper.toEntity(requestDto);
-            product.setBranch(branch);
-            Product savedProduct = productRepository.save(product);
-            
-            Product reloadedProduct = productRepository.findByIdWithBranch(savedProduct.getId())
-                    .orElseThrow(() -> new EntityNotFoundException("Product not found after save"));
+            product.setBranch(branchRepository.getReferenceById(branch.id()));
+            Product savedProduct;
+            try {
+                savedProduct = productRepository.saveAndFlush(product);
+            } catch (DataIntegrityViolationException e) {
+                throw duplicateName(requestDto.getName(), e);
+            }
+            topStockMaintainer.stockChanged(branch.id(), savedProduct.getId(), savedProduct.getStock());
             
-            ProductResponseDto result = productMapper.toDto(reloadedProduct);
+            ProductResponseDto result = productMapper.toDtoWithoutBranch(savedProduct);
+            result.setBranchId(branch.id());
+            result.setBranchName(branch.name());
             log.info("Product created successfully with ID: {} - Result: {}", savedProduct.getId(), result);
             return result;
-        }).subscribeOn(Schedulers.boundedElastic());
+        }).flatMap(result -> invalidationBus.publish(CacheInvalidation.productAdded(result.getId(), result.getBranchId())).thenReturn(result));
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Mono<ProductResponseDto> getProductById(Long id) {
-        return Mono.fromCallable(() -> {
+        return transactionExecutor.read(() -> {
             log.info("Fetching product with ID: {}", id);
             
             Optional<Product> productOpt = productRepository.findByIdWithBranch(id);
@@ -74,93 +106,183 @@ public class ProductServiceImpl implements ProductService {
             ProductResponseDto result = productMapper.toDto(product);
             log.info("Product fetched successfully with ID: {} - Result: {}", id, result);
             return result;
-        })
-        .subscribeOn(Schedulers.boundedElastic())
-        .filter(result -> result != null);
+        });
+    }
+
+    @Override
+    public Mono<ResourceVersion> getProductVersion(Long id) {
+        return transactionExecutor.read(() -> productRepository.findVersionById(id)
+                .map(ResourceVersionView::toVersion)
+                .orElse(null));
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public Mono<List<ProductResponseDto>> getProductsByBranchId(Long branchId) {
-        return Mono.fromCallable(() -> {
-            log.info("Fetching products for branch ID: {}", branchId);
+    public Mono<KeysetPage<ProductResponseDto>> getProductsByBranchId(Long branchId, long after, int limit) {
+        return transactionExecutor.read(() -> {
+            log.info("Fetching products for branch ID: {} after ID: {} with limit: {}", branchId, after, limit);
             
-            List<Product> products = productRepository.findByBranchIdWithBranch(branchId);
+            List<ProductRow> products = productRepository.findRowPageByBranchId(branchId, after, Limit.of(limit + 1));
             
             if (products.isEmpty()) {
                 log.info("No products found for branch ID: {}", branchId);
-                return List.<ProductResponseDto>of();
+                return KeysetPage.<ProductResponseDto>of(List.of(), limit, ProductResponseDto::getId);
             }
             
             List<ProductResponseDto> result = products.stream()
-                    .map(product -> {
-                        ProductResponseDto dto = productMapper.toDto(product);
-                        log.debug("Mapped product: {} -> {}", product.getName(), dto);
-                        return dto;
-                    })
+                    .map(ProductRow::toDto)
                     .toList();
                     
             log.info("Successfully fetched {} products for branch ID: {}", result.size(), branchId);
-            return result;
-        }).subscribeOn(Schedulers.boundedElastic());
+            return KeysetPage.of(result, limit, ProductResponseDto::getId);
+        });
+    }
+
+    @Override
+    public Flux<ProductResponseDto> streamProductsByBranchId(Long branchId) {
+        log.info("Streaming products for branch ID: {}", branchId);
+        return Flux.fromStream(() -> productRepository.streamByBranchIdWithBranch(branchId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(productMapper::toDto)
+                .doOnComplete(() -> log.info("Finished streaming products for branch ID: {}", branchId));
     }
 
     @Override
     public Mono<ProductResponseDto> updateProductName(Long id, UpdateNameRequestDto requestDto) {
-        return Mono.fromCallable(() -> {
+        return transactionExecutor.write(() -> {
             log.info("Updating product name for ID: {} to: {}", id, requestDto.getName());
             
             Product product = productRepository.findByIdWithBranch(id)
                     .orElseThrow(() -> new EntityNotFoundException("Product not found with ID: " + id));
             
-            if (!product.getName().equals(requestDto.getName()) && 
-                productRepository.existsByNameAndBranchId(requestDto.getName(), product.getBranch().getId())) {
-                throw new DuplicateEntityException("Product with name '" + requestDto.getName() + "' already exists for this branch");
-            }
-            
             product.setName(requestDto.getName());
-            Product savedProduct = productRepository.save(product);
-            
-            Product reloadedProduct = productRepository.findByIdWithBranch(savedProduct.getId())
-                    .orElseThrow(() -> new EntityNotFoundException("Product not found after save"));
+            Product savedProduct;
+            try {
+                savedProduct = productRepository.saveAndFlush(product);
+            } catch (DataIntegrityViolationException e) {
+                throw duplicateName(requestDto.getName(), e);
+            }
             
-            ProductResponseDto result = productMapper.toDto(reloadedProduct);
+            ProductResponseDto result = productMapper.toDto(savedProduct);
             log.info("Product name updated successfully - Result: {}", result);
             return result;
-        }).subscribeOn(Schedulers.boundedElastic());
+        }).flatMap(result -> invalidationBus.publish(CacheInvalidation.productChanged(id)).thenReturn(result));
     }
 
     @Override
     public Mono<ProductResponseDto> updateProductStock(Long id, UpdateStockRequestDto requestDto) {
-        return Mono.fromCallable(() -> {
+        return transactionExecutor.write(() -> {
             log.info("Updating product stock for ID: {} to: {}", id, requestDto.getStock());
             
-            Product product = productRepository.findByIdWithBranch(id)
+            ProductRow product = topStockMaintainer.readAndLockBranchOf(id)
                     .orElseThrow(() -> new EntityNotFoundException("Product not found with ID: " + id));
+            LocalDateTime updatedAt = LocalDateTime.now();
+            if (productRepository.updateStock(id, requestDto.getStock(), updatedAt) == 0) {
+                throw new EntityNotFoundException("Product not found with ID: " + id);
+            }
+            topStockMaintainer.stockChanged(product.branchId(), id, requestDto.getStock());
+            
+            ProductResponseDto result = stockUpdated(product, requestDto.getStock(), updatedAt);
+            log.info("Product stock updated successfully - Result: {}", result);
+            return result;
+        }).flatMap(result -> invalidationBus.publish(CacheInvalidation.productChanged(id)).thenReturn(result));
+    }
+
+    @Override
+    public Mono<ProductResponseDto> adjustProductStock(Long id, AdjustStockRequestDto requestDto) {
+        return transactionExecutor.write(() -> {
+            log.info("Adjusting product stock for ID: {} by: {}", id, requestDto.getDelta());
             
-            product.setStock(requestDto.getStock());
-            Product savedProduct = productRepository.save(product);
+            ProductRow product = topStockMaintainer.readAndLockBranchOf(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Product not found with ID: " + id));
+            LocalDateTime updatedAt = LocalDateTime.now();
+            if (productRepository.adjustStock(id, requestDto.getDelta(), updatedAt) == 0) {
+                if (!productRepository.existsById(id)) {
+                    throw new EntityNotFoundException("Product not found with ID: " + id);
+                }
+                throw new InsufficientStockException("Insufficient stock to apply " + requestDto.getDelta() + " to product with ID: " + id);
+            }
             
-            Product reloadedProduct = productRepository.findByIdWithBranch(savedProduct.getId())
-                    .orElseThrow(() -> new EntityNotFoundException("Product not found after save"));
+            // The row stays locked until commit, so this read returns exactly the value we produced
+            int stock = productRepository.findStockById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Product not found with ID: " + id));
+            topStockMaintainer.stockChanged(product.branchId(), id, stock);
             
-            ProductResponseDto result = productMapper.toDto(reloadedProduct);
-            log.info("Product stock updated successfully - Result: {}", result);
+            ProductResponseDto result = stockUpdated(product, stock, updatedAt);
+            log.info("Product stock adjusted successfully - Result: {}", result);
             return result;
-        }).subscribeOn(Schedulers.boundedElastic());
+        }).flatMap(result -> invalidationBus.publish(CacheInvalidation.productChanged(id)).thenReturn(result));
+    }
+
+    @Override
+    public Flux<StockUpdateResultDto> updateProductStocks(Flux<StockUpdateItemDto> items) {
+        return items.buffer(bulkProperties.getChunkSize())
+                .concatMap(chunk -> transactionExecutor.write(() -> applyStockChunk(chunk)))
+                .concatMap(results -> invalidationBus.publish(CacheInvalidation.productsChanged(results.stream()
+                        .filter(StockUpdateResultDto::isUpdated)
+                        .map(StockUpdateResultDto::getProductId)
+                        .toList())).thenReturn(results))
+                .flatMapIterable(results -> results);
+    }
+
+    private List<StockUpdateResultDto> applyStockChunk(List<StockUpdateItemDto> chunk) {
+        Map<Long, Long> branchIds = topStockMaintainer.lockBranchesOf(
+                chunk.stream().map(StockUpdateItemDto::getProductId).toList());
+        Set<Long> existingIds = branchIds.keySet();
+        
+        List<StockUpdate> updates = chunk.stream()
+                .filter(item -> existingIds.contains(item.getProductId()))
+                .map(item -> new StockUpdate(item.getProductId(), item.getStock()))
+                .toList();
+        productRepository.batchUpdateStock(updates);
+        updates.stream()
+                .collect(Collectors.groupingBy(update -> branchIds.get(update.productId()), TreeMap::new, Collectors.toList()))
+                .forEach(topStockMaintainer::stocksChanged);
+        
+        log.info("Applied stock chunk of {} items: {} updated, {} not found", chunk.size(), updates.size(), chunk.size() - updates.size());
+        return chunk.stream()
+                .map(item -> existingIds.contains(item.getProductId())
+                        ? StockUpdateResultDto.updated(item.getProductId(), item.getStock())
+                        : StockUpdateResultDto.notFound(item.getProductId(), item.getStock()))
+                .toList();
     }
 
     @Override
     public Mono<Void> deleteProduct(Long id) {
-        return Mono.fromRunnable(() -> {
+        return transactionExecutor.write(() -> {
             log.info("Deleting product with ID: {}", id);
             
-            if (!productRepository.existsById(id)) {
-                throw new EntityNotFoundException("Product not found with ID: " + id);
-            }
+            Long branchId = topStockMaintainer.lockBranchOf(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Product not found with ID: " + id));
+            Product product = productRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Product not found with ID: " + id));
             
-            productRepository.deleteById(id);
+            productRepository.delete(product);
+            topStockMaintainer.productRemoved(branchId, id);
             log.info("Product deleted successfully");
-        }).subscribeOn(Schedulers.boundedElastic()).then();
+            return branchId;
+        }).flatMap(branchId -> invalidationBus.publish(CacheInvalidation.productRemoved(id, branchId)));
+    }
+
+    /**
+     * The product as read before the update, with the stock and timestamp the update wrote. A stock write
+     * changes nothing else, so the row is not read again.
+     */
+    private static ProductResponseDto stockUpdated(ProductRow product, int stock, LocalDateTime updatedAt) {
+        ProductResponseDto result = product.toDto();
+        result.setStock(stock);
+        result.setUpdatedAt(updatedAt);
+        return result;
+    }
+
+    private BranchMetadata loadBranch(Long id) {
+        return branchRepository.findByIdWithFranchise(id)
+                .map(branch -> new BranchMetadata(branch.getId(), branch.getName(), branch.getFranchise().getId(), branch.getFranchise().getName()))
+                .orElse(null);
+    }
+
+    private static RuntimeException duplicateName(String name, DataIntegrityViolationException error) {
+        return UniqueConstraints.isViolated(error, Product.UNIQUE_NAME_PER_BRANCH)
+                ? new DuplicateEntityException("Product with name '" + name + "' already exists for this branch", error)
+                : error;
     }
-} 
\ No newline at end of file
+}
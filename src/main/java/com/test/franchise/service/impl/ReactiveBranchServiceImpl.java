@@ -0,0 +1,147 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.domain.Branch;
+import com.test.franchise.domain.Franchise;
+import com.test.franchise.dto.request.BranchRequestDto;
+import com.test.franchise.dto.request.UpdateNameRequestDto;
+import com.test.franchise.dto.response.BranchResponseDto;
+import com.test.franchise.dto.response.KeysetPage;
+import com.test.franchise.dto.response.ResourceVersion;
+import com.test.franchise.exception.DuplicateEntityException;
+import com.test.franchise.exception.EntityNotFoundException;
+import com.test.franchise.mapper.BranchMapper;
+import com.test.franchise.repository.reactive.ReactiveBranchRepository;
+import com.test.franchise.repository.reactive.ReactiveFranchiseRepository;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.support.BranchMetadata;
+import com.test.franchise.service.support.CacheInvalidation;
+import com.test.franchise.service.support.CacheInvalidationBus;
+import com.test.franchise.service.support.CatalogMetadataCache;
+import com.test.franchise.service.support.FranchiseMetadata;
+import com.test.franchise.service.support.SingleFlight;
+import com.test.franchise.service.support.UniqueConstraints;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "mode", havingValue = "r2dbc")
+public class ReactiveBranchServiceImpl implements BranchService {
+
+    private final ReactiveBranchRepository branchRepository;
+    private final ReactiveFranchiseRepository franchiseRepository;
+    private final BranchMapper branchMapper;
+    private final TransactionalOperator transactionalOperator;
+    private final CatalogMetadataCache metadataCache;
+    private final CacheInvalidationBus invalidationBus;
+    private final SingleFlight singleFlight;
+
+    @Override
+    public Mono<BranchResponseDto> createBranch(BranchRequestDto requestDto) {
+        log.info("Creating branch with name: {} for franchise ID: {}", requestDto.getName(), requestDto.getFranchiseId());
+        Long franchiseId = requestDto.getFranchiseId();
+        return metadataCache.franchise(franchiseId, franchiseRepository.findById(franchiseId)
+                        .map(franchise -> new FranchiseMetadata(franchise.getId(), franchise.getName())))
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Franchise not found with ID: " + franchiseId)))
+                .flatMap(franchise -> {
+                    Branch branch = branchMapper.toEntity(requestDto);
+                    branch.setFranchise(Franchise.builder().id(franchise.id()).name(franchise.name()).build());
+                    return branchRepository.insert(branch)
+                            .onErrorMap(error -> UniqueConstraints.isViolated(error, Branch.FRANCHISE_FOREIGN_KEY)
+                                    ? franchiseGone(franchise.id(), error)
+                                    : duplicateName(requestDto.getName(), error));
+                })
+                .map(branchMapper::toDtoWithoutProducts)
+                .as(transactionalOperator::transactional)
+                .doOnNext(result -> metadataCache.putBranch(new BranchMetadata(result.getId(), result.getName(), result.getFranchiseId(), result.getFranchiseName())))
+                .flatMap(result -> invalidationBus.publish(CacheInvalidation.branchAdded(result.getId(), result.getFranchiseId())).thenReturn(result))
+                .doOnNext(result -> log.info("Branch created successfully with ID: {}", result.getId()));
+    }
+
+    @Override
+    public Mono<BranchResponseDto> getBranchById(Long id) {
+        log.info("Fetching branch with ID: {}", id);
+        return branchRepository.findByIdWithFranchiseAndProducts(id)
+                .map(branchMapper::toDto)
+                .doOnNext(result -> log.info("Branch fetched successfully with ID: {}", id))
+                .switchIfEmpty(Mono.fromRunnable(() -> log.info("Branch not found with ID: {}", id)))
+                .as(read -> singleFlight.share("branch", id, read));
+    }
+
+    @Override
+    public Mono<ResourceVersion> getBranchVersion(Long id) {
+        return branchRepository.findVersionById(id);
+    }
+
+    @Override
+    public Mono<KeysetPage<BranchResponseDto>> getBranchesByFranchiseId(Long franchiseId, long after, int limit) {
+        log.info("Fetching branches for franchise ID: {} after ID: {} with limit: {}", franchiseId, after, limit);
+        return branchRepository.findPageByFranchiseIdWithFranchise(franchiseId, after, limit + 1)
+                .map(branchMapper::toDtoWithoutProducts)
+                .collectList()
+                .doOnNext(result -> log.info("Successfully fetched {} branches for franchise ID: {}", result.size(), franchiseId))
+                .map(result -> KeysetPage.of(result, limit, BranchResponseDto::getId));
+    }
+
+    @Override
+    public Flux<BranchResponseDto> streamBranchesByFranchiseId(Long franchiseId) {
+        log.info("Streaming branches for franchise ID: {}", franchiseId);
+        return branchRepository.findByFranchiseIdWithFranchise(franchiseId)
+                .map(branchMapper::toDtoWithoutProducts)
+                .doOnComplete(() -> log.info("Finished streaming branches for franchise ID: {}", franchiseId));
+    }
+
+    @Override
+    public Mono<BranchResponseDto> updateBranchName(Long id, UpdateNameRequestDto requestDto) {
+        log.info("Updating branch name for ID: {} to: {}", id, requestDto.getName());
+        return branchRepository.findByIdWithFranchise(id)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Branch not found with ID: " + id)))
+                .flatMap(branch -> {
+                    branch.setName(requestDto.getName());
+                    branch.setUpdatedAt(LocalDateTime.now());
+                    return branchRepository.updateName(id, branch.getName(), branch.getUpdatedAt())
+                            .onErrorMap(error -> duplicateName(requestDto.getName(), error))
+                            .thenReturn(branch);
+                })
+                .map(branchMapper::toDtoWithoutProducts)
+                .as(transactionalOperator::transactional)
+                .flatMap(result -> invalidationBus.publish(CacheInvalidation.branchChanged(id)).thenReturn(result))
+                .doOnNext(result -> log.info("Branch name updated successfully"));
+    }
+
+    @Override
+    public Mono<Void> deleteBranch(Long id) {
+        log.info("Deleting branch with ID: {}", id);
+        return branchRepository.existsById(id)
+                .flatMap(exists -> exists
+                        ? branchRepository.deleteById(id).then()
+                        : Mono.<Void>error(new EntityNotFoundException("Branch not found with ID: " + id)))
+                .as(transactionalOperator::transactional)
+                .then(invalidationBus.publish(CacheInvalidation.branchRemoved(id, null)))
+                .doOnSuccess(result -> log.info("Branch deleted successfully"));
+    }
+
+    /**
+     * The franchise came from the metadata cache but was deleted since, by a delete whose invalidation has not
+     * reached this instance yet; its entry is dropped so the next create reads the row again.
+     */
+    private Throwable franchiseGone(Long franchiseId, Throwable error) {
+        metadataCache.evictFranchise(franchiseId);
+        return new EntityNotFoundException("Franchise not found with ID: " + franchiseId, error);
+    }
+
+    private static Throwable duplicateName(String name, Throwable error) {
+        return UniqueConstraints.isViolated(error, Branch.UNIQUE_NAME_PER_FRANCHISE)
+                ? new DuplicateEntityException("Branch with name '" + name + "' already exists for this franchise", error)
+                : error;
+    }
+}
@@ -0,0 +1,157 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.config.BulkProperties;
+import com.test.franchise.domain.Branch;
+import com.test.franchise.domain.Franchise;
+import com.test.franchise.domain.Product;
+import com.test.franchise.dto.request.CatalogImportLineDto;
+import com.test.franchise.dto.response.ImportProgressDto;
+import com.test.franchise.repository.StockUpdate;
+import com.test.franchise.repository.reactive.ReactiveBranchRepository;
+import com.test.franchise.repository.reactive.ReactiveFranchiseRepository;
+import com.test.franchise.repository.reactive.ReactiveProductRepository;
+import com.test.franchise.service.CatalogImportService;
+import com.test.franchise.service.support.CacheInvalidation;
+import com.test.franchise.service.support.CacheInvalidationBus;
+import com.test.franchise.service.support.ReactiveBranchTopStockMaintainer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * R2DBC flavour of the catalog import. Rows of a chunk are inserted one after another on the
+ * transaction's connection rather than as a JDBC batch, since R2DBC batches cannot bind parameters.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "mode", havingValue = "r2dbc")
+public class ReactiveCatalogImportServiceImpl implements CatalogImportService {
+
+    private final ReactiveFranchiseRepository franchiseRepository;
+    private final ReactiveBranchRepository branchRepository;
+    private final ReactiveProductRepository productRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final BulkProperties bulkProperties;
+    private final ReactiveBranchTopStockMaintainer topStockMaintainer;
+    private final CacheInvalidationBus invalidationBus;
+
+    @Override
+    public Flux<ImportProgressDto> importCatalog(Flux<CatalogImportLineDto> lines) {
+        return Flux.defer(() -> {
+            CatalogImportState state = new CatalogImportState();
+            return lines.buffer(bulkProperties.getChunkSize())
+                    .concatMap(chunk -> {
+                        Map<Long, List<StockUpdate>> createdByBranch = new TreeMap<>();
+                        return Flux.fromIterable(chunk)
+                                .concatMap(line -> importLine(line, state, createdByBranch))
+                                .thenMany(Flux.fromIterable(createdByBranch.entrySet()))
+                                .concatMap(entry -> topStockMaintainer.stocksChanged(entry.getKey(), entry.getValue())
+                                        .doOnSuccess(done -> state.invalidations.add(CacheInvalidation.productAdded(null, entry.getKey()))))
+                                .then(Mono.fromCallable(state::snapshot))
+                                .as(transactionalOperator::transactional)
+                                .flatMap(progress -> invalidationBus.publish(state.drainInvalidations()).thenReturn(progress));
+                    })
+                    .doOnComplete(() -> log.info("Catalog import completed: {}", state.snapshot()));
+        });
+    }
+
+    private Mono<Void> importLine(CatalogImportLineDto line, CatalogImportState state,
+                                  Map<Long, List<StockUpdate>> createdByBranch) {
+        return Mono.defer(() -> {
+            state.processed++;
+            if (!CatalogImportState.isValid(line)) {
+                state.rejected++;
+                return Mono.empty();
+            }
+            return resolveFranchise(line.getFranchise(), state)
+                    .filter(franchiseId -> line.getBranch() != null)
+                    .flatMap(franchiseId -> resolveBranch(franchiseId, line.getBranch(), state))
+                    .filter(branchId -> line.getProduct() != null)
+                    .flatMap(branchId -> insertProduct(branchId, line, state, createdByBranch));
+        });
+    }
+
+    private Mono<Long> resolveFranchise(String name, CatalogImportState state) {
+        Long franchiseId = state.franchiseIds.get(name);
+        if (franchiseId != null) {
+            return Mono.just(franchiseId);
+        }
+        return franchiseRepository.findByName(name)
+                .map(Franchise::getId)
+                .switchIfEmpty(Mono.defer(() -> {
+                    state.franchisesCreated++;
+                    return franchiseRepository.insert(Franchise.builder().name(name).build()).map(Franchise::getId);
+                }))
+                .doOnNext(id -> state.franchiseIds.put(name, id));
+    }
+
+    private Mono<Long> resolveBranch(Long franchiseId, String name, CatalogImportState state) {
+        CatalogImportState.BranchKey key = new CatalogImportState.BranchKey(franchiseId, name);
+        Long branchId = state.branchIds.get(key);
+        if (branchId != null) {
+            return Mono.just(branchId);
+        }
+        return branchRepository.findByNameAndFranchiseId(name, franchiseId)
+                .map(Branch::getId)
+                .switchIfEmpty(Mono.defer(() -> {
+                    state.branchesCreated++;
+                    Branch branch = Branch.builder()
+                            .name(name)
+                            .franchise(Franchise.builder().id(franchiseId).build())
+                            .build();
+                    return branchRepository.insert(branch)
+                            .map(Branch::getId)
+                            .doOnNext(id -> {
+                                state.productNames.put(id, new HashSet<>());
+                                state.invalidations.add(CacheInvalidation.branchAdded(id, franchiseId));
+                            });
+                }))
+                .doOnNext(id -> state.branchIds.put(key, id));
+    }
+
+    /**
+     * The branch is locked before its first insert of the chunk, as every writer of its top stock must.
+     */
+    private Mono<Void> insertProduct(Long branchId, CatalogImportLineDto line, CatalogImportState state,
+                                     Map<Long, List<StockUpdate>> createdByBranch) {
+        Set<String> known = state.productNames.get(branchId);
+        Mono<Set<String>> names = known != null
+                ? Mono.just(known)
+                : productRepository.findNamesByBranchId(branchId)
+                        .collect(Collectors.<String, Set<String>>toCollection(HashSet::new))
+                        .doOnNext(loaded -> state.productNames.put(branchId, loaded));
+        return names.flatMap(branchNames -> {
+            if (!branchNames.add(line.getProduct())) {
+                state.duplicatesSkipped++;
+                return Mono.empty();
+            }
+            state.productsCreated++;
+            Product product = Product.builder()
+                    .name(line.getProduct())
+                    .stock(line.getStock())
+                    .branch(Branch.builder().id(branchId).build())
+                    .build();
+            Mono<Void> lock = createdByBranch.containsKey(branchId)
+                    ? Mono.empty()
+                    : branchRepository.lockById(branchId)
+                            .doOnNext(id -> createdByBranch.put(id, new ArrayList<>()))
+                            .then();
+            return lock.then(productRepository.insert(product))
+                    .doOnNext(saved -> createdByBranch.get(branchId).add(new StockUpdate(saved.getId(), saved.getStock())))
+                    .then();
+        });
+    }
+}
@@ -0,0 +1,216 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.domain.Franchise;
+import com.test.franchise.domain.Product;
+import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.dto.request.UpdateNameRequestDto;
+import com.test.franchise.dto.response.FranchiseResponseDto;
+import com.test.franchise.dto.response.InventorySummaryResponseDto;
+import com.test.franchise.dto.response.KeysetPage;
+import com.test.franchise.dto.response.ResourceVersion;
+import com.test.franchise.dto.response.TopNStockProductResponseDto;
+import com.test.franchise.dto.response.TopStockProductResponseDto;
+import com.test.franchise.exception.DuplicateEntityException;
+import com.test.franchise.exception.EntityNotFoundException;
+import com.test.franchise.mapper.FranchiseMapper;
+import com.test.franchise.repository.BranchInventoryRow;
+import com.test.franchise.repository.reactive.ReactiveBranchRepository;
+import com.test.franchise.repository.reactive.ReactiveBranchTopStockRepository;
+import com.test.franchise.repository.reactive.ReactiveFranchiseRepository;
+import com.test.franchise.repository.reactive.ReactiveProductRepository;
+import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.support.CacheInvalidation;
+import com.test.franchise.service.support.CacheInvalidationBus;
+import com.test.franchise.service.support.CatalogMetadataCache;
+import com.test.franchise.service.support.FranchiseMetadata;
+import com.test.franchise.service.support.InventorySummaryCache;
+import com.test.franchise.service.support.SingleFlight;
+import com.test.franchise.service.support.UniqueConstraints;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "mode", havingValue = "r2dbc")
+public class ReactiveFranchiseServiceImpl implements FranchiseService {
+
+    private final ReactiveFranchiseRepository franchiseRepository;
+    private final ReactiveBranchRepository branchRepository;
+    private final ReactiveBranchTopStockRepository branchTopStockRepository;
+    private final ReactiveProductRepository productRepository;
+    private final FranchiseMapper franchiseMapper;
+    private final TransactionalOperator transactionalOperator;
+    private final CatalogMetadataCache metadataCache;
+    private final CacheInvalidationBus invalidationBus;
+    private final SingleFlight singleFlight;
+    private final InventorySummaryCache inventorySummaryCache;
+
+    @Override
+    public Mono<FranchiseResponseDto> createFranchise(FranchiseRequestDto requestDto) {
+        log.info("Creating franchise with name: {}", requestDto.getName());
+        return franchiseRepository.insert(franchiseMapper.toEntity(requestDto))
+                .onErrorMap(error -> duplicateName(requestDto.getName(), error))
+                .map(franchiseMapper::toDtoWithoutBranches)
+                .as(transactionalOperator::transactional)
+                .doOnNext(result -> metadataCache.putFranchise(new FranchiseMetadata(result.getId(), result.getName())))
+                .doOnNext(result -> log.info("Franchise created successfully with ID: {}", result.getId()));
+    }
+
+    @Override
+    public Mono<FranchiseResponseDto> getFranchiseById(Long id) {
+        log.info("Fetching franchise with ID: {}", id);
+        return franchiseRepository.findByIdWithBranches(id)
+                .map(franchiseMapper::toDtoWithBranchesButWithoutProducts)
+                .doOnNext(result -> log.info("Franchise fetched successfully with ID: {}", id))
+                .switchIfEmpty(Mono.fromRunnable(() -> log.info("Franchise not found with ID: {}", id)))
+                .as(read -> singleFlight.share("franchise", id, read));
+    }
+
+    @Override
+    public Mono<ResourceVersion> getFranchiseVersion(Long id) {
+        return franchiseRepository.findVersionById(id);
+    }
+
+    @Override
+    public Mono<KeysetPage<FranchiseResponseDto>> getAllFranchises(long after, int limit) {
+        log.info("Fetching franchises after ID: {} with limit: {}", after, limit);
+        return franchiseRepository.findPageWithBranches(after, limit + 1)
+                .map(franchises -> franchises.stream()
+                        .map(franchiseMapper::toDtoWithBranchesButWithoutProducts)
+                        .toList())
+                .doOnNext(result -> log.info("Successfully fetched {} franchises with branches", result.size()))
+                .map(result -> KeysetPage.of(result, limit, FranchiseResponseDto::getId));
+    }
+
+    @Override
+    public Mono<FranchiseResponseDto> updateFranchiseName(Long id, UpdateNameRequestDto requestDto) {
+        log.info("Updating franchise name for ID: {} to: {}", id, requestDto.getName());
+        return franchiseRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Franchise not found with ID: " + id)))
+                .flatMap(franchise -> {
+                    franchise.setName(requestDto.getName());
+                    franchise.setUpdatedAt(LocalDateTime.now());
+                    return franchiseRepository.updateName(id, franchise.getName(), franchise.getUpdatedAt())
+                            .onErrorMap(error -> duplicateName(requestDto.getName(), error))
+                            .thenReturn(franchise);
+                })
+                .map(franchiseMapper::toDtoWithoutBranches)
+                .as(transactionalOperator::transactional)
+                .flatMap(result -> invalidationBus.publish(CacheInvalidation.franchiseChanged(id)).thenReturn(result))
+                .doOnNext(result -> log.info("Franchise name updated successfully"));
+    }
+
+    @Override
+    public Mono<Void> deleteFranchise(Long id) {
+        log.info("Deleting franchise with ID: {}", id);
+        return franchiseRepository.existsById(id)
+                .flatMap(exists -> exists
+                        ? franchiseRepository.deleteById(id).then()
+                        : Mono.<Void>error(new EntityNotFoundException("Franchise not found with ID: " + id)))
+                .as(transactionalOperator::transactional)
+                .then(invalidationBus.publish(CacheInvalidation.franchiseRemoved(id)))
+                .doOnSuccess(result -> log.info("Franchise deleted successfully"));
+    }
+
+    @Override
+    public Mono<TopStockProductResponseDto> getTopStockProductsByFranchise(Long franchiseId) {
+        log.info("Fetching top stock products for franchise ID: {}", franchiseId);
+        return franchiseRepository.findById(franchiseId)
+                .<TopStockProductResponseDto>flatMap(franchise -> branchTopStockRepository.findTopStockProductsByFranchiseId(franchiseId)
+                        .map(ReactiveFranchiseServiceImpl::toBranchTopProduct)
+                        .collectList()
+                        .map(branchTopProducts -> {
+                            log.info("Found {} top stock products for franchise: {}", branchTopProducts.size(), franchise.getName());
+                            return TopStockProductResponseDto.builder()
+                                    .franchiseId(franchise.getId())
+                                    .franchiseName(franchise.getName())
+                                    .branchTopProducts(branchTopProducts)
+                                    .build();
+                        }))
+                .switchIfEmpty(Mono.fromCallable(() -> {
+                    log.info("Franchise not found with ID: {}, returning empty result", franchiseId);
+                    return TopStockProductResponseDto.builder()
+                            .franchiseId(franchiseId)
+                            .franchiseName("Unknown")
+                            .branchTopProducts(List.of())
+                            .build();
+                }))
+                .as(read -> singleFlight.share("franchise.top-stock", franchiseId, read));
+    }
+
+    @Override
+    public Mono<TopNStockProductResponseDto> getTopNStockProductsByFranchise(Long franchiseId, int limit) {
+        log.info("Fetching top {} stock products for franchise ID: {}", limit, franchiseId);
+        return franchiseRepository.findById(franchiseId)
+                .<TopNStockProductResponseDto>flatMap(franchise -> Mono.zip(
+                                productRepository.findTopNStockProductsPerBranch(franchiseId, limit)
+                                        .map(ReactiveFranchiseServiceImpl::toBranchTopProduct)
+                                        .collectList(),
+                                productRepository.findTopNStockProductsByFranchiseId(franchiseId, limit)
+                                        .map(ReactiveFranchiseServiceImpl::toBranchTopProduct)
+                                        .collectList())
+                        .map(tops -> {
+                            log.info("Found {} branch and {} franchise top stock products for franchise: {}",
+                                    tops.getT1().size(), tops.getT2().size(), franchise.getName());
+                            return TopNStockProductResponseDto.builder()
+                                    .franchiseId(franchise.getId())
+                                    .franchiseName(franchise.getName())
+                                    .limit(limit)
+                                    .branchTopProducts(tops.getT1())
+                                    .franchiseTopProducts(tops.getT2())
+                                    .build();
+                        }))
+                .switchIfEmpty(Mono.fromCallable(() -> {
+                    log.info("Franchise not found with ID: {}, returning empty result", franchiseId);
+                    return TopNStockProductResponseDto.builder()
+                            .franchiseId(franchiseId)
+                            .franchiseName("Unknown")
+                            .limit(limit)
+                            .branchTopProducts(List.of())
+                            .franchiseTopProducts(List.of())
+                            .build();
+                }))
+                .as(read -> singleFlight.share("franchise.top-n-stock", List.of(franchiseId, limit), read));
+    }
+
+    @Override
+    public Mono<InventorySummaryResponseDto> getInventorySummary(Long franchiseId, boolean cached) {
+        Mono<InventorySummaryResponseDto> summary = franchiseRepository.findById(franchiseId)
+                .doOnSubscribe(subscription -> log.info("Computing inventory summary for franchise ID: {}", franchiseId))
+                .flatMap(franchise -> branchRepository.findInventoryByFranchiseId(franchiseId)
+                        .map(BranchInventoryRow::toDto)
+                        .collectList()
+                        .map(branches -> InventorySummaryResponseDto.builder()
+                                .franchiseId(franchiseId)
+                                .franchiseName(franchise.getName())
+                                .branches(branches)
+                                .generatedAt(LocalDateTime.now())
+                                .build()))
+                .as(read -> singleFlight.share("franchise.inventory-summary", franchiseId, read));
+        return cached ? inventorySummaryCache.get(franchiseId, summary) : summary;
+    }
+
+    private static TopStockProductResponseDto.BranchTopProduct toBranchTopProduct(Product product) {
+        return TopStockProductResponseDto.BranchTopProduct.builder()
+                .branchId(product.getBranch().getId())
+                .branchName(product.getBranch().getName())
+                .productId(product.getId())
+                .productName(product.getName())
+                .stock(product.getStock())
+                .build();
+    }
+
+    private static Throwable duplicateName(String name, Throwable error) {
+        return UniqueConstraints.isViolated(error, Franchise.UNIQUE_NAME)
+                ? new DuplicateEntityException("Franchise with name '" + name + "' already exists", error)
+                : error;
+    }
+}
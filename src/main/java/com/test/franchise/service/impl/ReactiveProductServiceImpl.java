@@ -0,0 +1,239 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.config.BulkProperties;
+import com.test.franchise.domain.Branch;
+import com.test.franchise.domain.Franchise;
+import com.test.franchise.domain.Product;
+import com.test.franchise.dto.request.AdjustStockRequestDto;
+import com.test.franchise.dto.request.ProductRequestDto;
+import com.test.franchise.dto.request.StockUpdateItemDto;
+import com.test.franchise.dto.request.UpdateNameRequestDto;
+import com.test.franchise.dto.request.UpdateStockRequestDto;
+import com.test.franchise.dto.response.KeysetPage;
+import com.test.franchise.dto.response.ProductResponseDto;
+import com.test.franchise.dto.response.ResourceVersion;
+import com.test.franchise.dto.response.StockUpdateResultDto;
+import com.test.franchise.exception.DuplicateEntityException;
+import com.test.franchise.exception.EntityNotFoundException;
+import com.test.franchise.exception.InsufficientStockException;
+import com.test.franchise.mapper.ProductMapper;
+import com.test.franchise.repository.StockUpdate;
+import com.test.franchise.repository.reactive.ReactiveBranchRepository;
+import com.test.franchise.repository.reactive.ReactiveProductRepository;
+import com.test.franchise.service.ProductService;
+import com.test.franchise.service.support.BranchMetadata;
+import com.test.franchise.service.support.CacheInvalidation;
+import com.test.franchise.service.support.CacheInvalidationBus;
+import com.test.franchise.service.support.CatalogMetadataCache;
+import com.test.franchise.service.support.ReactiveBranchTopStockMaintainer;
+import com.test.franchise.service.support.UniqueConstraints;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "mode", havingValue = "r2dbc")
+public class ReactiveProductServiceImpl implements ProductService {
+
+    private final ReactiveProductRepository productRepository;
+    private final ReactiveBranchRepository branchRepository;
+    private final ProductMapper productMapper;
+    private final TransactionalOperator transactionalOperator;
+    private final BulkProperties bulkProperties;
+    private final ReactiveBranchTopStockMaintainer topStockMaintainer;
+    private final CatalogMetadataCache metadataCache;
+    private final CacheInvalidationBus invalidationBus;
+
+    @Override
+    public Mono<ProductResponseDto> createProduct(ProductRequestDto requestDto) {
+        log.info("Creating product with name: {} for branch ID: {}", requestDto.getName(), requestDto.getBranchId());
+        return branchRepository.lockById(requestDto.getBranchId())
+                .flatMap(branchId -> metadataCache.branch(branchId, branchRepository.findByIdWithFranchise(branchId)
+                        .map(branch -> new BranchMetadata(branch.getId(), branch.getName(), branch.getFranchise().getId(), branch.getFranchise().getName()))))
+                .map(ReactiveProductServiceImpl::toBranch)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Branch not found with ID: " + requestDto.getBranchId())))
+                .flatMap(branch -> {
+                    Product product = productMapper.toEntity(requestDto);
+                    product.setBranch(branch);
+                    return productRepository.insert(product)
+                            .onErrorMap(error -> duplicateName(requestDto.getName(), error))
+                            .flatMap(saved -> topStockMaintainer.stockChanged(branch.getId(), saved.getId(), saved.getStock())
+                                    .thenReturn(saved));
+                })
+                .map(productMapper::toDto)
+                .as(transactionalOperator::transactional)
+                .flatMap(result -> invalidationBus.publish(CacheInvalidation.productAdded(result.getId(), result.getBranchId())).thenReturn(result))
+                .doOnNext(result -> log.info("Product created successfully with ID: {} - Result: {}", result.getId(), result));
+    }
+
+    @Override
+    public Mono<ProductResponseDto> getProductById(Long id) {
+        log.info("Fetching product with ID: {}", id);
+        return productRepository.findByIdWithBranch(id)
+                .map(productMapper::toDto)
+                .doOnNext(result -> log.info("Product fetched successfully with ID: {} - Result: {}", id, result))
+                .switchIfEmpty(Mono.fromRunnable(() -> log.info("Product not found with ID: {}", id)));
+    }
+
+    @Override
+    public Mono<ResourceVersion> getProductVersion(Long id) {
+        return productRepository.findVersionById(id);
+    }
+
+    @Override
+    public Mono<KeysetPage<ProductResponseDto>> getProductsByBranchId(Long branchId, long after, int limit) {
+        log.info("Fetching products for branch ID: {} after ID: {} with limit: {}", branchId, after, limit);
+        return productRepository.findPageByBranchIdWithBranch(branchId, after, limit + 1)
+                .map(productMapper::toDto)
+                .collectList()
+                .doOnNext(result -> log.info("Successfully fetched {} products for branch ID: {}", result.size(), branchId))
+                .map(result -> KeysetPage.of(result, limit, ProductResponseDto::getId));
+    }
+
+    @Override
+    public Flux<ProductResponseDto> streamProductsByBranchId(Long branchId) {
+        log.info("Streaming products for branch ID: {}", branchId);
+        return productRepository.findByBranchIdWithBranch(branchId)
+                .map(productMapper::toDto)
+                .doOnComplete(() -> log.info("Finished streaming products for branch ID: {}", branchId));
+    }
+
+    @Override
+    public Mono<ProductResponseDto> updateProductName(Long id, UpdateNameRequestDto requestDto) {
+        log.info("Updating product name for ID: {} to: {}", id, requestDto.getName());
+        return productRepository.findByIdWithBranch(id)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Product not found with ID: " + id)))
+                .flatMap(product -> {
+                    product.setName(requestDto.getName());
+                    product.setUpdatedAt(LocalDateTime.now());
+                    return productRepository.updateName(id, product.getName(), product.getUpdatedAt())
+                            .onErrorMap(error -> duplicateName(requestDto.getName(), error))
+                            .thenReturn(product);
+                })
+                .map(productMapper::toDto)
+                .as(transactionalOperator::transactional)
+                .flatMap(result -> invalidationBus.publish(CacheInvalidation.productChanged(id)).thenReturn(result))
+                .doOnNext(result -> log.info("Product name updated successfully - Result: {}", result));
+    }
+
+    @Override
+    public Mono<ProductResponseDto> updateProductStock(Long id, UpdateStockRequestDto requestDto) {
+        log.info("Updating product stock for ID: {} to: {}", id, requestDto.getStock());
+        return topStockMaintainer.readAndLockBranchOf(id)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Product not found with ID: " + id)))
+                .flatMap(product -> {
+                    LocalDateTime updatedAt = LocalDateTime.now();
+                    return productRepository.updateStock(id, requestDto.getStock(), updatedAt)
+                            .flatMap(updated -> updated > 0
+                                    ? topStockMaintainer.stockChanged(product.getBranch().getId(), id, requestDto.getStock())
+                                            .thenReturn(stockUpdated(product, requestDto.getStock(), updatedAt))
+                                    : Mono.<Product>error(new EntityNotFoundException("Product not found with ID: " + id)));
+                })
+                .map(productMapper::toDto)
+                .as(transactionalOperator::transactional)
+                .flatMap(result -> invalidationBus.publish(CacheInvalidation.productChanged(id)).thenReturn(result))
+                .doOnNext(result -> log.info("Product stock updated successfully - Result: {}", result));
+    }
+
+    @Override
+    public Mono<ProductResponseDto> adjustProductStock(Long id, AdjustStockRequestDto requestDto) {
+        log.info("Adjusting product stock for ID: {} by: {}", id, requestDto.getDelta());
+        return topStockMaintainer.readAndLockBranchOf(id)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Product not found with ID: " + id)))
+                .flatMap(product -> {
+                    LocalDateTime updatedAt = LocalDateTime.now();
+                    return productRepository.adjustStock(id, requestDto.getDelta(), updatedAt)
+                            .flatMap(updated -> updated > 0
+                                    // The row stays locked until commit, so this read returns exactly the value we produced
+                                    ? productRepository.findStockById(id)
+                                    : productRepository.existsById(id).flatMap(exists -> Mono.<Integer>error(exists
+                                            ? new InsufficientStockException("Insufficient stock to apply " + requestDto.getDelta() + " to product with ID: " + id)
+                                            : new EntityNotFoundException("Product not found with ID: " + id))))
+                            .flatMap(stock -> topStockMaintainer.stockChanged(product.getBranch().getId(), id, stock)
+                                    .thenReturn(stockUpdated(product, stock, updatedAt)));
+                })
+                .map(productMapper::toDto)
+                .as(transactionalOperator::transactional)
+                .flatMap(result -> invalidationBus.publish(CacheInvalidation.productChanged(id)).thenReturn(result))
+                .doOnNext(result -> log.info("Product stock adjusted successfully - Result: {}", result));
+    }
+
+    @Override
+    public Flux<StockUpdateResultDto> updateProductStocks(Flux<StockUpdateItemDto> items) {
+        return items.buffer(bulkProperties.getChunkSize())
+                .concatMap(chunk -> topStockMaintainer.lockBranchesOf(chunk.stream().map(StockUpdateItemDto::getProductId).toList())
+                        .flatMap(branchIds -> applyStockChunk(chunk, branchIds))
+                        .as(transactionalOperator::transactional))
+                .concatMap(results -> invalidationBus.publish(CacheInvalidation.productsChanged(results.stream()
+                        .filter(StockUpdateResultDto::isUpdated)
+                        .map(StockUpdateResultDto::getProductId)
+                        .toList())).thenReturn(results))
+                .flatMapIterable(results -> results);
+    }
+
+    private Mono<List<StockUpdateResultDto>> applyStockChunk(List<StockUpdateItemDto> chunk, Map<Long, Long> branchIds) {
+        List<StockUpdate> updates = chunk.stream()
+                .filter(item -> branchIds.containsKey(item.getProductId()))
+                .map(item -> new StockUpdate(item.getProductId(), item.getStock()))
+                .toList();
+        Map<Long, List<StockUpdate>> updatesByBranch = updates.stream()
+                .collect(Collectors.groupingBy(update -> branchIds.get(update.productId()), TreeMap::new, Collectors.toList()));
+        return productRepository.batchUpdateStock(updates)
+                .thenMany(Flux.fromIterable(updatesByBranch.entrySet()))
+                .concatMap(entry -> topStockMaintainer.stocksChanged(entry.getKey(), entry.getValue()))
+                .then(Mono.fromCallable(() -> {
+                    log.info("Applied stock chunk of {} items: {} updated, {} not found", chunk.size(), updates.size(), chunk.size() - updates.size());
+                    return chunk.stream()
+                            .map(item -> branchIds.containsKey(item.getProductId())
+                                    ? StockUpdateResultDto.updated(item.getProductId(), item.getStock())
+                                    : StockUpdateResultDto.notFound(item.getProductId(), item.getStock()))
+                            .toList();
+                }));
+    }
+
+    @Override
+    public Mono<Void> deleteProduct(Long id) {
+        log.info("Deleting product with ID: {}", id);
+        return topStockMaintainer.lockBranchOf(id)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Product not found with ID: " + id)))
+                .flatMap(branchId -> productRepository.deleteById(id)
+                        .flatMap(deleted -> deleted > 0
+                                ? topStockMaintainer.productRemoved(branchId, id).thenReturn(branchId)
+                                : Mono.<Long>error(new EntityNotFoundException("Product not found with ID: " + id))))
+                .as(transactionalOperator::transactional)
+                .flatMap(branchId -> invalidationBus.publish(CacheInvalidation.productRemoved(id, branchId)))
+                .doOnSuccess(result -> log.info("Product deleted successfully"));
+    }
+
+    private static Product stockUpdated(Product product, int stock, LocalDateTime updatedAt) {
+        product.setStock(stock);
+        product.setUpdatedAt(updatedAt);
+        return product;
+    }
+
+    private static Branch toBranch(BranchMetadata branch) {
+        return Branch.builder()
+                .id(branch.id())
+                .name(branch.name())
+                .franchise(Franchise.builder().id(branch.franchiseId()).name(branch.franchiseName()).build())
+                .build();
+    }
+
+    private static Throwable duplicateName(String name, Throwable error) {
+        return UniqueConstraints.isViolated(error, Product.UNIQUE_NAME_PER_BRANCH)
+                ? new DuplicateEntityException("Product with name '" + name + "' already exists for this branch", error)
+                : error;
+    }
+}
@@ -0,0 +1,86 @@
+package com.test.franchise.service.support;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking repository work on {@code boundedElastic} inside a single transaction.
+ * <p>
+ * {@code @Transactional} on a method returning {@link Mono} only covers the assembly of the publisher,
+ * so every repository call inside a deferred {@code fromCallable} used to open its own transaction and
+ * check out its own connection. Executing the whole unit of work through a {@link TransactionTemplate}
+ * on the worker thread keeps one transaction and one pooled connection per service operation.
+ * <p>
+ * The time a unit of work waits for a worker is recorded in {@code blocking.executor.queue.wait} and the time
+ * it runs, connection checkout and commit included, in {@code blocking.executor.execution}, both tagged with
+ * {@code transaction=read-only|read-write}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "mode", havingValue = "jpa", matchIfMissing = true)
+public class BlockingTransactionExecutor {
+
+    private final Timed readOnly;
+    private final Timed readWrite;
+
+    public BlockingTransactionExecutor(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        TransactionTemplate readOnlyTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTemplate.setReadOnly(true);
+        this.readOnly = new Timed(readOnlyTemplate, "read-only", meterRegistry);
+        this.readWrite = new Timed(new TransactionTemplate(transactionManager), "read-write", meterRegistry);
+    }
+
+    /**
+     * A {@code null} result completes the returned {@link Mono} empty.
+     */
+    public <T> Mono<T> read(Supplier<T> work) {
+        return execute(readOnly, work);
+    }
+
+    /**
+     * A {@code null} result completes the returned {@link Mono} empty.
+     */
+    public <T> Mono<T> write(Supplier<T> work) {
+        return execute(readWrite, work);
+    }
+
+    public Mono<Void> run(Runnable work) {
+        return execute(readWrite, () -> {
+            work.run();
+            return null;
+        }).then();
+    }
+
+    private static <T> Mono<T> execute(Timed timed, Supplier<T> work) {
+        return Mono.defer(() -> {
+            long submitted = System.nanoTime();
+            return Mono.fromCallable(() -> {
+                        long started = System.nanoTime();
+                        timed.queueWait().record(started - submitted, TimeUnit.NANOSECONDS);
+                        try {
+                            return timed.template().execute(status -> work.get());
+                        } finally {
+                            timed.execution().record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                        }
+                    })
+                    .subscribeOn(Schedulers.boundedElastic());
+        });
+    }
+
+    private record Timed(TransactionTemplate template, Timer queueWait, Timer execution) {
+
+        Timed(TransactionTemplate template, String transaction, MeterRegistry meterRegistry) {
+            this(template,
+                    Timer.builder("blocking.executor.queue.wait").tag("transaction", transaction).register(meterRegistry),
+                    Timer.builder("blocking.executor.execution").tag("transaction", transaction).register(meterRegistry));
+        }
+    }
+}
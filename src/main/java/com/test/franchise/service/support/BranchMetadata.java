@@ -0,0 +1,4 @@
+package com.test.franchise.service.support;
+
+public record BranchMetadata(Long id, String name, Long franchiseId, String franchiseName) {
+}
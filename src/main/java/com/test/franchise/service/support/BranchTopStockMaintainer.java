@@ -0,0 +1,104 @@
+package com.test.franchise.service.support;
+
+import com.test.franchise.domain.BranchTopStock;
+import com.test.franchise.repository.BranchRepository;
+import com.test.franchise.repository.ProductBranchRef;
+import com.test.franchise.repository.ProductRepository;
+import com.test.franchise.repository.ProductRow;
+import com.test.franchise.repository.StockUpdate;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps {@code branch_top_stock} in step with the product writes of the current transaction.
+ * <p>
+ * Every writer locks the branch row before touching its products, so writers of one branch are serialized
+ * and the locking reads below always see the latest committed top. Most changes are settled against the
+ * stored row alone; the branch is only rescanned when its top product loses stock or is deleted.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "mode", havingValue = "jpa", matchIfMissing = true)
+public class BranchTopStockMaintainer {
+
+    private final EntityManager entityManager;
+    private final ProductRepository productRepository;
+    private final BranchRepository branchRepository;
+
+    /**
+     * @return the branch of the product, empty when the product does not exist
+     */
+    public Optional<Long> lockBranchOf(Long productId) {
+        Optional<Long> branchId = productRepository.findBranchIdById(productId);
+        branchId.ifPresent(id -> branchRepository.lockAllById(List.of(id)));
+        return branchId;
+    }
+
+    /**
+     * {@link #lockBranchOf} for writers that answer with the product, reading its row in the same statement.
+     *
+     * @return the product as it was before its branch was locked, empty when it does not exist
+     */
+    public Optional<ProductRow> readAndLockBranchOf(Long productId) {
+        Optional<ProductRow> product = productRepository.findRowById(productId);
+        product.ifPresent(row -> branchRepository.lockAllById(List.of(row.branchId())));
+        return product;
+    }
+
+    /**
+     * Locks the branches in id order, so concurrent bulk writers cannot deadlock on each other.
+     *
+     * @return the branch of every product that exists, keyed by product id
+     */
+    public Map<Long, Long> lockBranchesOf(Collection<Long> productIds) {
+        Map<Long, Long> branchIds = productRepository.findBranchIdsByIds(productIds).stream()
+                .collect(Collectors.toMap(ProductBranchRef::getProductId, ProductBranchRef::getBranchId));
+        if (!branchIds.isEmpty()) {
+            branchRepository.lockAllById(new TreeSet<>(branchIds.values()));
+        }
+        return branchIds;
+    }
+
+    public void stockChanged(Long branchId, Long productId, int stock) {
+        stocksChanged(branchId, List.of(new StockUpdate(productId, stock)));
+    }
+
+    public void stocksChanged(Long branchId, List<StockUpdate> changes) {
+        BranchTopStock stored = entityManager.find(BranchTopStock.class, branchId, LockModeType.PESSIMISTIC_WRITE);
+        BranchTopStock top = stored != null ? stored : BranchTopStock.builder().branchId(branchId).build();
+        for (StockUpdate change : changes) {
+            if (!top.offer(change.productId(), change.stock())) {
+                rescan(top);
+                return;
+            }
+        }
+        if (stored == null) {
+            entityManager.persist(top);
+        }
+    }
+
+    public void productRemoved(Long branchId, Long productId) {
+        BranchTopStock top = entityManager.find(BranchTopStock.class, branchId, LockModeType.PESSIMISTIC_WRITE);
+        if (top != null && top.isHeldBy(productId)) {
+            rescan(top);
+        }
+    }
+
+    private void rescan(BranchTopStock top) {
+        productRepository.findTopStockByBranchIdForUpdate(top.getBranchId())
+                .ifPresentOrElse(product -> {
+                    top.setProductId(product.getId());
+                    top.setStock(product.getStock());
+                }, () -> entityManager.remove(top));
+    }
+}
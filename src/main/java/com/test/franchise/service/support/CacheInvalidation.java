@@ -0,0 +1,58 @@
+package com.test.franchise.service.support;
+
+import java.util.List;
+
+/**
+ * A committed write that may have left cached reads stale. {@code parentId} is set when the membership of the
+ * parent's collection changed and is {@code null} when unknown; {@code id} is {@code null} when several
+ * children were added at once.
+ */
+public record CacheInvalidation(Kind kind, Long id, Long parentId) {
+
+    public enum Kind {
+        FRANCHISE_CHANGED,
+        FRANCHISE_REMOVED,
+        BRANCH_ADDED,
+        BRANCH_CHANGED,
+        BRANCH_REMOVED,
+        PRODUCT_ADDED,
+        PRODUCT_CHANGED,
+        PRODUCT_REMOVED
+    }
+
+    public static CacheInvalidation franchiseChanged(Long id) {
+        return new CacheInvalidation(Kind.FRANCHISE_CHANGED, id, null);
+    }
+
+    public static CacheInvalidation franchiseRemoved(Long id) {
+        return new CacheInvalidation(Kind.FRANCHISE_REMOVED, id, null);
+    }
+
+    public static CacheInvalidation branchAdded(Long id, Long franchiseId) {
+        return new CacheInvalidation(Kind.BRANCH_ADDED, id, franchiseId);
+    }
+
+    public static CacheInvalidation branchChanged(Long id) {
+        return new CacheInvalidation(Kind.BRANCH_CHANGED, id, null);
+    }
+
+    public static CacheInvalidation branchRemoved(Long id, Long franchiseId) {
+        return new CacheInvalidation(Kind.BRANCH_REMOVED, id, franchiseId);
+    }
+
+    public static CacheInvalidation productAdded(Long id, Long branchId) {
+        return new CacheInvalidation(Kind.PRODUCT_ADDED, id, branchId);
+    }
+
+    public static CacheInvalidation productChanged(Long id) {
+        return new CacheInvalidation(Kind.PRODUCT_CHANGED, id, null);
+    }
+
+    public static List<CacheInvalidation> productsChanged(List<Long> ids) {
+        return ids.stream().map(CacheInvalidation::productChanged).toList();
+    }
+
+    public static CacheInvalidation productRemoved(Long id, Long branchId) {
+        return new CacheInvalidation(Kind.PRODUCT_REMOVED, id, branchId);
+    }
+}
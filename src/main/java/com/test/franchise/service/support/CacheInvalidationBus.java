@@ -0,0 +1,19 @@
+package com.test.franchise.service.support;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Fans committed writes out to the cache listeners of this instance and, through the configured transport,
+ * of every other instance. Publish only after the write has committed; the returned {@code Mono} does not
+ * fail, a transport error only leaves the other instances to their cache TTLs.
+ */
+public interface CacheInvalidationBus {
+
+    Mono<Void> publish(List<CacheInvalidation> invalidations);
+
+    default Mono<Void> publish(CacheInvalidation... invalidations) {
+        return publish(List.of(invalidations));
+    }
+}
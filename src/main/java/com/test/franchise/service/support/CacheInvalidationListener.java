@@ -0,0 +1,13 @@
+package com.test.franchise.service.support;
+
+/**
+ * An in-process cache that must drop what a committed write made stale.
+ */
+public interface CacheInvalidationListener {
+
+    /**
+     * @param remote whether the write was made by another instance; local writes already went through the
+     *               caches that Hibernate maintains itself
+     */
+    void onInvalidation(CacheInvalidation invalidation, boolean remote);
+}
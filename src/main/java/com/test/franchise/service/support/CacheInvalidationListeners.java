@@ -0,0 +1,31 @@
+package com.test.franchise.service.support;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Delivers invalidations to every listener of this application context; a failing listener does not keep the
+ * others from running.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationListeners {
+
+    private final List<CacheInvalidationListener> listeners;
+
+    public void deliver(List<CacheInvalidation> invalidations, boolean remote) {
+        for (CacheInvalidation invalidation : invalidations) {
+            for (CacheInvalidationListener listener : listeners) {
+                try {
+                    listener.onInvalidation(invalidation, remote);
+                } catch (RuntimeException e) {
+                    log.warn("Cache invalidation {} failed in {}", invalidation, listener.getClass().getSimpleName(), e);
+                }
+            }
+        }
+    }
+}
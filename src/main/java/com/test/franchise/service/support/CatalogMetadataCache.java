@@ -0,0 +1,102 @@
+package com.test.franchise.service.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.franchise.config.MetadataCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * In-process cache of franchise and branch names, consulted before reading the parent row on writes.
+ * <p>
+ * Entries are evicted through the {@link CacheInvalidationBus} once the rename or delete that changes them
+ * has committed, on this instance and on the others; the TTL only bounds what a lost invalidation can leave
+ * behind. Hit and miss counts are published as the
+ * {@code cache.*} meters of {@code franchise.metadata} and {@code branch.metadata}.
+ */
+@Component
+public class CatalogMetadataCache implements CacheInvalidationListener {
+
+    private final Cache<Long, FranchiseMetadata> franchises;
+    private final Cache<Long, BranchMetadata> branches;
+
+    public CatalogMetadataCache(MetadataCacheProperties properties, MeterRegistry meterRegistry) {
+        this.franchises = newCache(properties);
+        this.branches = newCache(properties);
+        CaffeineCacheMetrics.monitor(meterRegistry, franchises, "franchise.metadata");
+        CaffeineCacheMetrics.monitor(meterRegistry, branches, "branch.metadata");
+    }
+
+    /**
+     * Blocking read-through; a {@code null} from the loader means the franchise does not exist and is not cached.
+     */
+    public FranchiseMetadata franchise(Long id, Function<Long, FranchiseMetadata> loader) {
+        return franchises.get(id, loader);
+    }
+
+    public BranchMetadata branch(Long id, Function<Long, BranchMetadata> loader) {
+        return branches.get(id, loader);
+    }
+
+    /**
+     * Non-blocking read-through; an empty loader result means the franchise does not exist and is not cached.
+     */
+    public Mono<FranchiseMetadata> franchise(Long id, Mono<FranchiseMetadata> loader) {
+        return readThrough(franchises, id, loader);
+    }
+
+    public Mono<BranchMetadata> branch(Long id, Mono<BranchMetadata> loader) {
+        return readThrough(branches, id, loader);
+    }
+
+    public void putFranchise(FranchiseMetadata franchise) {
+        franchises.put(franchise.id(), franchise);
+    }
+
+    public void putBranch(BranchMetadata branch) {
+        branches.put(branch.id(), branch);
+    }
+
+    /**
+     * Also drops the branches of the franchise, whose entries carry its name.
+     */
+    public void evictFranchise(Long id) {
+        franchises.invalidate(id);
+        branches.asMap().values().removeIf(branch -> branch.franchiseId().equals(id));
+    }
+
+    public void evictBranch(Long id) {
+        branches.invalidate(id);
+    }
+
+    @Override
+    public void onInvalidation(CacheInvalidation invalidation, boolean remote) {
+        switch (invalidation.kind()) {
+            case FRANCHISE_CHANGED, FRANCHISE_REMOVED -> evictFranchise(invalidation.id());
+            case BRANCH_CHANGED, BRANCH_REMOVED -> evictBranch(invalidation.id());
+            default -> {
+            }
+        }
+    }
+
+    private static <V> Mono<V> readThrough(Cache<Long, V> cache, Long id, Mono<V> loader) {
+        return Mono.defer(() -> {
+            V cached = cache.getIfPresent(id);
+            return cached != null
+                    ? Mono.just(cached)
+                    : loader.doOnNext(loaded -> cache.put(id, loaded));
+        });
+    }
+
+    private static <V> Cache<Long, V> newCache(MetadataCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+    }
+}
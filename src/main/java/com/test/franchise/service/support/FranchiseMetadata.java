@@ -0,0 +1,4 @@
+package com.test.franchise.service.support;
+
+public record FranchiseMetadata(Long id, String name) {
+}
@@ -0,0 +1,58 @@
+package com.test.franchise.service.support;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.franchise.config.InventorySummaryProperties;
+import com.test.franchise.dto.response.InventorySummaryResponseDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Franchise inventory summaries served to callers that accept a slightly old one.
+ * <p>
+ * Renames and deletes of the franchise and branch additions evict its entry; product writes and branch renames
+ * do not say which franchise they belong to, so for those the TTL is the only bound. Hit and miss counts are
+ * published as the {@code cache.*} meters of {@code inventory.summary}.
+ */
+@Component
+public class InventorySummaryCache implements CacheInvalidationListener {
+
+    private final Cache<Long, InventorySummaryResponseDto> summaries;
+
+    public InventorySummaryCache(InventorySummaryProperties properties, MeterRegistry meterRegistry) {
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, summaries, "inventory.summary");
+    }
+
+    /**
+     * An empty loader result means the franchise does not exist and is not cached.
+     */
+    public Mono<InventorySummaryResponseDto> get(Long franchiseId, Mono<InventorySummaryResponseDto> loader) {
+        return Mono.defer(() -> {
+            InventorySummaryResponseDto cached = summaries.getIfPresent(franchiseId);
+            return cached != null
+                    ? Mono.just(cached)
+                    : loader.doOnNext(loaded -> summaries.put(franchiseId, loaded));
+        });
+    }
+
+    @Override
+    public void onInvalidation(CacheInvalidation invalidation, boolean remote) {
+        switch (invalidation.kind()) {
+            case FRANCHISE_CHANGED, FRANCHISE_REMOVED -> summaries.invalidate(invalidation.id());
+            case BRANCH_ADDED, BRANCH_REMOVED -> {
+                if (invalidation.parentId() != null) {
+                    summaries.invalidate(invalidation.parentId());
+                }
+            }
+            default -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.test.franchise.service.support;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Transport for a single instance and for tests: every application context of the JVM that uses it receives
+ * the invalidations of the others synchronously, as if they came from another instance.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "franchise.cache.invalidation", name = "transport", havingValue = "loopback", matchIfMissing = true)
+public class LoopbackCacheInvalidationBus implements CacheInvalidationBus {
+
+    private static final Set<LoopbackCacheInvalidationBus> NODES = new CopyOnWriteArraySet<>();
+
+    private final CacheInvalidationListeners listeners;
+
+    @PostConstruct
+    void join() {
+        NODES.add(this);
+    }
+
+    @PreDestroy
+    void leave() {
+        NODES.remove(this);
+    }
+
+    @Override
+    public Mono<Void> publish(List<CacheInvalidation> invalidations) {
+        return Mono.fromRunnable(() -> {
+            if (invalidations.isEmpty()) {
+                return;
+            }
+            listeners.deliver(invalidations, false);
+            for (LoopbackCacheInvalidationBus node : NODES) {
+                if (node != this) {
+                    node.listeners.deliver(invalidations, true);
+                }
+            }
+        });
+    }
+}
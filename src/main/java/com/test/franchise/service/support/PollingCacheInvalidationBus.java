@@ -0,0 +1,98 @@
+package com.test.franchise.service.support;
+
+import com.test.franchise.config.CacheInvalidationProperties;
+import com.test.franchise.domain.CacheInvalidationEvent;
+import com.test.franchise.repository.CacheInvalidationLog;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Transport that needs nothing but the database: invalidations are appended to {@code cache_invalidations}
+ * and every instance reads the rows of the others each {@code poll-interval}.
+ * <p>
+ * Rows are read by the database clock rather than by id, since auto-increment ids do not commit in order;
+ * each poll reads back {@code grace} and skips the rows it already applied.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(prefix = "franchise.cache.invalidation", name = "transport", havingValue = "polling")
+public class PollingCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final CacheInvalidationLog invalidationLog;
+    private final CacheInvalidationListeners listeners;
+    private final CacheInvalidationProperties properties;
+    private final String origin = UUID.randomUUID().toString();
+    private final Map<Long, LocalDateTime> applied = new HashMap<>();
+
+    private LocalDateTime lastPoll;
+    private Disposable polling;
+
+    @PostConstruct
+    void start() {
+        lastPoll = invalidationLog.currentTime().block();
+        polling = Flux.interval(properties.getPollInterval(), Schedulers.single())
+                .onBackpressureDrop()
+                .concatMap(tick -> poll(), 1)
+                .subscribe();
+        log.info("Polling cache invalidations every {} as {}", properties.getPollInterval(), origin);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (polling != null) {
+            polling.dispose();
+        }
+    }
+
+    @Override
+    public Mono<Void> publish(List<CacheInvalidation> invalidations) {
+        return Mono.defer(() -> {
+            if (invalidations.isEmpty()) {
+                return Mono.empty();
+            }
+            listeners.deliver(invalidations, false);
+            return invalidationLog.append(origin, invalidations)
+                    .onErrorResume(e -> {
+                        log.warn("Could not publish {} cache invalidations, other instances rely on their TTLs", invalidations.size(), e);
+                        return Mono.empty();
+                    });
+        });
+    }
+
+    Mono<Void> poll() {
+        return invalidationLog.currentTime()
+                .flatMap(now -> {
+                    LocalDateTime since = lastPoll.minus(properties.getGrace());
+                    return invalidationLog.findSince(since, origin)
+                            .filter(event -> applied.putIfAbsent(event.getId(), event.getCreatedAt()) == null)
+                            .map(CacheInvalidationEvent::toInvalidation)
+                            .collectList()
+                            .doOnNext(received -> {
+                                listeners.deliver(received, true);
+                                applied.values().removeIf(createdAt -> createdAt.isBefore(since));
+                                lastPoll = now;
+                            })
+                            .then(invalidationLog.deleteBefore(now.minus(properties.getRetention())))
+                            .then();
+                })
+                .onErrorResume(e -> {
+                    log.warn("Polling cache invalidations failed", e);
+                    return Mono.empty();
+                });
+    }
+}
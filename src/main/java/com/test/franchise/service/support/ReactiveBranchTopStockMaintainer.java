@@ -0,0 +1,106 @@
+package com.test.franchise.service.support;
+
+import com.test.franchise.domain.BranchTopStock;
+import com.test.franchise.domain.Product;
+import com.test.franchise.repository.StockUpdate;
+import com.test.franchise.repository.reactive.ReactiveBranchRepository;
+import com.test.franchise.repository.reactive.ReactiveBranchTopStockRepository;
+import com.test.franchise.repository.reactive.ReactiveProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * R2DBC counterpart of {@link BranchTopStockMaintainer}, with the same locking contract: writers lock the
+ * branch row before touching its products, and must subscribe within their transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "mode", havingValue = "r2dbc")
+public class ReactiveBranchTopStockMaintainer {
+
+    private final ReactiveBranchTopStockRepository topStockRepository;
+    private final ReactiveProductRepository productRepository;
+    private final ReactiveBranchRepository branchRepository;
+
+    /**
+     * @return the branch of the product, empty when the product does not exist
+     */
+    public Mono<Long> lockBranchOf(Long productId) {
+        return productRepository.findBranchIdById(productId)
+                .flatMap(branchId -> branchRepository.lockById(branchId).thenReturn(branchId));
+    }
+
+    /**
+     * {@link #lockBranchOf} for writers that answer with the product, reading its row in the same statement.
+     *
+     * @return the product as it was before its branch was locked, empty when it does not exist
+     */
+    public Mono<Product> readAndLockBranchOf(Long productId) {
+        return productRepository.findByIdWithBranch(productId)
+                .flatMap(product -> branchRepository.lockById(product.getBranch().getId()).thenReturn(product));
+    }
+
+    /**
+     * @return the branch of every product that exists, keyed by product id
+     */
+    public Mono<Map<Long, Long>> lockBranchesOf(Collection<Long> productIds) {
+        return productRepository.findBranchIdsByIds(productIds)
+                .collectMap(Product::getId, product -> product.getBranch().getId())
+                .flatMap(branchIds -> branchIds.isEmpty()
+                        ? Mono.just(branchIds)
+                        : branchRepository.lockAllById(new TreeSet<>(branchIds.values())).then(Mono.just(branchIds)));
+    }
+
+    public Mono<Void> stockChanged(Long branchId, Long productId, int stock) {
+        return stocksChanged(branchId, List.of(new StockUpdate(productId, stock)));
+    }
+
+    public Mono<Void> stocksChanged(Long branchId, List<StockUpdate> changes) {
+        return topStockRepository.findByIdForUpdate(branchId)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(stored -> {
+                    BranchTopStock top = stored.orElseGet(() -> BranchTopStock.builder().branchId(branchId).build());
+                    Long previousProductId = top.getProductId();
+                    Integer previousStock = top.getStock();
+                    for (StockUpdate change : changes) {
+                        if (!top.offer(change.productId(), change.stock())) {
+                            return rescan(top);
+                        }
+                    }
+                    if (stored.isEmpty()) {
+                        return topStockRepository.insert(top).then();
+                    }
+                    if (Objects.equals(previousProductId, top.getProductId()) && Objects.equals(previousStock, top.getStock())) {
+                        return Mono.empty();
+                    }
+                    return topStockRepository.update(top).then();
+                });
+    }
+
+    public Mono<Void> productRemoved(Long branchId, Long productId) {
+        return topStockRepository.findByIdForUpdate(branchId)
+                .filter(top -> top.isHeldBy(productId))
+                .flatMap(this::rescan);
+    }
+
+    private Mono<Void> rescan(BranchTopStock top) {
+        return productRepository.findTopStockByBranchIdForUpdate(top.getBranchId())
+                .flatMap(product -> {
+                    top.setProductId(product.getId());
+                    top.setStock(product.getStock());
+                    return topStockRepository.update(top);
+                })
+                .switchIfEmpty(Mono.defer(() -> topStockRepository.deleteById(top.getBranchId())))
+                .then();
+    }
+}
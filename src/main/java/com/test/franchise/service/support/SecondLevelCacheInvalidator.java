@@ -0,0 +1,69 @@
+package com.test.franchise.service.support;
+
+import com.test.franchise.domain.Branch;
+import com.test.franchise.domain.Franchise;
+import com.test.franchise.domain.Product;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the writes of other instances to the Hibernate second-level and query caches; a no-op unless the
+ * {@code l2cache} profile enabled them. Deleting a franchise or branch cascades to rows whose ids are not
+ * published, so their whole entity region is dropped. Cached listings are projections that copy names and
+ * stock, so any write drops the query region.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "franchise.persistence", name = "mode", havingValue = "jpa", matchIfMissing = true)
+public class SecondLevelCacheInvalidator implements CacheInvalidationListener {
+
+    private static final String FRANCHISE_BRANCHES = Franchise.class.getName() + ".branches";
+    private static final String BRANCH_PRODUCTS = Branch.class.getName() + ".products";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void onInvalidation(CacheInvalidation invalidation, boolean remote) {
+        if (!remote) {
+            return;
+        }
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        Long id = invalidation.id();
+        switch (invalidation.kind()) {
+            case FRANCHISE_CHANGED -> cache.evictEntityData(Franchise.class, id);
+            case FRANCHISE_REMOVED -> {
+                cache.evictEntityData(Franchise.class, id);
+                cache.evictCollectionData(FRANCHISE_BRANCHES, id);
+                cache.evictEntityData(Branch.class);
+                cache.evictCollectionData(BRANCH_PRODUCTS);
+                cache.evictEntityData(Product.class);
+            }
+            case BRANCH_ADDED -> membershipChanged(cache, FRANCHISE_BRANCHES, invalidation.parentId());
+            case BRANCH_CHANGED -> cache.evictEntityData(Branch.class, id);
+            case BRANCH_REMOVED -> {
+                cache.evictEntityData(Branch.class, id);
+                cache.evictCollectionData(BRANCH_PRODUCTS, id);
+                cache.evictEntityData(Product.class);
+                membershipChanged(cache, FRANCHISE_BRANCHES, invalidation.parentId());
+            }
+            case PRODUCT_ADDED -> membershipChanged(cache, BRANCH_PRODUCTS, invalidation.parentId());
+            case PRODUCT_CHANGED -> cache.evictEntityData(Product.class, id);
+            case PRODUCT_REMOVED -> {
+                cache.evictEntityData(Product.class, id);
+                membershipChanged(cache, BRANCH_PRODUCTS, invalidation.parentId());
+            }
+        }
+        cache.evictDefaultQueryRegion();
+    }
+
+    private static void membershipChanged(Cache cache, String role, Long ownerId) {
+        if (ownerId != null) {
+            cache.evictCollectionData(role, ownerId);
+        } else {
+            cache.evictCollectionData(role);
+        }
+    }
+}
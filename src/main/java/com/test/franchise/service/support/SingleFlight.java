@@ -0,0 +1,66 @@
+package com.test.franchise.service.support;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Coalesces concurrent identical reads: while a read for an operation and key is in flight, later subscribers
+ * share its outcome instead of running their own. A read that starts right after a committed write may
+ * therefore see the value of a flight that started just before it, never anything older.
+ * <p>
+ * Subscriptions are counted in {@code single.flight.calls}, tagged by operation and by whether they ran the
+ * read ({@code executed}) or joined one ({@code coalesced}). Shared results are handed to every subscriber
+ * as-is and must not be mutated.
+ */
+@Component
+public class SingleFlight {
+
+    private final Map<Flight, Mono<?>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("single.flight.in.flight", inFlight, Map::size);
+    }
+
+    /**
+     * @param read cold publisher of the read, only subscribed when no identical read is in flight
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> share(String operation, Object key, Mono<T> read) {
+        return Mono.defer(() -> {
+            Flight flight = new Flight(operation, key);
+            boolean[] executed = new boolean[1];
+            Mono<T> shared = (Mono<T>) inFlight.computeIfAbsent(flight, started -> {
+                executed[0] = true;
+                return start(started, read);
+            });
+            counter(operation, executed[0] ? "executed" : "coalesced").increment();
+            return shared;
+        });
+    }
+
+    private <T> Mono<T> start(Flight flight, Mono<T> read) {
+        AtomicReference<Mono<T>> self = new AtomicReference<>();
+        // Leave the map before the outcome reaches anyone, so a read issued after it never joins a landed flight.
+        Mono<T> shared = read.doOnEach(signal -> inFlight.remove(flight, self.get())).cache();
+        self.set(shared);
+        return shared;
+    }
+
+    private Counter counter(String operation, String outcome) {
+        return Counter.builder("single.flight.calls")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Flight(String operation, Object key) {
+    }
+}
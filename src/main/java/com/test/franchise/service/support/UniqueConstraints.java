@@ -0,0 +1,32 @@
+package com.test.franchise.service.support;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/**
+ * Tells a duplicate name apart from other integrity violations of the same statement, and a missing parent
+ * row (a violated foreign key) from both.
+ * <p>
+ * Creates and renames no longer probe for an existing name; they write and let the unique constraint
+ * reject the duplicate. Both MySQL and H2 name the violated key in the driver message, which is the
+ * only place the JPA and R2DBC paths have in common.
+ */
+public final class UniqueConstraints {
+
+    private UniqueConstraints() {
+    }
+
+    public static boolean isViolated(Throwable error, String constraint) {
+        if (!(error instanceof DataIntegrityViolationException)) {
+            return false;
+        }
+        String name = constraint.toLowerCase(Locale.ROOT);
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().toLowerCase(Locale.ROOT).contains(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,76 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Creates the unique keys and indexes of the catalog tables of {@code V1__catalog_schema.sql} that a database
+ * baselined at version 1 lacks; the tables it may lack altogether come with their indexes in V3. Those databases were created by Hibernate (and validated, never updated, in production), so V1 never
+ * ran on them and neither the entity {@code @Index} declarations nor the named unique keys reached them.
+ * <p>
+ * MySQL has no {@code CREATE INDEX IF NOT EXISTS}, so existing index and constraint names are looked up first
+ * (H2 names the index behind a unique constraint after neither); on a database created by V1 this migration
+ * does nothing. Adding a unique key fails if the table already
+ * holds duplicates, which must be removed first (see {@code scripts/mysql-unique-names.sql}).
+ */
+public class V2__ensure_catalog_indexes extends BaseJavaMigration {
+
+    private static final List<Key> KEYS = List.of(
+            new Key("franchises", "uk_franchises_name", "ALTER TABLE franchises ADD CONSTRAINT uk_franchises_name UNIQUE (name)"),
+            new Key("branches", "uk_branches_franchise_name", "ALTER TABLE branches ADD CONSTRAINT uk_branches_franchise_name UNIQUE (franchise_id, name)"),
+            new Key("branches", "idx_branches_franchise_id", "CREATE INDEX idx_branches_franchise_id ON branches (franchise_id, id)"),
+            new Key("products", "uk_products_branch_name", "ALTER TABLE products ADD CONSTRAINT uk_products_branch_name UNIQUE (branch_id, name)"),
+            new Key("products", "idx_products_branch_stock", "CREATE INDEX idx_products_branch_stock ON products (branch_id, stock)"),
+            new Key("products", "idx_products_branch_id", "CREATE INDEX idx_products_branch_id ON products (branch_id, id)"));
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            for (Key key : KEYS) {
+                if (!existingNames(connection, key.table()).contains(key.name())) {
+                    statement.execute(key.ddl());
+                }
+            }
+        }
+    }
+
+    private static Set<String> existingNames(Connection connection, String table) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        Set<String> names = new HashSet<>();
+        String schema = connection.getSchema() != null ? connection.getSchema() : connection.getCatalog();
+        try (PreparedStatement constraints = connection.prepareStatement(
+                "SELECT constraint_name FROM information_schema.table_constraints WHERE LOWER(table_schema) = LOWER(?) AND LOWER(table_name) = ?")) {
+            constraints.setString(1, schema);
+            constraints.setString(2, table);
+            try (ResultSet rows = constraints.executeQuery()) {
+                while (rows.next()) {
+                    names.add(rows.getString(1).toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, false, true)) {
+            while (indexes.next()) {
+                String name = indexes.getString("INDEX_NAME");
+                if (name != null) {
+                    names.add(name.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return names;
+    }
+
+    private record Key(String table, String name, String ddl) {
+    }
+}
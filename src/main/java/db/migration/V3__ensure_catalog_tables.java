@@ -0,0 +1,86 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Creates the tables of {@code V1__catalog_schema.sql} that a database baselined at version 1 lacks, and fills
+ * them from the catalog it already holds: each {@code *_seq} table starts after the highest id of its table
+ * (pooled-lo hands out {@code [next_val, next_val + allocation size)}) and {@code branch_top_stock} gets the
+ * highest-stock product of each branch, ties to the lowest id. Tables that already exist, because V1 created
+ * them or they were created by hand, are left as they are.
+ */
+public class V3__ensure_catalog_tables extends BaseJavaMigration {
+
+    private static final List<Table> TABLES = List.of(
+            new Table("franchises_seq", List.of(
+                    "CREATE TABLE franchises_seq (next_val BIGINT)",
+                    "INSERT INTO franchises_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM franchises")),
+            new Table("branches_seq", List.of(
+                    "CREATE TABLE branches_seq (next_val BIGINT)",
+                    "INSERT INTO branches_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM branches")),
+            new Table("products_seq", List.of(
+                    "CREATE TABLE products_seq (next_val BIGINT)",
+                    "INSERT INTO products_seq (next_val) SELECT COALESCE(MAX(id), 0) + 1 FROM products")),
+            new Table("branch_top_stock", List.of(
+                    "CREATE TABLE branch_top_stock (branch_id BIGINT NOT NULL PRIMARY KEY, product_id BIGINT NOT NULL, stock INT NOT NULL)",
+                    """
+                    INSERT INTO branch_top_stock (branch_id, product_id, stock)
+                    SELECT ranked.branch_id, ranked.id, ranked.stock
+                    FROM (
+                        SELECT p.id, p.stock, p.branch_id,
+                               ROW_NUMBER() OVER (PARTITION BY p.branch_id ORDER BY p.stock DESC, p.id) AS branch_rank
+                        FROM products p
+                    ) ranked
+                    WHERE ranked.branch_rank = 1
+                    """)),
+            new Table("cache_invalidations", List.of(
+                    """
+                    CREATE TABLE cache_invalidations (
+                        id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+                        kind VARCHAR(32) NOT NULL,
+                        entity_id BIGINT,
+                        parent_id BIGINT,
+                        origin VARCHAR(36) NOT NULL,
+                        created_at DATETIME(6) NOT NULL
+                    )
+                    """,
+                    "CREATE INDEX idx_cache_invalidations_created_at ON cache_invalidations (created_at)")));
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            for (Table table : TABLES) {
+                if (!exists(connection, table.name())) {
+                    for (String sql : table.statements()) {
+                        statement.execute(sql);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean exists(Connection connection, String table) throws SQLException {
+        String schema = connection.getSchema() != null ? connection.getSchema() : connection.getCatalog();
+        try (PreparedStatement tables = connection.prepareStatement(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE LOWER(table_schema) = LOWER(?) AND LOWER(table_name) = ?")) {
+            tables.setString(1, schema);
+            tables.setString(2, table);
+            try (ResultSet rows = tables.executeQuery()) {
+                rows.next();
+                return rows.getInt(1) > 0;
+            }
+        }
+    }
+
+    private record Table(String name, List<String> statements) {
+    }
+}
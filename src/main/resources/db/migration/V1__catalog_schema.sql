@@ -0,0 +1,80 @@
+-- Catalog schema. Every index below backs a repository query; the comment next to it names which.
+-- Written in the subset of SQL shared by MySQL 8 and H2 in MySQL mode, which runs it in the tests.
+
+CREATE TABLE franchises (
+    id BIGINT NOT NULL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    -- duplicate names on create/rename, catalog import lookup by name
+    CONSTRAINT uk_franchises_name UNIQUE (name)
+);
+
+CREATE TABLE branches (
+    id BIGINT NOT NULL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    franchise_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    -- duplicate names on create/rename, catalog import lookup by (franchise, name)
+    CONSTRAINT uk_branches_franchise_name UNIQUE (franchise_id, name),
+    CONSTRAINT fk_branches_franchise FOREIGN KEY (franchise_id) REFERENCES franchises (id)
+);
+
+-- branch pages and streams, franchise detail and versions, top stock, inventory summary, franchise locks
+CREATE INDEX idx_branches_franchise_id ON branches (franchise_id, id);
+
+CREATE TABLE products (
+    id BIGINT NOT NULL PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    stock INT NOT NULL,
+    branch_id BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    -- duplicate names on create/rename, names of a branch for the catalog import
+    CONSTRAINT uk_products_branch_name UNIQUE (branch_id, name),
+    CONSTRAINT fk_products_branch FOREIGN KEY (branch_id) REFERENCES branches (id)
+);
+
+-- top stock rescans and rankings, top-N per branch
+CREATE INDEX idx_products_branch_stock ON products (branch_id, stock);
+
+-- product pages and streams, branch detail and versions, inventory summary
+CREATE INDEX idx_products_branch_id ON products (branch_id, id);
+
+CREATE TABLE branch_top_stock (
+    branch_id BIGINT NOT NULL PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    stock INT NOT NULL
+);
+
+-- Pooled-lo id blocks: each table holds the first id of the next free block.
+CREATE TABLE franchises_seq (
+    next_val BIGINT
+);
+
+INSERT INTO franchises_seq (next_val) VALUES (1);
+
+CREATE TABLE branches_seq (
+    next_val BIGINT
+);
+
+INSERT INTO branches_seq (next_val) VALUES (1);
+
+CREATE TABLE products_seq (
+    next_val BIGINT
+);
+
+INSERT INTO products_seq (next_val) VALUES (1);
+
+CREATE TABLE cache_invalidations (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    kind VARCHAR(32) NOT NULL,
+    entity_id BIGINT,
+    parent_id BIGINT,
+    origin VARCHAR(36) NOT NULL,
+    created_at DATETIME(6) NOT NULL
+);
+
+-- polling transport reads and purges by time
+CREATE INDEX idx_cache_invalidations_created_at ON cache_invalidations (created_at);
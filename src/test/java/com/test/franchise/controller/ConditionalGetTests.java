@@ -0,0 +1,150 @@
+package com.test.franchise.controller;
+
+import com.test.franchise.dto.request.BranchRequestDto;
+import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.dto.request.ProductRequestDto;
+import com.test.franchise.dto.request.UpdateNameRequestDto;
+import com.test.franchise.dto.request.UpdateStockRequestDto;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+@ActiveProfiles("test")
+class ConditionalGetTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private BranchService branchService;
+
+    @Autowired
+    private ProductService productService;
+
+    private Long franchiseId;
+    private Long branchId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        FranchiseRequestDto franchise = new FranchiseRequestDto();
+        franchise.setName("Conditional " + System.nanoTime());
+        franchiseId = franchiseService.createFranchise(franchise).block().getId();
+        BranchRequestDto branch = new BranchRequestDto();
+        branch.setName("Main");
+        branch.setFranchiseId(franchiseId);
+        branchId = branchService.createBranch(branch).block().getId();
+        productId = createProduct("Coffee");
+    }
+
+    @Test
+    void answersUnchangedResourcesWithNotModified() {
+        for (String uri : new String[]{"/api/v1/franchises/" + franchiseId, "/api/v1/branches/" + branchId, "/api/v1/products/" + productId}) {
+            String eTag = eTag(uri);
+
+            webTestClient.get().uri(uri).header(HttpHeaders.IF_NONE_MATCH, eTag)
+                    .exchange()
+                    .expectStatus().isNotModified()
+                    .expectHeader().valueEquals(HttpHeaders.ETAG, eTag)
+                    .expectBody().isEmpty();
+        }
+    }
+
+    @Test
+    void honoursIfModifiedSince() {
+        String uri = "/api/v1/products/" + productId;
+        String lastModified = webTestClient.get().uri(uri).exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class).getResponseHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+
+        webTestClient.get().uri(uri).ifModifiedSince(ZonedDateTime.parse(lastModified, DateTimeFormatter.RFC_1123_DATE_TIME))
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    void changesToEmbeddedRowsChangeTheETag() {
+        String branchUri = "/api/v1/branches/" + branchId;
+        String franchiseUri = "/api/v1/franchises/" + franchiseId;
+
+        String branchETag = eTag(branchUri);
+        productService.updateProductStock(productId, stock(42)).block();
+        assertModified(branchUri, branchETag);
+
+        branchETag = eTag(branchUri);
+        Long second = createProduct("Tea");
+        assertModified(branchUri, branchETag);
+
+        branchETag = eTag(branchUri);
+        productService.deleteProduct(second).block();
+        assertModified(branchUri, branchETag);
+
+        String franchiseETag = eTag(franchiseUri);
+        String productETag = eTag("/api/v1/products/" + productId);
+        branchService.updateBranchName(branchId, rename("Renamed")).block();
+        assertModified(franchiseUri, franchiseETag);
+        assertModified("/api/v1/products/" + productId, productETag);
+    }
+
+    @Test
+    void missingResourcesAreNotFound() {
+        webTestClient.get().uri("/api/v1/branches/" + Long.MAX_VALUE)
+                .header(HttpHeaders.IF_NONE_MATCH, "*")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private String eTag(String uri) {
+        String eTag = webTestClient.get().uri(uri).exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class).getResponseHeaders().getETag();
+        assertThat(eTag).startsWith("W/\"");
+        return eTag;
+    }
+
+    private void assertModified(String uri, String previousETag) {
+        String eTag = webTestClient.get().uri(uri).header(HttpHeaders.IF_NONE_MATCH, previousETag)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(String.class).getResponseHeaders().getETag();
+        assertThat(eTag).isNotEqualTo(previousETag);
+    }
+
+    private Long createProduct(String name) {
+        ProductRequestDto request = new ProductRequestDto();
+        request.setName(name);
+        request.setStock(10);
+        request.setBranchId(branchId);
+        return productService.createProduct(request).block().getId();
+    }
+
+    private static UpdateStockRequestDto stock(int stock) {
+        UpdateStockRequestDto request = new UpdateStockRequestDto();
+        request.setStock(stock);
+        return request;
+    }
+
+    private static UpdateNameRequestDto rename(String name) {
+        UpdateNameRequestDto request = new UpdateNameRequestDto();
+        request.setName(name);
+        return request;
+    }
+}
@@ -0,0 +1,55 @@
+package com.test.franchise.controller;
+
+import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.service.FranchiseService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+class PrometheusMetricsTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Test
+    void exposesRequestServiceExecutorPoolAndRepositoryTimings() {
+        FranchiseRequestDto franchise = new FranchiseRequestDto();
+        franchise.setName("Metrics " + System.nanoTime());
+        Long franchiseId = franchiseService.createFranchise(franchise).block().getId();
+        webTestClient.get().uri("/api/v1/franchises/{id}", franchiseId).exchange().expectStatus().isOk();
+
+        String metrics = webTestClient.get().uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).returnResult().getResponseBody();
+
+        assertHasSeries(metrics, "http_server_requests_seconds_bucket", "uri=\"/api/v1/franchises/{id}\"");
+        assertHasSeries(metrics, "service_invocations_seconds_bucket", "service=\"FranchiseService\"", "method=\"getFranchiseById\"", "state=\"SUCCESS\"");
+        assertHasSeries(metrics, "service_invocations_seconds_count", "service=\"FranchiseService\"", "method=\"createFranchise\"");
+        assertHasSeries(metrics, "blocking_executor_queue_wait_seconds_bucket", "transaction=\"read-only\"");
+        assertHasSeries(metrics, "blocking_executor_execution_seconds_bucket", "transaction=\"read-write\"");
+        assertHasSeries(metrics, "hikaricp_connections_acquire_seconds_bucket", "pool=");
+        assertHasSeries(metrics, "spring_data_repository_invocations_seconds_count", "repository=\"FranchiseRepository\"", "method=\"saveAndFlush\"");
+    }
+
+    private static void assertHasSeries(String metrics, String name, String... labels) {
+        assertThat(metrics.lines())
+                .as("%s with %s", name, Arrays.toString(labels))
+                .anySatisfy(line -> assertThat(line).startsWith(name + "{").contains(labels));
+    }
+}
@@ -0,0 +1,81 @@
+package com.test.franchise.load;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latencies of one load run, per endpoint. Every sample is kept so the percentiles are exact; a run of a few
+ * hundred thousand requests needs a few MB.
+ */
+final class LatencyReport {
+
+    private final Map<String, Samples> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, boolean failed) {
+        endpoints.computeIfAbsent(endpoint, name -> new Samples()).add(nanos, failed);
+    }
+
+    /**
+     * Statistics per endpoint, sorted by name; throughput is the endpoint's share of the run's requests
+     * over {@code elapsed}.
+     */
+    List<EndpointStats> summarize(Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        return endpoints.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> entry.getValue().summarize(entry.getKey(), seconds))
+                .toList();
+    }
+
+    static String format(List<EndpointStats> stats) {
+        StringBuilder table = new StringBuilder(String.format("%-28s %9s %7s %10s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms"));
+        for (EndpointStats endpoint : stats) {
+            table.append(String.format("%-28s %9d %7d %10.1f %9.2f %9.2f %9.2f%n", endpoint.endpoint(), endpoint.requests(),
+                    endpoint.errors(), endpoint.throughput(), endpoint.p50Millis(), endpoint.p99Millis(), endpoint.maxMillis()));
+        }
+        return table.toString();
+    }
+
+    record EndpointStats(String endpoint, int requests, int errors, double throughput,
+                         double p50Millis, double p99Millis, double maxMillis) {
+    }
+
+    private static final class Samples {
+
+        private long[] nanos = new long[1024];
+        private int size;
+        private int errors;
+
+        synchronized void add(long sample, boolean failed) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = sample;
+            if (failed) {
+                errors++;
+            }
+        }
+
+        synchronized EndpointStats summarize(String endpoint, double seconds) {
+            long[] sorted = Arrays.copyOf(nanos, size);
+            Arrays.sort(sorted);
+            return new EndpointStats(endpoint, size, errors, size / seconds,
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.99)), millis(sorted[size - 1]));
+        }
+
+        /**
+         * Nearest-rank percentile.
+         */
+        private static long percentile(long[] sorted, double fraction) {
+            return sorted[Math.max(0, (int) Math.ceil(fraction * sorted.length) - 1)];
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
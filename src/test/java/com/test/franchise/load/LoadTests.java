@@ -0,0 +1,377 @@
+package com.test.franchise.load;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.franchise.FranchiseApplication;
+import com.test.franchise.dto.request.CatalogImportLineDto;
+import com.test.franchise.dto.response.BranchResponseDto;
+import com.test.franchise.dto.response.FranchiseResponseDto;
+import com.test.franchise.dto.response.KeysetPage;
+import com.test.franchise.dto.response.ProductResponseDto;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.CatalogImportService;
+import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.ProductService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives a read-heavy mix of the REST endpoints over HTTP against an application seeded with a synthetic
+ * catalog, on in-memory H2 or on the database given by {@code load.jdbc-url}, once per configuration, and reports p50/p99 latency and throughput per endpoint.
+ * Excluded from {@code gradle test}; run with {@code gradle loadTest}, sizing the run with {@code -Pload.*}
+ * (see {@link Settings}).
+ * <p>
+ * On H2 every configuration gets its own database seeded from the same random seed, so the default
+ * {@code jpa,jpa+l2cache,r2dbc} run compares plain JPA, JPA with the second-level cache and R2DBC on
+ * identical data. In-memory H2 holds about a million products in the task's 2 GB heap; larger catalogs need an
+ * external database, which is seeded once, by the first configuration, only if it holds no franchises, and
+ * then shared by all of them.
+ */
+@Tag("load")
+class LoadTests {
+
+    private static final long SEED = 42;
+
+    @Test
+    void reportsLatencyAndThroughputPerEndpoint() throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        Map<String, RunResult> results = new LinkedHashMap<>();
+
+        for (String configuration : settings.configurations()) {
+            try (ConfigurableApplicationContext node = startNode(configuration, settings)) {
+                Duration seedTime = Duration.ZERO;
+                if (settings.jdbcUrl() == null || Catalog.load(node).franchiseIds().isEmpty()) {
+                    long seedStarted = System.nanoTime();
+                    seed(node, settings);
+                    seedTime = Duration.ofNanos(System.nanoTime() - seedStarted);
+                }
+                Catalog catalog = Catalog.load(node);
+
+                WebTestClient client = WebTestClient.bindToServer()
+                        .baseUrl("http://localhost:" + node.getEnvironment().getProperty("local.server.port"))
+                        .responseTimeout(Duration.ofSeconds(30))
+                        .build();
+                run(client, catalog, settings.warmupRequests(), settings.concurrency(), new LatencyReport());
+
+                LatencyReport report = new LatencyReport();
+                Duration elapsed = run(client, catalog, settings.requests(), settings.concurrency(), report);
+                List<LatencyReport.EndpointStats> stats = report.summarize(elapsed);
+
+                System.out.printf("%nLoad run '%s': %s, seeded in %d ms (0: existing catalog), %d requests in %d ms (%.1f req/s)%n%s",
+                        configuration, settings.volumes(), seedTime.toMillis(), settings.requests(), elapsed.toMillis(),
+                        settings.requests() / (elapsed.toNanos() / 1e9), LatencyReport.format(stats));
+                results.put(configuration, new RunResult(settings, seedTime.toMillis(), elapsed.toMillis(), stats));
+
+                assertThat(stats).allSatisfy(endpoint -> {
+                    assertThat(endpoint.errors()).as("errors of %s", endpoint.endpoint()).isZero();
+                    if (settings.maxP99Millis() > 0) {
+                        assertThat(endpoint.p99Millis()).as("p99 of %s", endpoint.endpoint()).isLessThanOrEqualTo(settings.maxP99Millis());
+                    }
+                });
+            }
+        }
+        writeResults(settings.reportDir(), results);
+    }
+
+    /**
+     * @param configuration the persistence mode ({@code jpa} or {@code r2dbc}), optionally followed by
+     *                      {@code +}-joined profiles added to {@code test}, e.g. {@code jpa+l2cache}
+     */
+    private static ConfigurableApplicationContext startNode(String configuration, Settings settings) {
+        List<String> parts = Arrays.asList(configuration.split("\\+"));
+        String mode = parts.get(0);
+        if (!List.of("jpa", "r2dbc").contains(mode)) {
+            throw new IllegalArgumentException("Configuration '" + configuration + "' must start with jpa or r2dbc");
+        }
+        List<String> profiles = new ArrayList<>(List.of("test"));
+        profiles.addAll(parts.subList(1, parts.size()));
+
+        List<String> args = new ArrayList<>(List.of("--server.port=0",
+                "--franchise.persistence.mode=" + mode,
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.test.franchise=WARN"));
+        if (settings.jdbcUrl() == null) {
+            String database = "load_" + UUID.randomUUID();
+            String jdbcUrl = "jdbc:h2:mem:" + database + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+            args.addAll(List.of("--spring.datasource.url=" + jdbcUrl,
+                    "--franchise.persistence.r2dbc.url=r2dbc:h2:mem:///" + database + "?MODE=MySQL&DATABASE_TO_LOWER=TRUE&DB_CLOSE_DELAY=-1",
+                    "--spring.flyway.url=" + jdbcUrl,
+                    "--spring.flyway.user=sa"));
+        } else {
+            if ("r2dbc".equals(mode) && settings.r2dbcUrl() == null) {
+                throw new IllegalArgumentException("Configuration '" + configuration + "' needs load.r2dbc-url with load.jdbc-url");
+            }
+            // The test profile points at H2; the external database replaces it, including its dialect.
+            args.addAll(List.of("--spring.datasource.url=" + settings.jdbcUrl(),
+                    "--spring.datasource.username=" + settings.username(),
+                    "--spring.datasource.password=" + settings.password(),
+                    "--spring.datasource.driver-class-name=",
+                    "--spring.jpa.properties.hibernate.dialect=",
+                    "--spring.flyway.url=" + settings.jdbcUrl(),
+                    "--spring.flyway.user=" + settings.username(),
+                    "--spring.flyway.password=" + settings.password(),
+                    "--franchise.persistence.r2dbc.url=" + (settings.r2dbcUrl() == null ? "" : settings.r2dbcUrl()),
+                    "--franchise.persistence.r2dbc.username=" + settings.username(),
+                    "--franchise.persistence.r2dbc.password=" + settings.password()));
+        }
+        return new SpringApplicationBuilder(FranchiseApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles(profiles.toArray(String[]::new))
+                .run(args.toArray(String[]::new));
+    }
+
+    private static void seed(ConfigurableApplicationContext node, Settings settings) {
+        Random random = new Random(SEED);
+        Flux<CatalogImportLineDto> lines = Flux.range(0, settings.franchises())
+                .concatMap(franchise -> Flux.range(0, settings.branchesPerFranchise())
+                        .concatMap(branch -> Flux.range(0, settings.productsPerBranch())
+                                .map(product -> line("Franchise " + franchise, "Branch " + branch, "Product " + product,
+                                        random.nextInt(1_000)))));
+        node.getBean(CatalogImportService.class).importCatalog(lines).blockLast(Duration.ofHours(2));
+    }
+
+    /**
+     * Runs {@code requests} requests of the endpoint mix on {@code concurrency} threads, each waiting for its
+     * response before sending the next, and returns the wall time of the run.
+     */
+    private static Duration run(WebTestClient client, Catalog catalog, int requests, int concurrency, LatencyReport report)
+            throws Exception {
+        AtomicInteger remaining = new AtomicInteger(requests);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        try {
+            long started = System.nanoTime();
+            List<Future<?>> running = new ArrayList<>();
+            for (int worker = 0; worker < concurrency; worker++) {
+                Random random = new Random(SEED + worker);
+                running.add(workers.submit(() -> {
+                    while (remaining.getAndDecrement() > 0) {
+                        Endpoint endpoint = Endpoint.pick(random);
+                        long sent = System.nanoTime();
+                        int status = endpoint.call(client, catalog, random);
+                        report.record(endpoint.label, System.nanoTime() - sent, status >= 400);
+                    }
+                }));
+            }
+            for (Future<?> worker : running) {
+                worker.get();
+            }
+            return Duration.ofNanos(System.nanoTime() - started);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static void writeResults(String reportDir, Map<String, RunResult> results) throws IOException {
+        File file = new File(reportDir, "results.json");
+        file.getParentFile().mkdirs();
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, results);
+        System.out.println("Load test results written to " + file.getAbsolutePath());
+    }
+
+    private static CatalogImportLineDto line(String franchise, String branch, String product, int stock) {
+        CatalogImportLineDto line = new CatalogImportLineDto();
+        line.setFranchise(franchise);
+        line.setBranch(branch);
+        line.setProduct(product);
+        line.setStock(stock);
+        return line;
+    }
+
+    /**
+     * The request mix, weighted towards the reads a storefront issues; stock updates keep the caches and the
+     * maintained top stock under invalidation.
+     */
+    private enum Endpoint {
+
+        FRANCHISE("GET franchise", 10) {
+            @Override
+            int call(WebTestClient client, Catalog catalog, Random random) {
+                return get(client, "/api/v1/franchises/{id}", catalog.franchise(random));
+            }
+        },
+        BRANCH_PAGE("GET branches page", 10) {
+            @Override
+            int call(WebTestClient client, Catalog catalog, Random random) {
+                return get(client, "/api/v1/branches?franchiseId={id}&limit=50", catalog.franchise(random));
+            }
+        },
+        BRANCH("GET branch", 15) {
+            @Override
+            int call(WebTestClient client, Catalog catalog, Random random) {
+                return get(client, "/api/v1/branches/{id}", catalog.branch(random));
+            }
+        },
+        PRODUCT_PAGE("GET products page", 15) {
+            @Override
+            int call(WebTestClient client, Catalog catalog, Random random) {
+                return get(client, "/api/v1/products?branchId={id}&limit=50", catalog.branch(random));
+            }
+        },
+        PRODUCT("GET product", 20) {
+            @Override
+            int call(WebTestClient client, Catalog catalog, Random random) {
+                return get(client, "/api/v1/products/{id}", catalog.product(random));
+            }
+        },
+        TOP_STOCK("GET top stock", 10) {
+            @Override
+            int call(WebTestClient client, Catalog catalog, Random random) {
+                return get(client, "/api/v1/franchises/{id}/top-stock-products", catalog.franchise(random));
+            }
+        },
+        TOP_N("GET top stock top-n", 5) {
+            @Override
+            int call(WebTestClient client, Catalog catalog, Random random) {
+                return get(client, "/api/v1/franchises/{id}/top-stock-products/top-n?n=5", catalog.franchise(random));
+            }
+        },
+        INVENTORY_SUMMARY("GET inventory summary", 5) {
+            @Override
+            int call(WebTestClient client, Catalog catalog, Random random) {
+                return get(client, "/api/v1/franchises/{id}/inventory-summary", catalog.franchise(random));
+            }
+        },
+        UPDATE_STOCK("PUT product stock", 10) {
+            @Override
+            int call(WebTestClient client, Catalog catalog, Random random) {
+                return client.put().uri("/api/v1/products/{id}/stock", catalog.product(random))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(Map.of("stock", random.nextInt(1_000)))
+                        .exchange()
+                        .expectBody().returnResult()
+                        .getStatus().value();
+            }
+        };
+
+        private static final int TOTAL_WEIGHT = Arrays.stream(values()).mapToInt(endpoint -> endpoint.weight).sum();
+
+        private final String label;
+        private final int weight;
+
+        Endpoint(String label, int weight) {
+            this.label = label;
+            this.weight = weight;
+        }
+
+        abstract int call(WebTestClient client, Catalog catalog, Random random);
+
+        static Endpoint pick(Random random) {
+            int ticket = random.nextInt(TOTAL_WEIGHT);
+            for (Endpoint endpoint : values()) {
+                ticket -= endpoint.weight;
+                if (ticket < 0) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalStateException("Weights do not add up to " + TOTAL_WEIGHT);
+        }
+
+        private static int get(WebTestClient client, String uri, Long id) {
+            return client.get().uri(uri, id).exchange().expectBody().returnResult().getStatus().value();
+        }
+    }
+
+    /**
+     * Ids the requests pick from, read through the services so both persistence modes load them alike.
+     * Products are capped at {@link #MAX_PRODUCT_IDS} so large seeds do not have to fit in memory.
+     */
+    private record Catalog(List<Long> franchiseIds, List<Long> branchIds, List<Long> productIds) {
+
+        private static final int MAX_PRODUCT_IDS = 100_000;
+
+        static Catalog load(ConfigurableApplicationContext node) {
+            FranchiseService franchiseService = node.getBean(FranchiseService.class);
+            List<Long> franchiseIds = new ArrayList<>();
+            KeysetPage<FranchiseResponseDto> page = franchiseService.getAllFranchises(0, 500).block();
+            page.getItems().forEach(franchise -> franchiseIds.add(franchise.getId()));
+            while (page.getNextCursor() != null) {
+                page = franchiseService.getAllFranchises(page.getNextCursor(), 500).block();
+                page.getItems().forEach(franchise -> franchiseIds.add(franchise.getId()));
+            }
+            List<Long> branchIds = Flux.fromIterable(franchiseIds)
+                    .concatMap(node.getBean(BranchService.class)::streamBranchesByFranchiseId)
+                    .map(BranchResponseDto::getId)
+                    .collectList()
+                    .block();
+            List<Long> productIds = Flux.fromIterable(branchIds)
+                    .concatMap(node.getBean(ProductService.class)::streamProductsByBranchId)
+                    .map(ProductResponseDto::getId)
+                    .take(MAX_PRODUCT_IDS)
+                    .collectList()
+                    .block();
+            return new Catalog(franchiseIds, branchIds, productIds);
+        }
+
+        Long franchise(Random random) {
+            return franchiseIds.get(random.nextInt(franchiseIds.size()));
+        }
+
+        Long branch(Random random) {
+            return branchIds.get(random.nextInt(branchIds.size()));
+        }
+
+        Long product(Random random) {
+            return productIds.get(random.nextInt(productIds.size()));
+        }
+    }
+
+    record RunResult(Settings settings, long seedMillis, long elapsedMillis, List<LatencyReport.EndpointStats> endpoints) {
+    }
+
+    /**
+     * Run parameters, read from {@code load.*} system properties ({@code gradle loadTest} forwards the
+     * matching {@code -P} project properties). {@code configurations} lists the runs, each a persistence mode
+     * optionally followed by {@code +}-joined profiles; {@code maxP99Millis} fails the run
+     * when any endpoint exceeds it (0 disables the check). {@code jdbcUrl} (and {@code r2dbcUrl} for
+     * {@code r2dbc} configurations) select an external database instead of in-memory H2.
+     */
+    record Settings(int franchises, int branchesPerFranchise, int productsPerBranch, int warmupRequests, int requests,
+                    int concurrency, List<String> configurations, double maxP99Millis, String reportDir,
+                    String jdbcUrl, String r2dbcUrl, String username, @JsonIgnore String password) {
+
+        static Settings fromSystemProperties() {
+            return new Settings(
+                    Integer.getInteger("load.franchises", 10),
+                    Integer.getInteger("load.branches", 20),
+                    Integer.getInteger("load.products", 100),
+                    Integer.getInteger("load.warmup", 2_000),
+                    Integer.getInteger("load.requests", 10_000),
+                    Integer.getInteger("load.concurrency", 16),
+                    List.of(System.getProperty("load.configurations", "jpa,jpa+l2cache,r2dbc").split(",")),
+                    Double.parseDouble(System.getProperty("load.max-p99-ms", "0")),
+                    System.getProperty("load.report-dir", "build/reports/load"),
+                    System.getProperty("load.jdbc-url"),
+                    System.getProperty("load.r2dbc-url"),
+                    System.getProperty("load.username", ""),
+                    System.getProperty("load.password", ""));
+        }
+
+        String volumes() {
+            return String.format("%d franchises x %d branches x %d products", franchises, branchesPerFranchise, productsPerBranch);
+        }
+    }
+}
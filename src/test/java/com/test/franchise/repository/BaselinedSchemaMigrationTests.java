@@ -0,0 +1,75 @@
+package com.test.franchise.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A database created by Hibernate before the migrations is baselined at V1 without running it; V2 and V3 must
+ * still give it the unique keys, indexes and tables the application relies on, the latter filled from its rows.
+ */
+class BaselinedSchemaMigrationTests {
+
+    @Test
+    void addsMissingKeysAndIndexesToABaselinedDatabase() throws SQLException {
+        String url = "jdbc:h2:mem:baselined_" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE franchises (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL UNIQUE, created_at DATETIME(6) NOT NULL, updated_at DATETIME(6))");
+            statement.execute("CREATE TABLE branches (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL, franchise_id BIGINT NOT NULL, created_at DATETIME(6) NOT NULL, updated_at DATETIME(6))");
+            statement.execute("CREATE TABLE products (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL, stock INT NOT NULL, branch_id BIGINT NOT NULL, created_at DATETIME(6) NOT NULL, updated_at DATETIME(6))");
+            statement.execute("INSERT INTO franchises VALUES (4, 'Existing', CURRENT_TIMESTAMP, NULL)");
+            statement.execute("INSERT INTO branches VALUES (7, 'Main', 4, CURRENT_TIMESTAMP, NULL)");
+            statement.execute("INSERT INTO products VALUES (11, 'Coffee', 5, 7, CURRENT_TIMESTAMP, NULL), (12, 'Tea', 9, 7, CURRENT_TIMESTAMP, NULL), "
+                    + "(13, 'Milk', 9, 7, CURRENT_TIMESTAMP, NULL)");
+
+            Flyway.configure()
+                    .dataSource(url, "sa", "")
+                    .locations("classpath:db/migration")
+                    .baselineOnMigrate(true)
+                    .baselineVersion("1")
+                    .load()
+                    .migrate();
+
+            List<String> constraints = names(statement, "SELECT constraint_name FROM information_schema.table_constraints WHERE constraint_type = 'UNIQUE'");
+            List<String> indexes = names(statement, "SELECT index_name FROM information_schema.indexes");
+            assertThat(constraints).contains("uk_franchises_name", "uk_branches_franchise_name", "uk_products_branch_name");
+            assertThat(indexes).contains("idx_branches_franchise_id", "idx_products_branch_stock", "idx_products_branch_id",
+                    "idx_cache_invalidations_created_at");
+            assertThat(names(statement, "SELECT CONCAT(f.next_val, ',', b.next_val, ',', p.next_val) FROM franchises_seq f, branches_seq b, products_seq p"))
+                    .containsExactly("5,8,14");
+            assertThat(names(statement, "SELECT CONCAT(branch_id, ',', product_id, ',', stock) FROM branch_top_stock"))
+                    .containsExactly("7,12,9");
+        }
+    }
+
+    @Test
+    void leavesASchemaCreatedByV1Untouched() {
+        String url = "jdbc:h2:mem:migrated_" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+        int applied = Flyway.configure().dataSource(url, "sa", "").locations("classpath:db/migration").load()
+                .migrate().migrationsExecuted;
+
+        assertThat(applied).isEqualTo(3);
+    }
+
+    private static List<String> names(Statement statement, String query) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (ResultSet rows = statement.executeQuery(query)) {
+            while (rows.next()) {
+                names.add(rows.getString(1).toLowerCase());
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,234 @@
+package com.test.franchise.repository;
+
+import com.test.franchise.dto.request.AdjustStockRequestDto;
+import com.test.franchise.dto.request.BranchRequestDto;
+import com.test.franchise.dto.request.CatalogImportLineDto;
+import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.dto.request.ProductRequestDto;
+import com.test.franchise.dto.request.StockUpdateItemDto;
+import com.test.franchise.dto.request.UpdateNameRequestDto;
+import com.test.franchise.dto.request.UpdateStockRequestDto;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.CatalogImportService;
+import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.ProductService;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every repository query through the service layer, then asks H2 for the plan of each distinct
+ * query the JPA repositories issued. A plan that scans a table means a query lacks an index in
+ * {@code db/migration}; the one-row {@code *_seq} tables are the only ones allowed to be scanned.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class IndexUsageTests {
+
+    private static final Predicate<String> ID_BLOCK_TABLE = sql -> sql.contains("_seq");
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private BranchService branchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private RecordingStatementInspector statements;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void everyRepositoryQueryUsesAnIndex() throws SQLException {
+        statements.recorded.clear();
+        runWorkload();
+
+        Map<String, String> scans = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            for (String sql : statements.recorded) {
+                String plan = explain(connection, sql);
+                if (plan.contains("tableScan")) {
+                    scans.put(sql, plan);
+                }
+            }
+        }
+
+        assertThat(statements.recorded).hasSizeGreaterThan(20);
+        assertThat(scans).as("queries without an index").isEmpty();
+    }
+
+    private void runWorkload() {
+        String suffix = String.valueOf(System.nanoTime());
+        Long franchiseId = franchiseService.createFranchise(franchiseRequest("Plans " + suffix)).block().getId();
+        Long branchId = branchService.createBranch(branchRequest("North", franchiseId)).block().getId();
+        Long otherBranchId = branchService.createBranch(branchRequest("South", franchiseId)).block().getId();
+        Long productId = productService.createProduct(productRequest("Coffee", 10, branchId)).block().getId();
+        Long otherProductId = productService.createProduct(productRequest("Tea", 20, branchId)).block().getId();
+        productService.createProduct(productRequest("Milk", 5, otherBranchId)).block();
+
+        franchiseService.getFranchiseById(franchiseId).block();
+        franchiseService.getFranchiseVersion(franchiseId).block();
+        franchiseService.getAllFranchises(0, 10).block();
+        franchiseService.getTopStockProductsByFranchise(franchiseId).block();
+        franchiseService.getTopNStockProductsByFranchise(franchiseId, 2).block();
+        franchiseService.getInventorySummary(franchiseId, false).block();
+        branchService.getBranchById(branchId).block();
+        branchService.getBranchVersion(branchId).block();
+        branchService.getBranchesByFranchiseId(franchiseId, 0, 10).block();
+        branchService.streamBranchesByFranchiseId(franchiseId).blockLast();
+        productService.getProductById(productId).block();
+        productService.getProductVersion(productId).block();
+        productService.getProductsByBranchId(branchId, 0, 10).block();
+        productService.streamProductsByBranchId(branchId).blockLast();
+        productRepository.findTopStockProductsByFranchiseId(franchiseId);
+
+        franchiseService.updateFranchiseName(franchiseId, nameRequest("Renamed plans " + suffix)).block();
+        branchService.updateBranchName(branchId, nameRequest("Uptown")).block();
+        productService.updateProductName(productId, nameRequest("Espresso")).block();
+        productService.updateProductStock(otherProductId, stockRequest(1)).block();
+        productService.adjustProductStock(productId, deltaRequest(-1)).block();
+        productService.updateProductStocks(Flux.just(stockItem(productId, 30), stockItem(otherProductId, 2))).blockLast();
+        catalogImportService.importCatalog(Flux.just(
+                importLine("Renamed plans " + suffix, "Uptown", "Espresso", 1),
+                importLine("Renamed plans " + suffix, "Uptown", "Water", 3))).blockLast();
+
+        productService.deleteProduct(otherProductId).block();
+        branchService.deleteBranch(otherBranchId).block();
+        franchiseService.deleteFranchise(franchiseId).block();
+    }
+
+    /**
+     * Parameters are bound to {@code NULL}; H2 picks the index from the shape of the condition, not the value.
+     */
+    private static String explain(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                statement.setObject(i, null);
+            }
+            try (ResultSet plan = statement.executeQuery()) {
+                StringBuilder text = new StringBuilder();
+                while (plan.next()) {
+                    text.append(plan.getString(1));
+                }
+                return text.toString();
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class StatementRecording {
+
+        @Bean
+        RecordingStatementInspector recordingStatementInspector() {
+            return new RecordingStatementInspector();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspectorCustomizer(RecordingStatementInspector inspector) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    /**
+     * Keeps each distinct query Hibernate prepares; writes and the id block tables are left out.
+     */
+    static class RecordingStatementInspector implements StatementInspector {
+
+        private final Set<String> recorded = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public String inspect(String sql) {
+            String normalized = sql.strip().toLowerCase(Locale.ROOT);
+            if ((normalized.startsWith("select") || normalized.startsWith("with")) && !ID_BLOCK_TABLE.test(normalized)) {
+                recorded.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    private static FranchiseRequestDto franchiseRequest(String name) {
+        FranchiseRequestDto request = new FranchiseRequestDto();
+        request.setName(name);
+        return request;
+    }
+
+    private static BranchRequestDto branchRequest(String name, Long franchiseId) {
+        BranchRequestDto request = new BranchRequestDto();
+        request.setName(name);
+        request.setFranchiseId(franchiseId);
+        return request;
+    }
+
+    private static ProductRequestDto productRequest(String name, int stock, Long branchId) {
+        ProductRequestDto request = new ProductRequestDto();
+        request.setName(name);
+        request.setStock(stock);
+        request.setBranchId(branchId);
+        return request;
+    }
+
+    private static UpdateNameRequestDto nameRequest(String name) {
+        UpdateNameRequestDto request = new UpdateNameRequestDto();
+        request.setName(name);
+        return request;
+    }
+
+    private static UpdateStockRequestDto stockRequest(int stock) {
+        UpdateStockRequestDto request = new UpdateStockRequestDto();
+        request.setStock(stock);
+        return request;
+    }
+
+    private static AdjustStockRequestDto deltaRequest(int delta) {
+        AdjustStockRequestDto request = new AdjustStockRequestDto();
+        request.setDelta(delta);
+        return request;
+    }
+
+    private static StockUpdateItemDto stockItem(Long productId, int stock) {
+        StockUpdateItemDto item = new StockUpdateItemDto();
+        item.setProductId(productId);
+        item.setStock(stock);
+        return item;
+    }
+
+    private static CatalogImportLineDto importLine(String franchise, String branch, String product, int stock) {
+        CatalogImportLineDto line = new CatalogImportLineDto();
+        line.setFranchise(franchise);
+        line.setBranch(branch);
+        line.setProduct(product);
+        line.setStock(stock);
+        return line;
+    }
+}
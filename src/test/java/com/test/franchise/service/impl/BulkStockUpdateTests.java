@@ -0,0 +1,85 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.dto.request.BranchRequestDto;
+import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.dto.request.ProductRequestDto;
+import com.test.franchise.dto.request.StockUpdateItemDto;
+import com.test.franchise.dto.response.StockUpdateResultDto;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "franchise.bulk.chunk-size=50")
+@ActiveProfiles("test")
+class BulkStockUpdateTests {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private BranchService branchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void appliesEveryChunkAndReportsMissingProducts() {
+        List<Long> productIds = createProducts(120);
+        List<StockUpdateItemDto> items = new ArrayList<>();
+        for (int i = 0; i < productIds.size(); i++) {
+            items.add(item(productIds.get(i), 1000 + i));
+        }
+        items.add(60, item(Long.MAX_VALUE, 5));
+
+        List<StockUpdateResultDto> results = productService.updateProductStocks(Flux.fromIterable(items))
+                .collectList()
+                .block();
+
+        assertThat(results).hasSize(items.size());
+        assertThat(results.get(60).isUpdated()).isFalse();
+        assertThat(results).filteredOn(StockUpdateResultDto::isUpdated).hasSize(productIds.size());
+        for (int i = 0; i < productIds.size(); i++) {
+            assertThat(productService.getProductById(productIds.get(i)).block().getStock()).isEqualTo(1000 + i);
+        }
+    }
+
+    private List<Long> createProducts(int count) {
+        String suffix = String.valueOf(System.nanoTime());
+
+        FranchiseRequestDto franchise = new FranchiseRequestDto();
+        franchise.setName("Franchise " + suffix);
+        Long franchiseId = franchiseService.createFranchise(franchise).block().getId();
+
+        BranchRequestDto branch = new BranchRequestDto();
+        branch.setName("Branch " + suffix);
+        branch.setFranchiseId(franchiseId);
+        Long branchId = branchService.createBranch(branch).block().getId();
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ProductRequestDto product = new ProductRequestDto();
+            product.setName("Product " + i);
+            product.setStock(0);
+            product.setBranchId(branchId);
+            ids.add(productService.createProduct(product).block().getId());
+        }
+        return ids;
+    }
+
+    private static StockUpdateItemDto item(Long productId, int stock) {
+        StockUpdateItemDto item = new StockUpdateItemDto();
+        item.setProductId(productId);
+        item.setStock(stock);
+        return item;
+    }
+}
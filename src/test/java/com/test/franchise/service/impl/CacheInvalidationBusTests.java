@@ -0,0 +1,157 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.FranchiseApplication;
+import com.test.franchise.domain.Product;
+import com.test.franchise.dto.request.BranchRequestDto;
+import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.dto.request.ProductRequestDto;
+import com.test.franchise.dto.request.UpdateNameRequestDto;
+import com.test.franchise.dto.request.UpdateStockRequestDto;
+import com.test.franchise.dto.response.ProductResponseDto;
+import com.test.franchise.repository.ProductRepository;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two application contexts over one database stand in for two instances: node B warms its metadata and
+ * second-level caches, node A writes, and B must see the writes within the transport's staleness bound.
+ */
+class CacheInvalidationBusTests {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+
+    @Test
+    void pollingTransportReachesTheOtherInstanceWithinTheBound() {
+        String database = "invalidation_" + UUID.randomUUID();
+        try (ConfigurableApplicationContext nodeA = startNode(database, "polling");
+             ConfigurableApplicationContext nodeB = startNode(database, "polling")) {
+            Catalog catalog = createCatalog(nodeA);
+            warmCaches(nodeB, catalog);
+
+            long written = System.nanoTime();
+            writeThrough(nodeA, catalog);
+
+            eventually(Duration.ofSeconds(5), () -> assertSeesWrites(nodeB, catalog));
+            assertThat(Duration.ofNanos(System.nanoTime() - written)).isLessThan(Duration.ofSeconds(2));
+        }
+    }
+
+    @Test
+    void loopbackTransportReachesTheOtherContextImmediately() {
+        String database = "invalidation_" + UUID.randomUUID();
+        try (ConfigurableApplicationContext nodeA = startNode(database, "loopback");
+             ConfigurableApplicationContext nodeB = startNode(database, "loopback")) {
+            Catalog catalog = createCatalog(nodeA);
+            warmCaches(nodeB, catalog);
+
+            writeThrough(nodeA, catalog);
+
+            assertSeesWrites(nodeB, catalog);
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(String database, String transport) {
+        return new SpringApplicationBuilder(FranchiseApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test", "l2cache")
+                .run("--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+                        "--franchise.cache.invalidation.transport=" + transport,
+                        "--franchise.cache.invalidation.poll-interval=" + POLL_INTERVAL.toMillis() + "ms");
+    }
+
+    private static Catalog createCatalog(ConfigurableApplicationContext node) {
+        FranchiseRequestDto franchise = new FranchiseRequestDto();
+        franchise.setName("Invalidation " + System.nanoTime());
+        Long franchiseId = node.getBean(FranchiseService.class).createFranchise(franchise).block().getId();
+
+        BranchRequestDto branch = new BranchRequestDto();
+        branch.setName("Old name");
+        branch.setFranchiseId(franchiseId);
+        Long branchId = node.getBean(BranchService.class).createBranch(branch).block().getId();
+
+        Long productId = node.getBean(ProductService.class).createProduct(product("Coffee", branchId)).block().getId();
+        return new Catalog(branchId, productId);
+    }
+
+    private static void warmCaches(ConfigurableApplicationContext node, Catalog catalog) {
+        assertThat(node.getBean(ProductService.class).createProduct(product("Warm-up", catalog.branchId())).block().getBranchName())
+                .isEqualTo("Old name");
+        assertThat(stockSeenBy(node, catalog)).isEqualTo(5);
+        assertThat(stockSeenBy(node, catalog)).isEqualTo(5);
+        assertThat(listedBy(node, catalog)).isEqualTo(List.of("Old name", 5));
+        assertThat(listedBy(node, catalog)).isEqualTo(List.of("Old name", 5));
+    }
+
+    private static void writeThrough(ConfigurableApplicationContext node, Catalog catalog) {
+        UpdateNameRequestDto rename = new UpdateNameRequestDto();
+        rename.setName("New name");
+        node.getBean(BranchService.class).updateBranchName(catalog.branchId(), rename).block();
+
+        UpdateStockRequestDto stock = new UpdateStockRequestDto();
+        stock.setStock(42);
+        node.getBean(ProductService.class).updateProductStock(catalog.productId(), stock).block();
+    }
+
+    private static void assertSeesWrites(ConfigurableApplicationContext node, Catalog catalog) {
+        assertThat(stockSeenBy(node, catalog)).isEqualTo(42);
+        assertThat(listedBy(node, catalog)).isEqualTo(List.of("New name", 42));
+        assertThat(node.getBean(ProductService.class).createProduct(product("Tea " + System.nanoTime(), catalog.branchId())).block().getBranchName())
+                .isEqualTo("New name");
+    }
+
+    private static Integer stockSeenBy(ConfigurableApplicationContext node, Catalog catalog) {
+        return node.getBean(ProductRepository.class).findById(catalog.productId()).map(Product::getStock).orElseThrow();
+    }
+
+    /**
+     * Branch name and stock of the product as the cached listing shows them.
+     */
+    private static List<Object> listedBy(ConfigurableApplicationContext node, Catalog catalog) {
+        ProductResponseDto listed = node.getBean(ProductService.class).getProductsByBranchId(catalog.branchId(), 0, 1).block()
+                .getItems().get(0);
+        assertThat(listed.getId()).isEqualTo(catalog.productId());
+        return List.of(listed.getBranchName(), listed.getStock());
+    }
+
+    private static ProductRequestDto product(String name, Long branchId) {
+        ProductRequestDto request = new ProductRequestDto();
+        request.setName(name);
+        request.setStock(5);
+        request.setBranchId(branchId);
+        return request;
+    }
+
+    private static void eventually(Duration timeout, Runnable assertion) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            try {
+                assertion.run();
+                return;
+            } catch (AssertionError e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(POLL_INTERVAL.toMillis() / 2);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private record Catalog(Long branchId, Long productId) {
+    }
+}
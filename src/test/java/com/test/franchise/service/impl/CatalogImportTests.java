@@ -0,0 +1,116 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.dto.request.CatalogImportLineDto;
+import com.test.franchise.dto.response.ImportProgressDto;
+import com.test.franchise.repository.FranchiseRepository;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.CatalogImportService;
+import com.test.franchise.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "franchise.bulk.chunk-size=100")
+@ActiveProfiles("test")
+class CatalogImportTests {
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @Autowired
+    private FranchiseRepository franchiseRepository;
+
+    @Autowired
+    private BranchService branchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void importsFranchisesBranchesAndProductsInChunks() {
+        String franchise = "Imported " + System.nanoTime();
+        List<CatalogImportLineDto> lines = new ArrayList<>();
+        lines.add(line(franchise, null, null, null));
+        for (int branch = 0; branch < 5; branch++) {
+            for (int product = 0; product < 200; product++) {
+                lines.add(line(franchise, "Branch " + branch, "Product " + product, product));
+            }
+        }
+        lines.add(line(franchise, "Branch 0", "Product 0", 1));
+        lines.add(line(franchise, "Branch 0", "Product without stock", null));
+        lines.add(line(" ", "Branch 0", "Orphan", 1));
+
+        List<ImportProgressDto> progress = catalogImportService.importCatalog(Flux.fromIterable(lines))
+                .collectList()
+                .block();
+
+        assertThat(progress).hasSize(11);
+        ImportProgressDto summary = progress.get(progress.size() - 1);
+        assertThat(summary.getProcessed()).isEqualTo(lines.size());
+        assertThat(summary.getFranchisesCreated()).isEqualTo(1);
+        assertThat(summary.getBranchesCreated()).isEqualTo(5);
+        assertThat(summary.getProductsCreated()).isEqualTo(1000);
+        assertThat(summary.getDuplicatesSkipped()).isEqualTo(1);
+        assertThat(summary.getRejected()).isEqualTo(2);
+
+        Long franchiseId = franchiseRepository.findByName(franchise).orElseThrow().getId();
+        Long branchId = branchService.getBranchesByFranchiseId(franchiseId, 0, 10).block().getItems().get(0).getId();
+        assertThat(productService.getProductsByBranchId(branchId, 0, 500).block().getItems()).hasSize(200);
+    }
+
+    @Test
+    void reimportingSkipsExistingProducts() {
+        String franchise = "Reimported " + System.nanoTime();
+        List<CatalogImportLineDto> lines = List.of(
+                line(franchise, "Main", "Coffee", 1),
+                line(franchise, "Main", "Tea", 2));
+
+        catalogImportService.importCatalog(Flux.fromIterable(lines)).blockLast();
+        ImportProgressDto second = catalogImportService.importCatalog(Flux.fromIterable(lines)).blockLast();
+
+        assertThat(second.getFranchisesCreated()).isZero();
+        assertThat(second.getBranchesCreated()).isZero();
+        assertThat(second.getProductsCreated()).isZero();
+        assertThat(second.getDuplicatesSkipped()).isEqualTo(2);
+    }
+
+    @Test
+    void pooledIdsLetProductInsertsRunAsJdbcBatches() {
+        String franchise = "Batched " + System.nanoTime();
+        List<CatalogImportLineDto> lines = new ArrayList<>();
+        for (int product = 0; product < 10_000; product++) {
+            lines.add(line(franchise, "Warehouse", "Product " + product, product));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ImportProgressDto summary = catalogImportService.importCatalog(Flux.fromIterable(lines)).blockLast();
+
+        assertThat(summary.getProductsCreated()).isEqualTo(10_000);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(10_003);
+        // One insert per row would need 10k statements; batches of hibernate.jdbc.batch_size need a few hundred
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(1_000);
+    }
+
+    private static CatalogImportLineDto line(String franchise, String branch, String product, Integer stock) {
+        CatalogImportLineDto line = new CatalogImportLineDto();
+        line.setFranchise(franchise);
+        line.setBranch(branch);
+        line.setProduct(product);
+        line.setStock(stock);
+        return line;
+    }
+}
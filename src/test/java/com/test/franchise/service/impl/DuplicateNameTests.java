@@ -0,0 +1,130 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.dto.request.BranchRequestDto;
+import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.dto.request.ProductRequestDto;
+import com.test.franchise.dto.request.UpdateNameRequestDto;
+import com.test.franchise.exception.DuplicateEntityException;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Duplicate names are rejected by the unique constraints, so concurrent creates of the same name must
+ * leave exactly one row no matter how they interleave.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DuplicateNameTests {
+
+    private static final int REQUESTS = 16;
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private BranchService branchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void concurrentFranchiseCreatesKeepOne() {
+        FranchiseRequestDto request = franchiseRequest("Concurrent " + System.nanoTime());
+
+        assertOneCreated(() -> franchiseService.createFranchise(request));
+    }
+
+    @Test
+    void concurrentBranchCreatesKeepOnePerFranchise() {
+        Long franchiseId = createFranchise();
+
+        assertOneCreated(() -> branchService.createBranch(branchRequest("Main", franchiseId)));
+        assertThat(branchService.createBranch(branchRequest("Main", createFranchise())).block()).isNotNull();
+    }
+
+    @Test
+    void concurrentProductCreatesKeepOnePerBranch() {
+        Long branchId = branchService.createBranch(branchRequest("Main", createFranchise())).block().getId();
+
+        assertOneCreated(() -> productService.createProduct(productRequest("Coffee", branchId)));
+        assertThat(productService.getProductsByBranchId(branchId, 0, 10).block().getItems()).hasSize(1);
+    }
+
+    @Test
+    void renamesIntoATakenNameAreRejected() {
+        Long franchiseId = createFranchise();
+        Long branchId = branchService.createBranch(branchRequest("North", franchiseId)).block().getId();
+        Long otherBranchId = branchService.createBranch(branchRequest("South", franchiseId)).block().getId();
+        productService.createProduct(productRequest("Coffee", branchId)).block();
+        Long teaId = productService.createProduct(productRequest("Tea", branchId)).block().getId();
+
+        StepVerifier.create(branchService.updateBranchName(otherBranchId, nameRequest("North")))
+                .expectError(DuplicateEntityException.class)
+                .verify();
+        StepVerifier.create(productService.updateProductName(teaId, nameRequest("Coffee")))
+                .expectError(DuplicateEntityException.class)
+                .verify();
+        StepVerifier.create(productService.updateProductName(teaId, nameRequest("Tea")))
+                .assertNext(product -> assertThat(product.getName()).isEqualTo("Tea"))
+                .verifyComplete();
+        assertThat(branchService.getBranchById(otherBranchId).block().getName()).isEqualTo("South");
+    }
+
+    private void assertOneCreated(Supplier<Mono<?>> create) {
+        List<Object> outcomes = Flux.range(0, REQUESTS)
+                .flatMap(i -> create.get()
+                        .<Object>map(created -> "created")
+                        .onErrorResume(DuplicateEntityException.class, Mono::just), REQUESTS)
+                .collectList()
+                .block(Duration.ofSeconds(60));
+
+        assertThat(outcomes).hasSize(REQUESTS);
+        assertThat(outcomes).filteredOn("created"::equals).hasSize(1);
+        assertThat(outcomes).filteredOn(DuplicateEntityException.class::isInstance).hasSize(REQUESTS - 1);
+    }
+
+    private Long createFranchise() {
+        return franchiseService.createFranchise(franchiseRequest("Duplicates " + System.nanoTime())).block().getId();
+    }
+
+    private static FranchiseRequestDto franchiseRequest(String name) {
+        FranchiseRequestDto request = new FranchiseRequestDto();
+        request.setName(name);
+        return request;
+    }
+
+    private static BranchRequestDto branchRequest(String name, Long franchiseId) {
+        BranchRequestDto request = new BranchRequestDto();
+        request.setName(name);
+        request.setFranchiseId(franchiseId);
+        return request;
+    }
+
+    private static ProductRequestDto productRequest(String name, Long branchId) {
+        ProductRequestDto request = new ProductRequestDto();
+        request.setName(name);
+        request.setStock(1);
+        request.setBranchId(branchId);
+        return request;
+    }
+
+    private static UpdateNameRequestDto nameRequest(String name) {
+        UpdateNameRequestDto request = new UpdateNameRequestDto();
+        request.setName(name);
+        return request;
+    }
+}
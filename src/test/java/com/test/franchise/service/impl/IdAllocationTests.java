@@ -0,0 +1,69 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.dto.request.BranchRequestDto;
+import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.dto.request.ProductRequestDto;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Identifier blocks are reserved apart from the application pool, so inserts keep going when the inserting
+ * transaction holds its only connection.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:id_allocation_tests;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=1",
+        "spring.datasource.hikari.connection-timeout=2000",
+        "spring.flyway.url=jdbc:h2:mem:id_allocation_tests;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.user=sa",
+        "franchise.persistence.id-allocation-size=2"
+})
+@ActiveProfiles("test")
+class IdAllocationTests {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private BranchService branchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void refillsBlocksWhileHoldingTheOnlyPooledConnection() {
+        FranchiseRequestDto franchise = new FranchiseRequestDto();
+        franchise.setName("Single connection " + System.nanoTime());
+        BranchRequestDto branch = new BranchRequestDto();
+        branch.setName("Main");
+        branch.setFranchiseId(franchiseService.createFranchise(franchise).block().getId());
+        Long branchId = branchService.createBranch(branch).block().getId();
+
+        List<Long> ids = Flux.range(0, 5)
+                .concatMap(i -> productService.createProduct(productRequest("Product " + i, branchId)))
+                .map(product -> product.getId())
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        assertThat(ids).hasSize(5).doesNotHaveDuplicates();
+    }
+
+    private static ProductRequestDto productRequest(String name, Long branchId) {
+        ProductRequestDto request = new ProductRequestDto();
+        request.setName(name);
+        request.setStock(1);
+        request.setBranchId(branchId);
+        return request;
+    }
+}
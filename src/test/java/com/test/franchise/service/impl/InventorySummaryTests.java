@@ -0,0 +1,113 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.dto.request.BranchRequestDto;
+import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.dto.request.ProductRequestDto;
+import com.test.franchise.dto.request.UpdateStockRequestDto;
+import com.test.franchise.dto.response.InventorySummaryResponseDto;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class InventorySummaryTests {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private BranchService branchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void aggregatesStockPerBranchIncludingEmptyBranches() {
+        Long franchiseId = createFranchise("Inventory");
+        Long north = createBranch("North", franchiseId);
+        Long empty = createBranch("Empty", franchiseId);
+        createProduct("Coffee", 10, north);
+        createProduct("Tea", 0, north);
+        createProduct("Milk", 5, north);
+
+        InventorySummaryResponseDto summary = franchiseService.getInventorySummary(franchiseId, false).block();
+
+        assertThat(summary.getFranchiseName()).startsWith("Inventory");
+        assertThat(summary.getGeneratedAt()).isNotNull();
+        List<InventorySummaryResponseDto.BranchInventory> branches = summary.getBranches();
+        assertThat(branches).extracting(InventorySummaryResponseDto.BranchInventory::getBranchId)
+                .containsExactly(north, empty);
+        assertThat(branches.get(0)).satisfies(inventory -> {
+            assertThat(inventory.getProductCount()).isEqualTo(3);
+            assertThat(inventory.getTotalStock()).isEqualTo(15);
+            assertThat(inventory.getMinStock()).isZero();
+            assertThat(inventory.getMaxStock()).isEqualTo(10);
+            assertThat(inventory.getAverageStock()).isEqualTo(5.0);
+            assertThat(inventory.getOutOfStockCount()).isEqualTo(1);
+        });
+        assertThat(branches.get(1)).satisfies(inventory -> {
+            assertThat(inventory.getProductCount()).isZero();
+            assertThat(inventory.getTotalStock()).isZero();
+            assertThat(inventory.getMinStock()).isNull();
+            assertThat(inventory.getAverageStock()).isNull();
+            assertThat(inventory.getOutOfStockCount()).isZero();
+        });
+    }
+
+    @Test
+    void isEmptyForAnUnknownFranchise() {
+        assertThat(franchiseService.getInventorySummary(Long.MAX_VALUE, false).blockOptional()).isEmpty();
+        assertThat(franchiseService.getInventorySummary(Long.MAX_VALUE, true).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void cachedSummaryIsReusedUntilTheFranchiseGainsABranch() {
+        Long franchiseId = createFranchise("Cached inventory");
+        Long branchId = createBranch("Main", franchiseId);
+        Long productId = createProduct("Coffee", 10, branchId);
+
+        InventorySummaryResponseDto first = franchiseService.getInventorySummary(franchiseId, true).block();
+        UpdateStockRequestDto stock = new UpdateStockRequestDto();
+        stock.setStock(3);
+        productService.updateProductStock(productId, stock).block();
+
+        assertThat(franchiseService.getInventorySummary(franchiseId, true).block()).isSameAs(first);
+        assertThat(franchiseService.getInventorySummary(franchiseId, false).block().getBranches())
+                .singleElement()
+                .satisfies(inventory -> assertThat(inventory.getTotalStock()).isEqualTo(3));
+
+        createBranch("Second", franchiseId);
+
+        assertThat(franchiseService.getInventorySummary(franchiseId, true).block().getBranches()).hasSize(2);
+    }
+
+    private Long createFranchise(String name) {
+        FranchiseRequestDto request = new FranchiseRequestDto();
+        request.setName(name + " " + System.nanoTime());
+        return franchiseService.createFranchise(request).block().getId();
+    }
+
+    private Long createBranch(String name, Long franchiseId) {
+        BranchRequestDto request = new BranchRequestDto();
+        request.setName(name);
+        request.setFranchiseId(franchiseId);
+        return branchService.createBranch(request).block().getId();
+    }
+
+    private Long createProduct(String name, int stock, Long branchId) {
+        ProductRequestDto request = new ProductRequestDto();
+        request.setName(name);
+        request.setStock(stock);
+        request.setBranchId(branchId);
+        return productService.createProduct(request).block().getId();
+    }
+}
@@ -0,0 +1,105 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.dto.request.BranchRequestDto;
+import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.dto.request.ProductRequestDto;
+import com.test.franchise.dto.response.BranchResponseDto;
+import com.test.franchise.dto.response.FranchiseResponseDto;
+import com.test.franchise.dto.response.KeysetPage;
+import com.test.franchise.dto.response.ProductResponseDto;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class KeysetPaginationTests {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private BranchService branchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void walksProductsOfABranchPageByPage() {
+        Long franchiseId = createFranchise("Products");
+        Long branchId = createBranch("Main", franchiseId);
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            productIds.add(createProduct("Product " + i, branchId));
+        }
+
+        KeysetPage<ProductResponseDto> first = productService.getProductsByBranchId(branchId, 0, 3).block();
+        KeysetPage<ProductResponseDto> second = productService.getProductsByBranchId(branchId, first.getNextCursor(), 3).block();
+        KeysetPage<ProductResponseDto> last = productService.getProductsByBranchId(branchId, second.getNextCursor(), 3).block();
+
+        assertThat(first.getItems()).extracting(ProductResponseDto::getId).containsExactlyElementsOf(productIds.subList(0, 3));
+        assertThat(first.getNextCursor()).isEqualTo(productIds.get(2));
+        assertThat(second.getItems()).extracting(ProductResponseDto::getId).containsExactlyElementsOf(productIds.subList(3, 6));
+        assertThat(last.getItems()).extracting(ProductResponseDto::getId).containsExactly(productIds.get(6));
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    void exactlyFullLastPageHasNoCursor() {
+        Long franchiseId = createFranchise("Branches");
+        Long firstBranch = createBranch("North", franchiseId);
+        Long secondBranch = createBranch("South", franchiseId);
+
+        KeysetPage<BranchResponseDto> page = branchService.getBranchesByFranchiseId(franchiseId, 0, 2).block();
+
+        assertThat(page.getItems()).extracting(BranchResponseDto::getId).containsExactly(firstBranch, secondBranch);
+        assertThat(page.getItems()).extracting(BranchResponseDto::getFranchiseId).containsOnly(franchiseId);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void pagesFranchisesWithTheirBranches() {
+        Long first = createFranchise("First");
+        Long second = createFranchise("Second");
+        Long third = createFranchise("Third");
+        Long branchId = createBranch("Only branch", second);
+
+        KeysetPage<FranchiseResponseDto> page = franchiseService.getAllFranchises(first - 1, 2).block();
+        KeysetPage<FranchiseResponseDto> next = franchiseService.getAllFranchises(page.getNextCursor(), 2).block();
+
+        assertThat(page.getItems()).extracting(FranchiseResponseDto::getId).containsExactly(first, second);
+        assertThat(page.getItems().get(1).getBranches()).extracting(BranchResponseDto::getId).containsExactly(branchId);
+        assertThat(next.getItems()).extracting(FranchiseResponseDto::getId).containsExactly(third);
+        assertThat(next.getNextCursor()).isNull();
+    }
+
+    private Long createFranchise(String name) {
+        FranchiseRequestDto request = new FranchiseRequestDto();
+        request.setName(name + " " + System.nanoTime());
+        return franchiseService.createFranchise(request).block().getId();
+    }
+
+    private Long createBranch(String name, Long franchiseId) {
+        BranchRequestDto request = new BranchRequestDto();
+        request.setName(name);
+        request.setFranchiseId(franchiseId);
+        return branchService.createBranch(request).block().getId();
+    }
+
+    private Long createProduct(String name, Long branchId) {
+        ProductRequestDto request = new ProductRequestDto();
+        request.setName(name);
+        request.setStock(1);
+        request.setBranchId(branchId);
+        return productService.createProduct(request).block().getId();
+    }
+}
@@ -0,0 +1,142 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.dto.request.BranchRequestDto;
+import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.dto.request.ProductRequestDto;
+import com.test.franchise.dto.request.UpdateNameRequestDto;
+import com.test.franchise.dto.response.BranchResponseDto;
+import com.test.franchise.dto.response.ProductResponseDto;
+import com.test.franchise.exception.EntityNotFoundException;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.ProductService;
+import com.test.franchise.service.support.CatalogMetadataCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Franchise and branch names are served from the metadata cache on the create paths; renames and deletes
+ * must never leave a stale entry behind.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class MetadataCacheTests {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private BranchService branchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CatalogMetadataCache metadataCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void servesBranchNamesFromTheCache() {
+        Long franchiseId = createFranchise("Cached");
+        Long branchId = createBranch("Downtown", franchiseId).getId();
+        double hitsBefore = branchHits();
+
+        ProductResponseDto first = createProduct("Coffee", branchId);
+        ProductResponseDto second = createProduct("Tea", branchId);
+
+        assertThat(first.getBranchName()).isEqualTo("Downtown");
+        assertThat(second.getBranchName()).isEqualTo("Downtown");
+        assertThat(branchHits()).isGreaterThanOrEqualTo(hitsBefore + 2);
+    }
+
+    @Test
+    void renamingABranchEvictsItsEntry() {
+        Long franchiseId = createFranchise("Branch rename");
+        Long branchId = createBranch("Old name", franchiseId).getId();
+        createProduct("Coffee", branchId);
+
+        branchService.updateBranchName(branchId, rename("New name")).block();
+
+        assertThat(createProduct("Tea", branchId).getBranchName()).isEqualTo("New name");
+    }
+
+    @Test
+    void renamingAFranchiseEvictsItAndItsBranches() {
+        Long franchiseId = createFranchise("Before");
+        Long branchId = createBranch("Main", franchiseId).getId();
+
+        franchiseService.updateFranchiseName(franchiseId, rename("After " + System.nanoTime())).block();
+        String renamed = franchiseService.getFranchiseById(franchiseId).block().getName();
+
+        assertThat(createBranch("Second", franchiseId).getFranchiseName()).isEqualTo(renamed);
+        assertThat(createProduct("Coffee", branchId).getBranchName()).isEqualTo("Main");
+    }
+
+    @Test
+    void deletedFranchisesAreNotServedFromTheCache() {
+        Long franchiseId = createFranchise("Deleted");
+        createBranch("Main", franchiseId);
+
+        franchiseService.deleteFranchise(franchiseId).block();
+
+        assertThatThrownBy(() -> createBranch("Ghost", franchiseId))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    void franchisesDeletedElsewhereAreNotFoundDespiteACachedEntry() {
+        Long franchiseId = createFranchise("Deleted elsewhere");
+        createBranch("Main", franchiseId);
+        // Another instance deletes the franchise; its invalidation has not arrived yet.
+        jdbcTemplate.update("DELETE FROM branches WHERE franchise_id = ?", franchiseId);
+        jdbcTemplate.update("DELETE FROM franchises WHERE id = ?", franchiseId);
+
+        assertThatThrownBy(() -> createBranch("Ghost", franchiseId))
+                .isInstanceOf(EntityNotFoundException.class);
+        assertThat(metadataCache.franchise(franchiseId, id -> null)).isNull();
+    }
+
+    private double branchHits() {
+        return meterRegistry.get("cache.gets").tag("cache", "branch.metadata").tag("result", "hit")
+                .functionCounter().count();
+    }
+
+    private Long createFranchise(String name) {
+        FranchiseRequestDto request = new FranchiseRequestDto();
+        request.setName(name + " " + System.nanoTime());
+        return franchiseService.createFranchise(request).block().getId();
+    }
+
+    private BranchResponseDto createBranch(String name, Long franchiseId) {
+        BranchRequestDto request = new BranchRequestDto();
+        request.setName(name);
+        request.setFranchiseId(franchiseId);
+        return branchService.createBranch(request).block();
+    }
+
+    private ProductResponseDto createProduct(String name, Long branchId) {
+        ProductRequestDto request = new ProductRequestDto();
+        request.setName(name);
+        request.setStock(5);
+        request.setBranchId(branchId);
+        return productService.createProduct(request).block();
+    }
+
+    private static UpdateNameRequestDto rename(String name) {
+        UpdateNameRequestDto request = new UpdateNameRequestDto();
+        request.setName(name);
+        return request;
+    }
+}
@@ -0,0 +1,220 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.dto.request.AdjustStockRequestDto;
+import com.test.franchise.dto.request.BranchRequestDto;
+import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.dto.request.ProductRequestDto;
+import com.test.franchise.dto.request.UpdateNameRequestDto;
+import com.test.franchise.dto.request.UpdateStockRequestDto;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.ProductService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Upper bounds on the SQL statements each operation is allowed to prepare.
+ * Raising a budget must be a deliberate decision, not a side effect. Reads run against several branches and
+ * products, so a per-row lazy load would blow their budget.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class QueryBudgetTests {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private BranchService branchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long franchiseId;
+    private Long branchId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assertThat(statistics.isStatisticsEnabled()).as("hibernate.generate_statistics").isTrue();
+        String suffix = String.valueOf(System.nanoTime());
+        franchiseId = franchiseService.createFranchise(franchiseRequest("Franchise " + suffix)).block().getId();
+        branchId = branchService.createBranch(branchRequest("Branch " + suffix, franchiseId)).block().getId();
+        productId = productService.createProduct(productRequest("Product " + suffix, branchId)).block().getId();
+    }
+
+    @Test
+    void createFranchise() {
+        assertStatementBudget(1, () -> franchiseService.createFranchise(franchiseRequest("Budget franchise " + System.nanoTime())).block());
+    }
+
+    @Test
+    void updateFranchiseName() {
+        assertStatementBudget(2, () -> franchiseService.updateFranchiseName(franchiseId, nameRequest("Renamed " + franchiseId)).block());
+    }
+
+    @Test
+    void createBranch() {
+        // The franchise is only read on a metadata cache miss.
+        assertStatementBudget(2, () -> branchService.createBranch(branchRequest("Budget branch", franchiseId)).block());
+    }
+
+    @Test
+    void updateBranchName() {
+        assertStatementBudget(2, () -> branchService.updateBranchName(branchId, nameRequest("Renamed branch")).block());
+    }
+
+    @Test
+    void createProduct() {
+        // Branch lock and insert, plus reading and writing the branch top stock.
+        assertStatementBudget(4, () -> productService.createProduct(productRequest("Budget product", branchId)).block());
+    }
+
+    @Test
+    void updateProductName() {
+        assertStatementBudget(2, () -> productService.updateProductName(productId, nameRequest("Renamed product")).block());
+    }
+
+    @Test
+    void updateProductStock() {
+        UpdateStockRequestDto request = new UpdateStockRequestDto();
+        request.setStock(7);
+        // Product row and branch lock, the update, then branch_top_stock: lowering the top product's stock
+        // rescans the branch before writing it. The response is built from the row read before the update.
+        assertStatementBudget(6, () -> productService.updateProductStock(productId, request).block());
+    }
+
+    @Test
+    void adjustProductStock() {
+        AdjustStockRequestDto request = new AdjustStockRequestDto();
+        request.setDelta(5);
+        // Product row and branch lock, the update and a re-read of the resulting stock, then branch_top_stock.
+        assertStatementBudget(6, () -> productService.adjustProductStock(productId, request).block());
+    }
+
+    @Test
+    void getFranchiseById() {
+        addCatalog();
+        assertStatementBudget(1, () -> assertThat(franchiseService.getFranchiseById(franchiseId).block().getBranches()).hasSize(4));
+    }
+
+    @Test
+    void getAllFranchises() {
+        addCatalog();
+        // Page of ids, then the rows of those franchises with their branches.
+        assertStatementBudget(2, () -> franchiseService.getAllFranchises(franchiseId - 1, 10).block());
+    }
+
+    @Test
+    void getBranchById() {
+        addCatalog();
+        assertStatementBudget(1, () -> assertThat(branchService.getBranchById(branchId).block().getProducts()).hasSize(4));
+    }
+
+    @Test
+    void getBranchesByFranchiseId() {
+        addCatalog();
+        assertStatementBudget(1, () -> assertThat(branchService.getBranchesByFranchiseId(franchiseId, 0, 10).block().getItems()).hasSize(4));
+    }
+
+    @Test
+    void getProductsByBranchId() {
+        addCatalog();
+        assertStatementBudget(1, () -> assertThat(productService.getProductsByBranchId(branchId, 0, 10).block().getItems()).hasSize(4));
+    }
+
+    @Test
+    void getProductById() {
+        assertStatementBudget(1, () -> productService.getProductById(productId).block());
+    }
+
+    @Test
+    void getTopStockProductsByFranchise() {
+        addCatalog();
+        assertStatementBudget(2, () -> assertThat(franchiseService.getTopStockProductsByFranchise(franchiseId).block().getBranchTopProducts()).hasSize(4));
+    }
+
+    @Test
+    void getTopNStockProductsByFranchise() {
+        addCatalog();
+        assertStatementBudget(3, () -> franchiseService.getTopNStockProductsByFranchise(franchiseId, 2).block());
+    }
+
+    @Test
+    void getInventorySummary() {
+        addCatalog();
+        assertStatementBudget(2, () -> assertThat(franchiseService.getInventorySummary(franchiseId, false).block().getBranches()).hasSize(4));
+    }
+
+    @Test
+    void resourceVersions() {
+        addCatalog();
+        assertStatementBudget(1, () -> franchiseService.getFranchiseVersion(franchiseId).block());
+        assertStatementBudget(1, () -> branchService.getBranchVersion(branchId).block());
+        assertStatementBudget(1, () -> productService.getProductVersion(productId).block());
+    }
+
+    /**
+     * Three more products in the existing branch and three more branches with three products each.
+     */
+    private void addCatalog() {
+        for (int product = 0; product < 3; product++) {
+            productService.createProduct(productRequest("Extra " + product, branchId)).block();
+        }
+        for (int branch = 0; branch < 3; branch++) {
+            Long extraBranchId = branchService.createBranch(branchRequest("Extra " + branch, franchiseId)).block().getId();
+            for (int product = 0; product < 3; product++) {
+                productService.createProduct(productRequest("Extra " + product, extraBranchId)).block();
+            }
+        }
+    }
+
+    private void assertStatementBudget(long budget, Runnable operation) {
+        statistics.clear();
+        operation.run();
+        assertThat(statistics.getPrepareStatementCount())
+                .as("prepared statements")
+                .isPositive()
+                .isLessThanOrEqualTo(budget);
+    }
+
+    private static FranchiseRequestDto franchiseRequest(String name) {
+        FranchiseRequestDto request = new FranchiseRequestDto();
+        request.setName(name);
+        return request;
+    }
+
+    private static BranchRequestDto branchRequest(String name, Long franchiseId) {
+        BranchRequestDto request = new BranchRequestDto();
+        request.setName(name);
+        request.setFranchiseId(franchiseId);
+        return request;
+    }
+
+    private static ProductRequestDto productRequest(String name, Long branchId) {
+        ProductRequestDto request = new ProductRequestDto();
+        request.setName(name);
+        request.setStock(10);
+        request.setBranchId(branchId);
+        return request;
+    }
+
+    private static UpdateNameRequestDto nameRequest(String name) {
+        UpdateNameRequestDto request = new UpdateNameRequestDto();
+        request.setName(name);
+        return request;
+    }
+}
@@ -0,0 +1,70 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.dto.request.BranchRequestDto;
+import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.dto.request.ProductRequestDto;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * R2DBC counterpart of {@link IdAllocationTests}: blocks are reserved on their own pool, so inserts keep
+ * going when the inserting transaction holds the only connection of the application pool.
+ */
+@SpringBootTest(properties = {
+        "franchise.persistence.mode=r2dbc",
+        "franchise.persistence.r2dbc.url=r2dbc:h2:mem:///reactive_id_allocation_tests?MODE=MySQL&DATABASE_TO_LOWER=TRUE&DB_CLOSE_DELAY=-1",
+        "franchise.persistence.r2dbc.initial-pool-size=1",
+        "franchise.persistence.r2dbc.max-pool-size=1",
+        "franchise.persistence.id-allocation-size=2",
+        "spring.flyway.url=jdbc:h2:mem:reactive_id_allocation_tests;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.user=sa"
+})
+@ActiveProfiles("test")
+class ReactiveIdAllocationTests {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private BranchService branchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void refillsBlocksWhileHoldingTheOnlyPooledConnection() {
+        FranchiseRequestDto franchise = new FranchiseRequestDto();
+        franchise.setName("Single connection");
+        BranchRequestDto branch = new BranchRequestDto();
+        branch.setName("Main");
+        branch.setFranchiseId(franchiseService.createFranchise(franchise).block(Duration.ofSeconds(10)).getId());
+        Long branchId = branchService.createBranch(branch).block(Duration.ofSeconds(10)).getId();
+
+        List<Long> ids = Flux.range(0, 5)
+                .concatMap(i -> productService.createProduct(productRequest("Product " + i, branchId)))
+                .map(product -> product.getId())
+                .collectList()
+                .block(Duration.ofSeconds(30));
+
+        assertThat(ids).hasSize(5).doesNotHaveDuplicates();
+    }
+
+    private static ProductRequestDto productRequest(String name, Long branchId) {
+        ProductRequestDto request = new ProductRequestDto();
+        request.setName(name);
+        request.setStock(1);
+        request.setBranchId(branchId);
+        return request;
+    }
+}
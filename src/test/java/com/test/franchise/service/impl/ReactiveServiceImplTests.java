@@ -0,0 +1,354 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.domain.CacheInvalidationEvent;
+import com.test.franchise.dto.request.AdjustStockRequestDto;
+import com.test.franchise.dto.request.BranchRequestDto;
+import com.test.franchise.dto.request.CatalogImportLineDto;
+import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.dto.request.ProductRequestDto;
+import com.test.franchise.dto.request.StockUpdateItemDto;
+import com.test.franchise.dto.request.UpdateNameRequestDto;
+import com.test.franchise.dto.request.UpdateStockRequestDto;
+import com.test.franchise.dto.response.ProductResponseDto;
+import com.test.franchise.dto.response.ResourceVersion;
+import com.test.franchise.dto.response.TopStockProductResponseDto;
+import com.test.franchise.exception.DuplicateEntityException;
+import com.test.franchise.exception.EntityNotFoundException;
+import com.test.franchise.exception.InsufficientStockException;
+import com.test.franchise.repository.CacheInvalidationLog;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.CatalogImportService;
+import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.ProductService;
+import com.test.franchise.service.support.CacheInvalidation;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "franchise.persistence.mode=r2dbc",
+        "franchise.persistence.r2dbc.url=r2dbc:h2:mem:///reactive_service_tests?MODE=MySQL&DATABASE_TO_LOWER=TRUE&DB_CLOSE_DELAY=-1",
+        "spring.flyway.url=jdbc:h2:mem:reactive_service_tests;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.flyway.user=sa"
+})
+@ActiveProfiles("test")
+class ReactiveServiceImplTests {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private BranchService branchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @Autowired
+    private CacheInvalidationLog invalidationLog;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void wiresReactiveImplementations() {
+        assertThat(franchiseService).isInstanceOf(ReactiveFranchiseServiceImpl.class);
+        assertThat(branchService).isInstanceOf(ReactiveBranchServiceImpl.class);
+        assertThat(productService).isInstanceOf(ReactiveProductServiceImpl.class);
+    }
+
+    @Test
+    void updatesStockAndTheVersionsOfItsParents() {
+        Catalog catalog = seedCatalog();
+        ResourceVersion branchVersion = branchService.getBranchVersion(catalog.branchId()).block();
+        assertThat(branchVersion.children()).isEqualTo(2);
+
+        StepVerifier.create(productService.updateProductStock(catalog.coffeeId(), stockRequest(30)))
+                .assertNext(product -> {
+                    assertThat(product.getStock()).isEqualTo(30);
+                    assertThat(product.getBranchName()).isEqualTo("Downtown");
+                })
+                .verifyComplete();
+
+        assertThat(branchService.getBranchVersion(catalog.branchId()).block().eTag()).isNotEqualTo(branchVersion.eTag());
+        assertThat(franchiseService.getFranchiseVersion(catalog.franchiseId()).block().children()).isEqualTo(1);
+        assertThat(productService.getProductVersion(catalog.coffeeId()).block()).isNotNull();
+    }
+
+    @Test
+    void adjustsStockWithinTheAvailableQuantity() {
+        Catalog catalog = seedCatalog();
+
+        StepVerifier.create(productService.adjustProductStock(catalog.coffeeId(), deltaRequest(-2)))
+                .assertNext(product -> {
+                    assertThat(product.getStock()).isEqualTo(3);
+                    assertThat(product.getBranchName()).isEqualTo("Downtown");
+                    assertThat(product.getUpdatedAt()).isAfter(product.getCreatedAt());
+                })
+                .verifyComplete();
+        StepVerifier.create(productService.adjustProductStock(catalog.coffeeId(), deltaRequest(-4)))
+                .expectError(InsufficientStockException.class)
+                .verify();
+        StepVerifier.create(productService.getProductById(catalog.coffeeId()).map(ProductResponseDto::getStock))
+                .expectNext(3)
+                .verifyComplete();
+    }
+
+    @Test
+    void reportsEachItemOfABulkStockUpdate() {
+        Catalog catalog = seedCatalog();
+
+        StepVerifier.create(productService.updateProductStocks(Flux.just(stockUpdate(catalog.coffeeId(), 25), stockUpdate(Long.MAX_VALUE, 1))))
+                .assertNext(result -> assertThat(result.isUpdated()).isTrue())
+                .assertNext(result -> assertThat(result.isUpdated()).isFalse())
+                .verifyComplete();
+    }
+
+    @Test
+    void ranksTheTopStockProducts() {
+        Catalog catalog = seedCatalog();
+        productService.updateProductStock(catalog.coffeeId(), stockRequest(25)).block();
+
+        StepVerifier.create(franchiseService.getTopStockProductsByFranchise(catalog.franchiseId()))
+                .assertNext(result -> assertThat(result.getBranchTopProducts())
+                        .singleElement()
+                        .satisfies(top -> assertThat(top.getProductId()).isEqualTo(catalog.coffeeId())))
+                .verifyComplete();
+
+        StepVerifier.create(franchiseService.getTopNStockProductsByFranchise(catalog.franchiseId(), 1))
+                .assertNext(result -> {
+                    assertThat(result.getBranchTopProducts()).extracting(TopStockProductResponseDto.BranchTopProduct::getProductId)
+                            .containsExactly(catalog.coffeeId());
+                    assertThat(result.getFranchiseTopProducts()).extracting(TopStockProductResponseDto.BranchTopProduct::getStock)
+                            .containsExactly(25);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void summarizesTheInventory() {
+        Catalog catalog = seedCatalog();
+
+        StepVerifier.create(franchiseService.getInventorySummary(catalog.franchiseId(), false))
+                .assertNext(summary -> assertThat(summary.getBranches()).singleElement()
+                        .satisfies(inventory -> {
+                            assertThat(inventory.getProductCount()).isEqualTo(2);
+                            assertThat(inventory.getTotalStock()).isEqualTo(17);
+                            assertThat(inventory.getMinStock()).isEqualTo(5);
+                            assertThat(inventory.getAverageStock()).isEqualTo(8.5);
+                        }))
+                .verifyComplete();
+    }
+
+    @Test
+    void renamesABranchKeepingItsProducts() {
+        Catalog catalog = seedCatalog();
+
+        StepVerifier.create(branchService.updateBranchName(catalog.branchId(), nameRequest("Uptown")))
+                .assertNext(updated -> assertThat(updated.getName()).isEqualTo("Uptown"))
+                .verifyComplete();
+
+        StepVerifier.create(branchService.getBranchById(catalog.branchId()))
+                .assertNext(loaded -> {
+                    assertThat(loaded.getName()).isEqualTo("Uptown");
+                    assertThat(loaded.getProducts()).hasSize(2);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void streamsAndPagesTheProductsOfABranch() {
+        Catalog catalog = seedCatalog();
+
+        StepVerifier.create(productService.streamProductsByBranchId(catalog.branchId()))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        StepVerifier.create(productService.getProductsByBranchId(catalog.branchId(), 0, 1))
+                .assertNext(page -> {
+                    assertThat(page.getItems()).extracting(ProductResponseDto::getId).containsExactly(catalog.coffeeId());
+                    assertThat(page.getNextCursor()).isEqualTo(catalog.coffeeId());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void deletesAFranchiseWithItsBranches() {
+        Catalog catalog = seedCatalog();
+
+        StepVerifier.create(franchiseService.deleteFranchise(catalog.franchiseId())).verifyComplete();
+
+        StepVerifier.create(branchService.getBranchById(catalog.branchId())).verifyComplete();
+    }
+
+    @Test
+    void timesServiceAndRepositoryInvocations() {
+        Catalog catalog = seedCatalog();
+
+        productService.updateProductStock(catalog.coffeeId(), stockRequest(30)).block();
+
+        assertThat(meterRegistry.find("service.invocations").tags("service", "ProductService", "method", "updateProductStock").timer())
+                .satisfies(timer -> assertThat(timer.count()).isPositive());
+        assertThat(meterRegistry.find("spring.data.repository.invocations").tag("repository", "ReactiveProductRepository").timers())
+                .isNotEmpty();
+    }
+
+    @Test
+    void appliesBulkStockUpdatesToEveryProduct() {
+        Long franchiseId = franchiseService.createFranchise(franchiseRequest("Reactive bulk " + System.nanoTime())).block().getId();
+        Long branchId = branchService.createBranch(branchRequest("Main", franchiseId)).block().getId();
+        List<Long> productIds = Flux.range(0, 3)
+                .concatMap(i -> productService.createProduct(productRequest("Product " + i, 1, branchId)))
+                .map(ProductResponseDto::getId)
+                .collectList()
+                .block();
+
+        Flux<StockUpdateItemDto> items = Flux.fromIterable(productIds)
+                .index((index, productId) -> stockUpdate(productId, 10 + index.intValue()));
+        StepVerifier.create(productService.updateProductStocks(items).filter(result -> result.isUpdated()).count())
+                .expectNext(3L)
+                .verifyComplete();
+
+        StepVerifier.create(Flux.fromIterable(productIds).concatMap(productService::getProductById).map(ProductResponseDto::getStock))
+                .expectNext(10, 11, 12)
+                .verifyComplete();
+    }
+
+    @Test
+    void importsCatalogLines() {
+        String franchise = "Reactive import " + System.nanoTime();
+        Flux<CatalogImportLineDto> lines = Flux.just(
+                importLine(franchise, "Main", "Coffee", 1),
+                importLine(franchise, "Main", "Tea", 2),
+                importLine(franchise, "Main", "Coffee", 3));
+
+        StepVerifier.create(catalogImportService.importCatalog(lines))
+                .assertNext(progress -> {
+                    assertThat(progress.getFranchisesCreated()).isEqualTo(1);
+                    assertThat(progress.getBranchesCreated()).isEqualTo(1);
+                    assertThat(progress.getProductsCreated()).isEqualTo(2);
+                    assertThat(progress.getDuplicatesSkipped()).isEqualTo(1);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void surfacesDomainErrors() {
+        franchiseService.createFranchise(franchiseRequest("Duplicated Franchise")).block();
+
+        StepVerifier.create(franchiseService.createFranchise(franchiseRequest("Duplicated Franchise")))
+                .expectError(DuplicateEntityException.class)
+                .verify();
+        Long franchiseId = franchiseService.createFranchise(franchiseRequest("Reactive duplicates")).block().getId();
+        Long branchId = branchService.createBranch(branchRequest("Main", franchiseId)).block().getId();
+        Long otherBranchId = branchService.createBranch(branchRequest("Other", franchiseId)).block().getId();
+        productService.createProduct(productRequest("Coffee", 1, branchId)).block();
+        StepVerifier.create(Flux.range(0, 8)
+                        .flatMap(i -> branchService.createBranch(branchRequest("Concurrent", franchiseId))
+                                .map(created -> true)
+                                .onErrorResume(DuplicateEntityException.class, error -> Mono.just(false)))
+                        .filter(created -> created)
+                        .count())
+                .expectNext(1L)
+                .verifyComplete();
+        StepVerifier.create(productService.createProduct(productRequest("Coffee", 2, branchId)))
+                .expectError(DuplicateEntityException.class)
+                .verify();
+        StepVerifier.create(branchService.updateBranchName(otherBranchId, nameRequest("Main")))
+                .expectError(DuplicateEntityException.class)
+                .verify();
+        StepVerifier.create(productService.updateProductStock(Long.MAX_VALUE, stockRequest(1)))
+                .expectError(EntityNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void readsBackInvalidationsOfOtherInstances() {
+        LocalDateTime since = invalidationLog.currentTime().block();
+        invalidationLog.append("other", List.of(CacheInvalidation.branchChanged(7L), CacheInvalidation.productAdded(null, 7L))).block();
+        invalidationLog.append("self", List.of(CacheInvalidation.franchiseChanged(3L))).block();
+
+        StepVerifier.create(invalidationLog.findSince(since, "self").map(CacheInvalidationEvent::toInvalidation))
+                .expectNext(CacheInvalidation.branchChanged(7L), CacheInvalidation.productAdded(null, 7L))
+                .verifyComplete();
+    }
+
+    /** A franchise with a "Downtown" branch holding Coffee (stock 5) and Tea (stock 12). */
+    private Catalog seedCatalog() {
+        Long franchiseId = franchiseService.createFranchise(franchiseRequest("Reactive " + System.nanoTime())).block().getId();
+        Long branchId = branchService.createBranch(branchRequest("Downtown", franchiseId)).block().getId();
+        Long coffeeId = productService.createProduct(productRequest("Coffee", 5, branchId)).block().getId();
+        productService.createProduct(productRequest("Tea", 12, branchId)).block();
+        return new Catalog(franchiseId, branchId, coffeeId);
+    }
+
+    private record Catalog(Long franchiseId, Long branchId, Long coffeeId) {
+    }
+
+    private static CatalogImportLineDto importLine(String franchise, String branch, String product, int stock) {
+        CatalogImportLineDto line = new CatalogImportLineDto();
+        line.setFranchise(franchise);
+        line.setBranch(branch);
+        line.setProduct(product);
+        line.setStock(stock);
+        return line;
+    }
+
+    private static StockUpdateItemDto stockUpdate(Long productId, int stock) {
+        StockUpdateItemDto item = new StockUpdateItemDto();
+        item.setProductId(productId);
+        item.setStock(stock);
+        return item;
+    }
+
+    private static FranchiseRequestDto franchiseRequest(String name) {
+        FranchiseRequestDto request = new FranchiseRequestDto();
+        request.setName(name);
+        return request;
+    }
+
+    private static BranchRequestDto branchRequest(String name, Long franchiseId) {
+        BranchRequestDto request = new BranchRequestDto();
+        request.setName(name);
+        request.setFranchiseId(franchiseId);
+        return request;
+    }
+
+    private static ProductRequestDto productRequest(String name, int stock, Long branchId) {
+        ProductRequestDto request = new ProductRequestDto();
+        request.setName(name);
+        request.setStock(stock);
+        request.setBranchId(branchId);
+        return request;
+    }
+
+    private static UpdateStockRequestDto stockRequest(int stock) {
+        UpdateStockRequestDto request = new UpdateStockRequestDto();
+        request.setStock(stock);
+        return request;
+    }
+
+    private static AdjustStockRequestDto deltaRequest(int delta) {
+        AdjustStockRequestDto request = new AdjustStockRequestDto();
+        request.setDelta(delta);
+        return request;
+    }
+
+    private static UpdateNameRequestDto nameRequest(String name) {
+        UpdateNameRequestDto request = new UpdateNameRequestDto();
+        request.setName(name);
+        return request;
+    }
+}
@@ -0,0 +1,195 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.domain.Product;
+import com.test.franchise.dto.request.AdjustStockRequestDto;
+import com.test.franchise.dto.request.BranchRequestDto;
+import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.dto.request.ProductRequestDto;
+import com.test.franchise.dto.request.StockUpdateItemDto;
+import com.test.franchise.dto.request.UpdateNameRequestDto;
+import com.test.franchise.dto.request.UpdateStockRequestDto;
+import com.test.franchise.dto.response.BranchResponseDto;
+import com.test.franchise.dto.response.ProductResponseDto;
+import com.test.franchise.repository.ProductRepository;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * With the {@code l2cache} profile repeated reads are served from the second-level and query caches, and every
+ * write path, including the JDBC stock batch, must leave them consistent with the database.
+ */
+@SpringBootTest
+@ActiveProfiles({"test", "l2cache"})
+class SecondLevelCacheTests {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private BranchService branchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void resetStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void servesRepeatedLookupsFromTheEntityCache() {
+        Long branchId = createBranch("Downtown", createFranchise("Entity cache"));
+        Long productId = createProduct("Coffee", 5, branchId);
+
+        productRepository.findById(productId).orElseThrow();
+        productRepository.findById(productId).orElseThrow();
+
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+        assertThat(meterRegistry.find("hibernate.second.level.cache.requests").meters()).isNotEmpty();
+    }
+
+    @Test
+    void everyStockWriteEvictsTheCachedProduct() {
+        Long branchId = createBranch("Downtown", createFranchise("Stock writes"));
+        Long productId = createProduct("Coffee", 5, branchId);
+
+        assertThat(cachedStock(productId)).isEqualTo(5);
+        productService.updateProductStock(productId, stock(12)).block();
+        assertThat(cachedStock(productId)).isEqualTo(12);
+
+        productService.adjustProductStock(productId, delta(-2)).block();
+        assertThat(cachedStock(productId)).isEqualTo(10);
+
+        productService.updateProductStocks(Flux.just(item(productId, 30))).blockLast();
+        assertThat(cachedStock(productId)).isEqualTo(30);
+    }
+
+    @Test
+    void cachedListingsFollowBulkStockUpdates() {
+        Long branchId = createBranch("Downtown", createFranchise("Bulk listing"));
+        Long productId = createProduct("Coffee", 5, branchId);
+
+        assertThat(listedStock(branchId)).containsExactly(5);
+        assertThat(listedStock(branchId)).containsExactly(5);
+        assertThat(statistics.getQueryCacheHitCount()).isPositive();
+
+        productService.updateProductStocks(Flux.just(item(productId, 77))).blockLast();
+        assertThat(listedStock(branchId)).containsExactly(77);
+    }
+
+    @Test
+    void cachedListingsFollowInsertsAndRenames() {
+        Long franchiseId = createFranchise("Query cache");
+        Long branchId = createBranch("Old name", franchiseId);
+        createProduct("Coffee", 5, branchId);
+
+        assertThat(productNames(branchId)).containsExactly("Coffee");
+        assertThat(productNames(branchId)).containsExactly("Coffee");
+        assertThat(statistics.getQueryCacheHitCount()).isPositive();
+
+        createProduct("Tea", 3, branchId);
+        assertThat(productNames(branchId)).containsExactly("Coffee", "Tea");
+
+        assertThat(branchNames(franchiseId)).containsExactly("Old name");
+        branchService.updateBranchName(branchId, rename("New name")).block();
+        assertThat(branchNames(franchiseId)).containsExactly("New name");
+        assertThat(productService.getProductsByBranchId(branchId, 0, 10).block().getItems())
+                .extracting(ProductResponseDto::getBranchName)
+                .containsOnly("New name");
+    }
+
+    private Integer cachedStock(Long productId) {
+        return productRepository.findById(productId).map(Product::getStock).orElseThrow();
+    }
+
+    private List<String> productNames(Long branchId) {
+        return productService.getProductsByBranchId(branchId, 0, 10).block().getItems().stream()
+                .map(ProductResponseDto::getName)
+                .toList();
+    }
+
+    private List<Integer> listedStock(Long branchId) {
+        return productService.getProductsByBranchId(branchId, 0, 10).block().getItems().stream()
+                .map(ProductResponseDto::getStock)
+                .toList();
+    }
+
+    private List<String> branchNames(Long franchiseId) {
+        return branchService.getBranchesByFranchiseId(franchiseId, 0, 10).block().getItems().stream()
+                .map(BranchResponseDto::getName)
+                .toList();
+    }
+
+    private Long createFranchise(String name) {
+        FranchiseRequestDto request = new FranchiseRequestDto();
+        request.setName(name + " " + System.nanoTime());
+        return franchiseService.createFranchise(request).block().getId();
+    }
+
+    private Long createBranch(String name, Long franchiseId) {
+        BranchRequestDto request = new BranchRequestDto();
+        request.setName(name);
+        request.setFranchiseId(franchiseId);
+        return branchService.createBranch(request).block().getId();
+    }
+
+    private Long createProduct(String name, int stock, Long branchId) {
+        ProductRequestDto request = new ProductRequestDto();
+        request.setName(name);
+        request.setStock(stock);
+        request.setBranchId(branchId);
+        return productService.createProduct(request).block().getId();
+    }
+
+    private static UpdateStockRequestDto stock(int stock) {
+        UpdateStockRequestDto request = new UpdateStockRequestDto();
+        request.setStock(stock);
+        return request;
+    }
+
+    private static AdjustStockRequestDto delta(int delta) {
+        AdjustStockRequestDto request = new AdjustStockRequestDto();
+        request.setDelta(delta);
+        return request;
+    }
+
+    private static StockUpdateItemDto item(Long productId, int stock) {
+        StockUpdateItemDto item = new StockUpdateItemDto();
+        item.setProductId(productId);
+        item.setStock(stock);
+        return item;
+    }
+
+    private static UpdateNameRequestDto rename(String name) {
+        UpdateNameRequestDto request = new UpdateNameRequestDto();
+        request.setName(name);
+        return request;
+    }
+}
@@ -0,0 +1,144 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.dto.request.BranchRequestDto;
+import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.dto.response.BranchResponseDto;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.support.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SingleFlightTests {
+
+    private static final int SUBSCRIBERS = 50;
+    private static final String GATE = "single-flight-tests";
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private BranchService branchService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void concurrentSubscribersShareOneCall() {
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<String> result = Sinks.one();
+        Mono<String> read = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return result.asMono();
+        });
+
+        Mono<List<String>> all = Flux.range(0, SUBSCRIBERS)
+                .flatMap(i -> singleFlight.share("test", 1L, read))
+                .collectList()
+                .cache();
+        all.subscribe();
+        result.tryEmitValue("value");
+
+        assertThat(all.block(Duration.ofSeconds(5))).hasSize(SUBSCRIBERS).containsOnly("value");
+        assertThat(calls).hasValue(1);
+
+        // Once the flight lands the next read runs again.
+        singleFlight.share("test", 1L, read).block(Duration.ofSeconds(5));
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void errorsAreSharedAndNotRemembered() {
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> failing = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(new IllegalStateException("boom"));
+        });
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThat(singleFlight.share("test", 2L, failing).onErrorReturn("failed").block()).isEqualTo("failed");
+        }
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void concurrentBranchReadsHitTheRepositoryOnce() {
+        Long branchId = createBranch();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        long before = statistics.getPrepareStatementCount();
+        branchService.getBranchById(branchId).block();
+        long singleRead = statistics.getPrepareStatementCount() - before;
+
+        double coalescedBefore = coalesced();
+        before = statistics.getPrepareStatementCount();
+        // Holds the read on its worker until every subscriber has joined, otherwise a fast read may land first.
+        CountDownLatch gate = new CountDownLatch(1);
+        Schedulers.onScheduleHook(GATE, task -> () -> {
+            awaitUninterruptibly(gate);
+            task.run();
+        });
+        Mono<List<BranchResponseDto>> all;
+        try {
+            all = Flux.range(0, SUBSCRIBERS)
+                    .flatMap(i -> branchService.getBranchById(branchId), SUBSCRIBERS)
+                    .collectList()
+                    .cache();
+            all.subscribe();
+        } finally {
+            Schedulers.resetOnScheduleHook(GATE);
+            gate.countDown();
+        }
+        List<BranchResponseDto> results = all.block(Duration.ofSeconds(10));
+
+        assertThat(results).hasSize(SUBSCRIBERS).extracting(BranchResponseDto::getId).containsOnly(branchId);
+        assertThat(statistics.getPrepareStatementCount() - before).isEqualTo(singleRead);
+        assertThat(coalesced() - coalescedBefore).isEqualTo(SUBSCRIBERS - 1);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double coalesced() {
+        return meterRegistry.counter("single.flight.calls", "operation", "branch", "outcome", "coalesced").count();
+    }
+
+    private Long createBranch() {
+        FranchiseRequestDto franchise = new FranchiseRequestDto();
+        franchise.setName("Single flight " + System.nanoTime());
+        BranchRequestDto branch = new BranchRequestDto();
+        branch.setName("Main");
+        branch.setFranchiseId(franchiseService.createFranchise(franchise).block().getId());
+        return branchService.createBranch(branch).block().getId();
+    }
+}
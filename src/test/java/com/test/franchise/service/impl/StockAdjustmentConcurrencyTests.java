@@ -0,0 +1,101 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.dto.request.AdjustStockRequestDto;
+import com.test.franchise.dto.request.BranchRequestDto;
+import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.dto.request.ProductRequestDto;
+import com.test.franchise.exception.InsufficientStockException;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StockAdjustmentConcurrencyTests {
+
+    private static final int REQUESTS = 200;
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private BranchService branchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Test
+    void concurrentIncrementsAreNotLost() {
+        Long productId = createProduct(0);
+
+        Flux.range(0, REQUESTS)
+                .flatMap(i -> productService.adjustProductStock(productId, delta(1)), 32)
+                .blockLast(Duration.ofSeconds(60));
+
+        assertThat(productService.getProductById(productId).block().getStock()).isEqualTo(REQUESTS);
+    }
+
+    @Test
+    void concurrentDecrementsNeverGoBelowZero() {
+        int initialStock = REQUESTS / 4;
+        Long productId = createProduct(initialStock);
+
+        Long succeeded = Flux.range(0, REQUESTS)
+                .flatMap(i -> productService.adjustProductStock(productId, delta(-1))
+                        .map(product -> 1)
+                        .onErrorResume(InsufficientStockException.class, error -> Mono.empty()), 32)
+                .count()
+                .block(Duration.ofSeconds(60));
+
+        assertThat(succeeded).isEqualTo(initialStock);
+        assertThat(productService.getProductById(productId).block().getStock()).isZero();
+    }
+
+    @Test
+    void rejectsAdjustmentsBelowZero() {
+        Long productId = createProduct(3);
+
+        StepVerifier.create(productService.adjustProductStock(productId, delta(-4)))
+                .expectError(InsufficientStockException.class)
+                .verify();
+        StepVerifier.create(productService.adjustProductStock(productId, delta(-3)))
+                .assertNext(product -> assertThat(product.getStock()).isZero())
+                .verifyComplete();
+    }
+
+    private Long createProduct(int stock) {
+        String suffix = String.valueOf(System.nanoTime());
+
+        FranchiseRequestDto franchise = new FranchiseRequestDto();
+        franchise.setName("Franchise " + suffix);
+        Long franchiseId = franchiseService.createFranchise(franchise).block().getId();
+
+        BranchRequestDto branch = new BranchRequestDto();
+        branch.setName("Branch " + suffix);
+        branch.setFranchiseId(franchiseId);
+        Long branchId = branchService.createBranch(branch).block().getId();
+
+        ProductRequestDto product = new ProductRequestDto();
+        product.setName("Product " + suffix);
+        product.setStock(stock);
+        product.setBranchId(branchId);
+        return productService.createProduct(product).block().getId();
+    }
+
+    private static AdjustStockRequestDto delta(int delta) {
+        AdjustStockRequestDto request = new AdjustStockRequestDto();
+        request.setDelta(delta);
+        return request;
+    }
+}
@@ -0,0 +1,88 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.service.ProductService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Streams a branch whose products, materialized as DTOs, would not fit in the heap of the {@code heapTest}
+ * task (128 MB), so the stream can only complete if it holds a bounded number of rows at a time. The catalog
+ * lives in a file-based H2 database, outside the heap. Excluded from {@code gradle test}; run with
+ * {@code gradle heapTest}.
+ */
+@Tag("heap")
+@SpringBootTest(properties = "franchise.persistence.stream-fetch-size=100")
+@ActiveProfiles("test")
+class StreamingHeapTests {
+
+    private static final long BRANCH_ID = 1;
+    private static final int PRODUCTS = 1_000_000;
+    /** A lower bound for a product DTO with its strings and timestamps, to size the branch against the heap. */
+    private static final long MIN_DTO_BYTES = 200;
+    private static final int SAMPLE_EVERY = 100_000;
+    /** Live heap the stream may add while running, a few fetch batches at most. */
+    private static final long MAX_LIVE_GROWTH_BYTES = 16L << 20;
+
+    @TempDir
+    static Path databaseDir;
+
+    @DynamicPropertySource
+    static void fileDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:file:" + databaseDir.resolve("catalog")
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CACHE_SIZE=4096;LOCK_TIMEOUT=10000");
+    }
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void streamsABranchLargerThanTheHeap() {
+        assertThat(Runtime.getRuntime().maxMemory()).isLessThan(PRODUCTS * MIN_DTO_BYTES);
+        seedBranch();
+        long liveBefore = liveHeap();
+        AtomicLong streamed = new AtomicLong();
+        AtomicLong maxLive = new AtomicLong();
+
+        productService.streamProductsByBranchId(BRANCH_ID)
+                .doOnNext(product -> {
+                    if (streamed.incrementAndGet() % SAMPLE_EVERY == 0) {
+                        maxLive.accumulateAndGet(liveHeap(), Math::max);
+                    }
+                })
+                .blockLast();
+
+        assertThat(streamed).hasValue(PRODUCTS);
+        assertThat(maxLive.get() - liveBefore).isLessThan(MAX_LIVE_GROWTH_BYTES);
+        System.out.printf("Streamed %,d products with a %d MB heap; live heap %d MB before, at most %d MB while streaming%n",
+                streamed.get(), Runtime.getRuntime().maxMemory() >> 20, liveBefore >> 20, maxLive.get() >> 20);
+    }
+
+    private void seedBranch() {
+        jdbcTemplate.update("INSERT INTO franchises (id, name, created_at) VALUES (1, 'Streamed', CURRENT_TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO branches (id, name, franchise_id, created_at) VALUES (?, 'Large', 1, CURRENT_TIMESTAMP)", BRANCH_ID);
+        jdbcTemplate.update("INSERT INTO products (id, name, stock, branch_id, created_at) "
+                + "SELECT n, CONCAT('Product ', n), MOD(n, 1000), ?, CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, ?) AS r(n)", BRANCH_ID, PRODUCTS);
+    }
+
+    /** Heap still in use after a full collection, i.e. what the stream retains. */
+    private static long liveHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,93 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.dto.request.CatalogImportLineDto;
+import com.test.franchise.dto.response.BranchResponseDto;
+import com.test.franchise.dto.response.ProductResponseDto;
+import com.test.franchise.repository.FranchiseRepository;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.CatalogImportService;
+import com.test.franchise.service.ProductService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "franchise.persistence.stream-fetch-size=100")
+@ActiveProfiles("test")
+class StreamingListTests {
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @Autowired
+    private FranchiseRepository franchiseRepository;
+
+    @Autowired
+    private BranchService branchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void streamsEveryProductOfTheBranchInIdOrder() {
+        Long franchiseId = importCatalog("Streamed", 2, 3_000);
+        List<BranchResponseDto> branches = branchService.streamBranchesByFranchiseId(franchiseId).collectList().block();
+
+        List<ProductResponseDto> products = productService.streamProductsByBranchId(branches.get(0).getId())
+                .collectList()
+                .block();
+
+        assertThat(branches).hasSize(2);
+        assertThat(branches).extracting(BranchResponseDto::getFranchiseId).containsOnly(franchiseId);
+        assertThat(products).hasSize(3_000);
+        assertThat(products).isSortedAccordingTo(Comparator.comparing(ProductResponseDto::getId));
+        assertThat(products).extracting(ProductResponseDto::getBranchName).containsOnly(branches.get(0).getName());
+    }
+
+    @Test
+    void cancellingTheStreamReleasesItsConnection() throws InterruptedException {
+        Long franchiseId = importCatalog("Cancelled", 1, 1_000);
+        Long branchId = branchService.streamBranchesByFranchiseId(franchiseId).blockFirst().getId();
+
+        List<ProductResponseDto> firstProducts = productService.streamProductsByBranchId(branchId)
+                .take(10)
+                .collectList()
+                .block();
+
+        assertThat(firstProducts).hasSize(10);
+        HikariDataSource pool = (HikariDataSource) dataSource;
+        for (int attempt = 0; attempt < 50 && pool.getHikariPoolMXBean().getActiveConnections() > 0; attempt++) {
+            Thread.sleep(100);
+        }
+        assertThat(pool.getHikariPoolMXBean().getActiveConnections()).isZero();
+    }
+
+    private Long importCatalog(String name, int branches, int productsPerBranch) {
+        String franchise = name + " " + System.nanoTime();
+        List<CatalogImportLineDto> lines = new ArrayList<>();
+        for (int branch = 0; branch < branches; branch++) {
+            for (int product = 0; product < productsPerBranch; product++) {
+                CatalogImportLineDto line = new CatalogImportLineDto();
+                line.setFranchise(franchise);
+                line.setBranch("Branch " + branch);
+                line.setProduct("Product " + product);
+                line.setStock(product);
+                lines.add(line);
+            }
+        }
+        catalogImportService.importCatalog(Flux.fromIterable(lines)).blockLast();
+        return franchiseRepository.findByName(franchise).orElseThrow().getId();
+    }
+}
@@ -0,0 +1,221 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.dto.request.AdjustStockRequestDto;
+import com.test.franchise.dto.request.BranchRequestDto;
+import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.dto.request.ProductRequestDto;
+import com.test.franchise.dto.request.StockUpdateItemDto;
+import com.test.franchise.dto.request.UpdateStockRequestDto;
+import com.test.franchise.dto.response.TopNStockProductResponseDto;
+import com.test.franchise.dto.response.TopStockProductResponseDto;
+import com.test.franchise.repository.ProductRepository;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The dashboard reads the maintained {@code branch_top_stock}; after every kind of write it must agree
+ * with the top stock computed from the products themselves.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TopStockProductsTests {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private BranchService branchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void returnsOneProductPerBranchAndBreaksTiesByLowestId() {
+        Long franchiseId = createFranchise("Top stock");
+        Long north = createBranch("North", franchiseId);
+        Long south = createBranch("South", franchiseId);
+        createBranch("Empty", franchiseId);
+
+        Long firstTie = createProduct("Coffee", 40, north);
+        createProduct("Tea", 40, north);
+        createProduct("Milk", 5, north);
+        createProduct("Bread", 3, south);
+        Long southTop = createProduct("Butter", 9, south);
+
+        List<TopStockProductResponseDto.BranchTopProduct> tops = topProducts(franchiseId);
+
+        assertThat(tops).extracting(TopStockProductResponseDto.BranchTopProduct::getBranchName)
+                .containsExactly("North", "South");
+        assertThat(tops).extracting(TopStockProductResponseDto.BranchTopProduct::getProductId)
+                .containsExactly(firstTie, southTop);
+        assertThat(tops).extracting(TopStockProductResponseDto.BranchTopProduct::getStock)
+                .containsExactly(40, 9);
+        assertMatchesComputed(franchiseId);
+    }
+
+    @Test
+    void followsStockChangesOfTheTopProduct() {
+        Long franchiseId = createFranchise("Stock changes");
+        Long branchId = createBranch("Main", franchiseId);
+        Long coffee = createProduct("Coffee", 10, branchId);
+        Long tea = createProduct("Tea", 8, branchId);
+
+        productService.updateProductStock(coffee, stock(5)).block();
+        assertThat(topProducts(franchiseId)).singleElement()
+                .satisfies(top -> assertThat(top.getProductId()).isEqualTo(tea));
+
+        productService.adjustProductStock(coffee, delta(3)).block();
+        assertThat(topProducts(franchiseId)).singleElement()
+                .satisfies(top -> assertThat(top.getProductId()).isEqualTo(coffee));
+
+        productService.updateProductStocks(Flux.just(item(tea, 1), item(coffee, 1))).blockLast();
+        assertThat(topProducts(franchiseId)).singleElement()
+                .satisfies(top -> {
+                    assertThat(top.getProductId()).isEqualTo(coffee);
+                    assertThat(top.getStock()).isEqualTo(1);
+                });
+        assertMatchesComputed(franchiseId);
+    }
+
+    @Test
+    void deletingTheTopProductPromotesTheNextOne() {
+        Long franchiseId = createFranchise("Deletes");
+        Long branchId = createBranch("Main", franchiseId);
+        Long coffee = createProduct("Coffee", 10, branchId);
+        Long tea = createProduct("Tea", 7, branchId);
+
+        productService.deleteProduct(coffee).block();
+        assertThat(topProducts(franchiseId)).singleElement()
+                .satisfies(top -> assertThat(top.getProductId()).isEqualTo(tea));
+
+        productService.deleteProduct(tea).block();
+        assertThat(topProducts(franchiseId)).isEmpty();
+        assertMatchesComputed(franchiseId);
+    }
+
+    @Test
+    void staysConsistentUnderConcurrentUpdates() {
+        Long franchiseId = createFranchise("Concurrent");
+        List<Long> productIds = new ArrayList<>();
+        for (int branch = 0; branch < 3; branch++) {
+            Long branchId = createBranch("Branch " + branch, franchiseId);
+            for (int product = 0; product < 5; product++) {
+                productIds.add(createProduct("Product " + product, 10, branchId));
+            }
+        }
+
+        Random random = new Random(42);
+        List<Long> targets = new ArrayList<>();
+        List<Integer> stocks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            targets.add(productIds.get(random.nextInt(productIds.size())));
+            stocks.add(random.nextInt(20));
+        }
+
+        Flux.range(0, targets.size())
+                .flatMap(i -> i % 2 == 0
+                        ? productService.updateProductStock(targets.get(i), stock(stocks.get(i)))
+                        : productService.adjustProductStock(targets.get(i), delta(stocks.get(i) - 10))
+                                .onErrorResume(error -> productService.getProductById(targets.get(i))), 16)
+                .blockLast(Duration.ofSeconds(60));
+
+        assertMatchesComputed(franchiseId);
+    }
+
+    @Test
+    void returnsTopNPerBranchAndAcrossTheFranchise() {
+        Long franchiseId = createFranchise("Top N");
+        Long north = createBranch("North", franchiseId);
+        Long south = createBranch("South", franchiseId);
+        Long coffee = createProduct("Coffee", 40, north);
+        Long tea = createProduct("Tea", 40, north);
+        Long milk = createProduct("Milk", 5, north);
+        Long bread = createProduct("Bread", 3, south);
+        Long butter = createProduct("Butter", 50, south);
+
+        TopNStockProductResponseDto topTwo = franchiseService.getTopNStockProductsByFranchise(franchiseId, 2).block();
+
+        assertThat(topTwo.getLimit()).isEqualTo(2);
+        assertThat(topTwo.getBranchTopProducts()).extracting(TopStockProductResponseDto.BranchTopProduct::getProductId)
+                .containsExactly(coffee, tea, butter, bread);
+        assertThat(topTwo.getFranchiseTopProducts()).extracting(TopStockProductResponseDto.BranchTopProduct::getProductId)
+                .containsExactly(butter, coffee);
+
+        TopNStockProductResponseDto topTen = franchiseService.getTopNStockProductsByFranchise(franchiseId, 10).block();
+
+        assertThat(topTen.getBranchTopProducts()).extracting(TopStockProductResponseDto.BranchTopProduct::getProductId)
+                .containsExactly(coffee, tea, milk, butter, bread);
+        assertThat(topTen.getFranchiseTopProducts()).extracting(TopStockProductResponseDto.BranchTopProduct::getProductId)
+                .containsExactly(butter, coffee, tea, milk, bread);
+    }
+
+    private void assertMatchesComputed(Long franchiseId) {
+        List<List<Object>> computed = productRepository.findTopStockProductsByFranchiseId(franchiseId).stream()
+                .map(top -> List.<Object>of(top.getBranchId(), top.getProductId(), top.getStock()))
+                .toList();
+        List<List<Object>> maintained = topProducts(franchiseId).stream()
+                .map(top -> List.<Object>of(top.getBranchId(), top.getProductId(), top.getStock()))
+                .toList();
+        assertThat(maintained).isEqualTo(computed);
+    }
+
+    private List<TopStockProductResponseDto.BranchTopProduct> topProducts(Long franchiseId) {
+        return franchiseService.getTopStockProductsByFranchise(franchiseId).block().getBranchTopProducts();
+    }
+
+    private Long createFranchise(String name) {
+        FranchiseRequestDto request = new FranchiseRequestDto();
+        request.setName(name + " " + System.nanoTime());
+        return franchiseService.createFranchise(request).block().getId();
+    }
+
+    private Long createBranch(String name, Long franchiseId) {
+        BranchRequestDto request = new BranchRequestDto();
+        request.setName(name);
+        request.setFranchiseId(franchiseId);
+        return branchService.createBranch(request).block().getId();
+    }
+
+    private Long createProduct(String name, int stock, Long branchId) {
+        ProductRequestDto request = new ProductRequestDto();
+        request.setName(name);
+        request.setStock(stock);
+        request.setBranchId(branchId);
+        return productService.createProduct(request).block().getId();
+    }
+
+    private static UpdateStockRequestDto stock(int stock) {
+        UpdateStockRequestDto request = new UpdateStockRequestDto();
+        request.setStock(stock);
+        return request;
+    }
+
+    private static AdjustStockRequestDto delta(int delta) {
+        AdjustStockRequestDto request = new AdjustStockRequestDto();
+        request.setDelta(delta);
+        return request;
+    }
+
+    private static StockUpdateItemDto item(Long productId, int stock) {
+        StockUpdateItemDto item = new StockUpdateItemDto();
+        item.setProductId(productId);
+        item.setStock(stock);
+        return item;
+    }
+}
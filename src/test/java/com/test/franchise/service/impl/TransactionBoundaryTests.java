@@ -0,0 +1,174 @@
+package com.test.franchise.service.impl;
+
+import com.test.franchise.dto.request.BranchRequestDto;
+import com.test.franchise.dto.request.FranchiseRequestDto;
+import com.test.franchise.dto.request.ProductRequestDto;
+import com.test.franchise.dto.request.UpdateNameRequestDto;
+import com.test.franchise.dto.request.UpdateStockRequestDto;
+import com.test.franchise.service.BranchService;
+import com.test.franchise.service.FranchiseService;
+import com.test.franchise.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every service write must run in one transaction, which means a single connection checkout from the pool.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionBoundaryTests {
+
+    @Autowired
+    private FranchiseService franchiseService;
+
+    @Autowired
+    private BranchService branchService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CountingDataSource dataSource;
+
+    private Long franchiseId;
+    private Long branchId;
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+        franchiseId = franchiseService.createFranchise(franchiseRequest("Franchise " + suffix)).block().getId();
+        branchId = branchService.createBranch(branchRequest("Branch " + suffix, franchiseId)).block().getId();
+        productId = productService.createProduct(productRequest("Product " + suffix, branchId)).block().getId();
+    }
+
+    @Test
+    void createBranchChecksOutOneConnection() {
+        assertSingleCheckout(() -> branchService.createBranch(branchRequest("Another branch", franchiseId)).block());
+    }
+
+    @Test
+    void updateBranchNameChecksOutOneConnection() {
+        assertSingleCheckout(() -> branchService.updateBranchName(branchId, nameRequest("Renamed branch")).block());
+    }
+
+    @Test
+    void createProductChecksOutOneConnection() {
+        assertSingleCheckout(() -> productService.createProduct(productRequest("Another product", branchId)).block());
+    }
+
+    @Test
+    void updateProductNameChecksOutOneConnection() {
+        assertSingleCheckout(() -> productService.updateProductName(productId, nameRequest("Renamed product")).block());
+    }
+
+    @Test
+    void updateProductStockChecksOutOneConnection() {
+        UpdateStockRequestDto request = new UpdateStockRequestDto();
+        request.setStock(42);
+        assertSingleCheckout(() -> productService.updateProductStock(productId, request).block());
+    }
+
+    @Test
+    void deleteProductChecksOutOneConnection() {
+        assertSingleCheckout(() -> productService.deleteProduct(productId).block());
+    }
+
+    @Test
+    void updateFranchiseNameChecksOutOneConnection() {
+        assertSingleCheckout(() -> franchiseService.updateFranchiseName(franchiseId, nameRequest("Renamed " + franchiseId)).block());
+    }
+
+    private void assertSingleCheckout(Runnable operation) {
+        dataSource.reset();
+        operation.run();
+        assertThat(dataSource.checkouts()).isEqualTo(1);
+    }
+
+    private static FranchiseRequestDto franchiseRequest(String name) {
+        FranchiseRequestDto request = new FranchiseRequestDto();
+        request.setName(name);
+        return request;
+    }
+
+    private static BranchRequestDto branchRequest(String name, Long franchiseId) {
+        BranchRequestDto request = new BranchRequestDto();
+        request.setName(name);
+        request.setFranchiseId(franchiseId);
+        return request;
+    }
+
+    private static ProductRequestDto productRequest(String name, Long branchId) {
+        ProductRequestDto request = new ProductRequestDto();
+        request.setName(name);
+        request.setStock(10);
+        request.setBranchId(branchId);
+        return request;
+    }
+
+    private static UpdateNameRequestDto nameRequest(String name) {
+        UpdateNameRequestDto request = new UpdateNameRequestDto();
+        request.setName(name);
+        return request;
+    }
+
+    @TestConfiguration
+    static class CountingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor countingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof CountingDataSource)) {
+                        return new CountingDataSource(dataSource);
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+
+    static class CountingDataSource extends DelegatingDataSource {
+
+        private final AtomicInteger checkouts = new AtomicInteger();
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            checkouts.incrementAndGet();
+            return super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            checkouts.incrementAndGet();
+            return super.getConnection(username, password);
+        }
+
+        void reset() {
+            checkouts.set(0);
+        }
+
+        int checkouts() {
+            return checkouts.get();
+        }
+    }
+}